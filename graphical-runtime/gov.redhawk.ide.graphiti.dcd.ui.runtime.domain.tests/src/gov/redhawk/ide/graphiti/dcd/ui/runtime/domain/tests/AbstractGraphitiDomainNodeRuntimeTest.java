@@ -10,8 +10,9 @@
  */
 package gov.redhawk.ide.graphiti.dcd.ui.runtime.domain.tests;
 
-import gov.redhawk.ide.sdr.nodebooter.NodeBooterLauncherUtil;
-import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils.DiagramType;
@@ -34,7 +35,7 @@ public abstract class AbstractGraphitiDomainNodeRuntimeTest extends UIRuntimeTes
 	protected static final String DEVICE_STUB = "DeviceStub";
 	protected static final String NAME_SPACE_DEVICE_1 = "device_1";
 
-	private final String domain = "SWTBOT_TEST_" + (int) (1000.0 * Math.random());
+	private final String domain = DomainPool.getInstance().getDomainName();
 	protected String[] devMgrPath = null; // SUPPRESS CHECKSTYLE VisibilityModifier
 
 	protected SWTGefBot gefBot; // SUPPRESS CHECKSTYLE VisibilityModifier
@@ -42,14 +43,13 @@ public abstract class AbstractGraphitiDomainNodeRuntimeTest extends UIRuntimeTes
 	@Before
 	public void beforeTest() throws Exception {
 		super.before();
-		gefBot = new SWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
 	}
 
 	protected void launchDomainAndDevMgr(String deviceManager) {
 		String[] parentPath = new String[] { domain, "Device Managers" };
-		ScaExplorerTestUtils.launchDomainViaWizard(bot, domain, deviceManager);
-		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domain);
-		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, parentPath, deviceManager);
+		DomainPool.getInstance().acquire(bot, deviceManager);
 		ScaExplorerTestUtils.openDiagramFromScaExplorer(bot, parentPath, deviceManager, DiagramType.GRAPHITI_NODE_EXPLORER);
 		devMgrPath = Arrays.copyOf(parentPath, parentPath.length + 1);
 		devMgrPath[parentPath.length] = deviceManager;
@@ -57,8 +57,6 @@ public abstract class AbstractGraphitiDomainNodeRuntimeTest extends UIRuntimeTes
 
 	@After
 	public void afterTest() {
-		ScaExplorerTestUtils.deleteDomainInstance(bot, domain);
-		NodeBooterLauncherUtil.getInstance().terminateAll();
-		ConsoleUtils.removeTerminatedLaunches(bot);
+		DomainPool.getInstance().release(bot);
 	}
 }
@@ -12,8 +12,7 @@ package gov.redhawk.ide.graphiti.dcd.ui.runtime.domain.tests;
 
 import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
 
-import gov.redhawk.ide.sdr.nodebooter.NodeBooterLauncherUtil;
-import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
 import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
@@ -25,22 +24,18 @@ public class DevMgrDomainTestUtils {
 	}
 
 	protected static String generateDomainName() {
-		return "SWTBOT_TEST_" + (int) (1000.0 * Math.random());
+		return DomainPool.getInstance().getDomainName();
 	}
 
 	protected static RHBotGefEditor launchDomainAndDevMgr(SWTWorkbenchBot bot, String domainName, String nodeName) {
 		String[] parentPath = new String[] { domainName, "Device Managers" };
-		ScaExplorerTestUtils.launchDomainViaWizard(bot, domainName, nodeName);
-		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
-		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, parentPath, nodeName);
+		DomainPool.getInstance().acquire(bot, nodeName);
 		ScaExplorerTestUtils.openDiagramFromScaExplorer(bot, parentPath, nodeName, DiagramType.GRAPHITI_NODE_EXPLORER);
 		return new RHSWTGefBot().rhGefEditor(nodeName);
 	}
 
 	protected static void cleanup(SWTWorkbenchBot bot, String domainName) {
-		ScaExplorerTestUtils.deleteDomainInstance(bot, domainName);
-		NodeBooterLauncherUtil.getInstance().terminateAll();
-		ConsoleUtils.removeTerminatedLaunches(bot);
+		DomainPool.getInstance().release(bot);
 	}
 
 }
@@ -13,6 +13,8 @@ package gov.redhawk.ide.graphiti.dcd.ui.runtime.sandbox.tests;
 import org.junit.After;
 import org.junit.Before;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.ConsoleUtils;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
@@ -45,7 +47,8 @@ public abstract class AbstractDeviceManagerSandboxTest extends UIRuntimeTest {
 
 	@Before
 	public void beforeTest() throws Exception {
-		gefBot = new RHSWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
 	}
 
 	@After
@@ -13,6 +13,8 @@ package gov.redhawk.ide.graphiti.sad.ui.runtime.chalkboard.tests;
 import org.junit.After;
 import org.junit.Before;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
@@ -38,7 +40,8 @@ public abstract class AbstractGraphitiChalkboardTest extends UIRuntimeTest {
 
 	@Before
 	public void beforeTest() throws Exception {
-		gefBot = new RHSWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
 	}
 
 	@After
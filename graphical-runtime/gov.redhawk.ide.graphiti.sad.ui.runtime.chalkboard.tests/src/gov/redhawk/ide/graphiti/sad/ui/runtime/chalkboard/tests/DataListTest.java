@@ -23,6 +23,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.WaitForDataListAcquire;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.ViewUtils;
@@ -91,15 +92,8 @@ public class DataListTest extends UIRuntimeTest {
 
 		dataListBot.text(0).setText("10");
 		dataListBot.comboBoxWithLabel("Number of Dimensions:").setSelection(1);
-		dataListBot.buttonWithTooltip("Start Acquire").click();
-
-		synchronized (bot) {
-			try {
-				bot.wait(2000);
-			} catch (Exception e) {
-				// PASS
-			}
-		}
+		dataListBot.buttonWithTooltip(WaitForDataListAcquire.START_ACQUIRE).click();
+		bot.waitUntil(new WaitForDataListAcquire(dataListView, 5));
 
 		SWTBotTable table = dataListBot.table(0);
 
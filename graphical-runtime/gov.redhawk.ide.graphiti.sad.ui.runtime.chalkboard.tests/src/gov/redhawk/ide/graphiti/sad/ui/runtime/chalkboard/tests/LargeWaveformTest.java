@@ -20,10 +20,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.SandboxLaunchBatch;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.condition.WaitForLaunchTermination;
-import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
-import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils.ComponentState;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils.DiagramType;
 
@@ -42,19 +42,18 @@ public class LargeWaveformTest extends UIRuntimeTest {
 	@Before
 	public void before() throws Exception {
 		super.before();
+		bot = new TimedWorkbenchBot();
 
 		ScaExplorerTestUtils.openDiagramFromScaExplorer(bot, new String[] { "Sandbox" }, "Chalkboard", DiagramType.GRAPHITI_CHALKBOARD);
 		editor = new SWTGefBot().gefEditor("Chalkboard");
 
+		SandboxLaunchBatch batch = new SandboxLaunchBatch(bot);
 		for (int i = 1; i <= 4; i++) {
-			ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, SIG_GEN, "cpp");
-			ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, HARD_LIMIT, "cpp");
-			ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, DATA_CONVERTER, "cpp");
-
-			DiagramTestUtils.waitForComponentState(bot, editor, SIG_GEN_PREFIX + i, ComponentState.STOPPED, TIMEOUT);
-			DiagramTestUtils.waitForComponentState(bot, editor, HARD_LIMIT_PREFIX + i, ComponentState.STOPPED, TIMEOUT);
-			DiagramTestUtils.waitForComponentState(bot, editor, DATA_CONVERTER_PREFIX + i, ComponentState.STOPPED, TIMEOUT);
+			batch.add(SIG_GEN, "cpp", SIG_GEN_PREFIX + i);
+			batch.add(HARD_LIMIT, "cpp", HARD_LIMIT_PREFIX + i);
+			batch.add(DATA_CONVERTER, "cpp", DATA_CONVERTER_PREFIX + i);
 		}
+		batch.launchAndWait(editor, TIMEOUT);
 	}
 
 	@After
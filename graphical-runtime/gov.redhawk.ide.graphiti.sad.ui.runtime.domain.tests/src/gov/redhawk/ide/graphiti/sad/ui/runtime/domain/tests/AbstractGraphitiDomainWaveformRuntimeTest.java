@@ -10,11 +10,11 @@
  *******************************************************************************/
 package gov.redhawk.ide.graphiti.sad.ui.runtime.domain.tests;
 
-import gov.redhawk.ide.sdr.nodebooter.NodeBooterLauncherUtil;
-import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.condition.WaitForEditorCondition;
-import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
 
 import org.eclipse.swtbot.eclipse.gef.finder.SWTGefBot;
@@ -24,8 +24,9 @@ import org.junit.After;
 import org.junit.Before;
 
 /**
- * Before: Starts a domain, device manager, launches a waveform, and opens the waveform's Graphiti runtime editor.
- * After: Releases the waveform if it's still running and ensures it shuts down.
+ * Before: Acquires the pooled domain / device manager, launches a waveform, and opens the waveform's Graphiti runtime
+ * editor.
+ * After: Releases the waveform if it's still running and returns the domain to the {@link DomainPool}.
  */
 public abstract class AbstractGraphitiDomainWaveformRuntimeTest extends UIRuntimeTest {
 
@@ -40,15 +41,15 @@ public abstract class AbstractGraphitiDomainWaveformRuntimeTest extends UIRuntim
 	protected static final String DATA_CONVERTER = "rh.DataConverter";
 	protected static final String DATA_CONVERTER_1 = "DataConverter_1";
 
-	protected final String DOMAIN = "SWTBOT_SAD_TEST_" + (int) (1000.0 * Math.random()); // SUPPRESS CHECKSTYLE VisibilityModifier
+	protected final String DOMAIN = DomainPool.getInstance().getDomainName(); // SUPPRESS CHECKSTYLE VisibilityModifier
 	protected final String[] DOMAIN_WAVEFORM_PARENT_PATH = { DOMAIN, "Waveforms" }; // SUPPRESS CHECKSTYLE VisibilityModifier
-	protected SWTGefBot gefBot = new RHSWTGefBot(); // SUPPRESS CHECKSTYLE VisibilityModifier
+	protected SWTGefBot gefBot = new TimedGefBot(); // SUPPRESS CHECKSTYLE VisibilityModifier
 	private String waveFormFullName; // full name of waveform that is launched
 
 	@Before
 	public void beforeTest() throws Exception {
-		ScaExplorerTestUtils.launchDomainViaWizard(bot, DOMAIN, DEVICE_MANAGER);
-		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, DOMAIN);
+		bot = new TimedWorkbenchBot();
+		DomainPool.getInstance().acquire(bot, DEVICE_MANAGER);
 
 		ScaExplorerTestUtils.launchWaveformFromDomain(bot, DOMAIN, getWaveformName());
 		bot.waitUntil(new WaitForEditorCondition(), WaitForEditorCondition.DEFAULT_WAIT_FOR_EDITOR_TIME);
@@ -69,9 +70,7 @@ public abstract class AbstractGraphitiDomainWaveformRuntimeTest extends UIRuntim
 			// PASS
 		}
 
-		ScaExplorerTestUtils.deleteDomainInstance(bot, DOMAIN);
-		NodeBooterLauncherUtil.getInstance().terminateAll();
-		ConsoleUtils.removeTerminatedLaunches(bot);
+		DomainPool.getInstance().release(bot);
 	}
 
 	public String getWaveFormFullName() {
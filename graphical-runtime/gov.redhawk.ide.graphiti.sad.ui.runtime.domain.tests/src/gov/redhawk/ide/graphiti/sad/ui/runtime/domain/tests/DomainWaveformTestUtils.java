@@ -12,8 +12,7 @@ package gov.redhawk.ide.graphiti.sad.ui.runtime.domain.tests;
 
 import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
 
-import gov.redhawk.ide.sdr.nodebooter.NodeBooterLauncherUtil;
-import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
 import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
@@ -27,12 +26,11 @@ public class DomainWaveformTestUtils {
 	}
 
 	protected static String generateDomainName() {
-		return "SWTBOT_TEST_" + (int) (1000.0 * Math.random());
+		return DomainPool.getInstance().getDomainName();
 	}
 
 	protected static RHBotGefEditor launchDomainAndWaveform(SWTWorkbenchBot bot, String domainName, String waveformName) {
-		ScaExplorerTestUtils.launchDomainViaWizard(bot, domainName, DEVICE_MANAGER_WITH_GPP);
-		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
+		DomainPool.getInstance().acquire(bot, DEVICE_MANAGER_WITH_GPP);
 		final String[] GPP_PARENT_PATH = new String[] { domainName, "Device Managers", DEVICE_MANAGER_WITH_GPP };
 		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, GPP_PARENT_PATH, GPP_LOCALHOST);
 
@@ -44,8 +42,6 @@ public class DomainWaveformTestUtils {
 	}
 
 	protected static void cleanup(SWTWorkbenchBot bot, String domainName) {
-		ScaExplorerTestUtils.deleteDomainInstance(bot, domainName);
-		NodeBooterLauncherUtil.getInstance().terminateAll();
-		ConsoleUtils.removeTerminatedLaunches(bot);
+		DomainPool.getInstance().release(bot);
 	}
 }
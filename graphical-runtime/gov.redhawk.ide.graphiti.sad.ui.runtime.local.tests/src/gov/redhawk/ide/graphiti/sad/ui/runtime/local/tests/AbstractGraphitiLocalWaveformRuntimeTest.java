@@ -14,6 +14,8 @@ import org.eclipse.swtbot.swt.finder.exceptions.WidgetNotFoundException;
 import org.junit.After;
 import org.junit.Before;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
@@ -35,7 +37,8 @@ public abstract class AbstractGraphitiLocalWaveformRuntimeTest extends UIRuntime
 
 	@Before
 	public void beforeTest() throws Exception {
-		gefBot = new RHSWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
 		
 		// Launch Local Waveform From Target SDR
 		ScaExplorerTestUtils.launchWaveformFromTargetSDR(gefBot, LOCAL_WAVEFORM);
@@ -17,6 +17,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.WaveformUtils;
 import gov.redhawk.ide.swtbot.condition.WaitForLaunchTermination;
@@ -34,6 +35,7 @@ public class LargeWaveformTest extends UIRuntimeTest {
 	@Before
 	public void before() throws Exception {
 		super.before();
+		bot = new TimedWorkbenchBot();
 		bot.waitUntil(new WaitForLaunchTermination(true), 30000);
 		WaveformUtils.launchLocalWaveform(bot, WAVEFORM_NAME);
 	}
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package gov.redhawk.ide.graphiti.ui.runtime.tests;
 
-import java.util.List;
-
 import org.eclipse.swtbot.eclipse.finder.waits.Conditions;
 import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotEditor;
 import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
@@ -21,10 +19,14 @@ import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotShell;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
 import org.eclipse.swtbot.swt.finder.widgets.TimeoutException;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.ConsoleWatcher;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 
@@ -32,6 +34,7 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 
 	protected RHSWTGefBot gefBot; // SUPPRESS CHECKSTYLE INLINE
 	private SWTBotTreeItem resourceTreeItem;
+	private ConsoleWatcher consoleWatcher;
 
 	/**
 	 * Launch the resource whose logging configuration we want to edit.
@@ -47,7 +50,16 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 
 	@Before
 	public void beforeTest() throws Exception {
-		gefBot = new RHSWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
+	}
+
+	@After
+	public void disposeConsoleWatcher() {
+		if (consoleWatcher != null) {
+			consoleWatcher.dispose();
+			consoleWatcher = null;
+		}
 	}
 
 	/**
@@ -75,12 +87,13 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 		// Refresh the resource, then check the console view and make sure that no TRACE messages show up (5 seconds)
 		resourceTreeItem.contextMenu("Refresh");
 		final SWTBotView consoleView = showConsole();
+		consoleWatcher = ConsoleWatcher.watch(consoleView);
 		try {
 			bot.waitUntil(new DefaultCondition() {
 
 				@Override
 				public boolean test() throws Exception {
-					return checkConsoleViewForString(consoleView, "TRACE");
+					return consoleWatcher.hasSeen("TRACE");
 				}
 
 				@Override
@@ -107,7 +120,7 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 
 			@Override
 			public boolean test() throws Exception {
-				return checkConsoleViewForString(consoleView, "TRACE");
+				return consoleWatcher.hasSeen("TRACE");
 			}
 
 			@Override
@@ -149,7 +162,7 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 
 				@Override
 				public boolean test() throws Exception {
-					return checkConsoleViewForString(consoleView, "TRACE");
+					return consoleWatcher.hasSeen("TRACE");
 				}
 
 				@Override
@@ -165,23 +178,4 @@ public abstract class AbstractLogConfigTest extends UIRuntimeTest {
 		editor.close();
 		getDiagramEditor().close();
 	}
-
-	/**
-	 * Returns true if the targetString is part of the console views output
-	 * @param consoleView
-	 * @param targetString
-	 * @return
-	 */
-	private boolean checkConsoleViewForString(SWTBotView consoleView, String targetString) {
-		List<String> viewContents = consoleView.bot().styledText().getLines();
-		boolean stringFound = false;
-		for (String line : viewContents) {
-			if (line.contains(targetString)) {
-				stringFound = true;
-				break;
-			}
-		}
-
-		return stringFound;
-	}
 }
@@ -34,6 +34,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedGefBot;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.ConsoleUtils;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
@@ -85,7 +87,8 @@ public abstract class AbstractPropertiesViewRuntimeTest extends UIRuntimeTest {
 
 	@Before
 	public void beforeTest() {
-		gefBot = new RHSWTGefBot();
+		bot = new TimedWorkbenchBot();
+		gefBot = new TimedGefBot();
 	}
 
 	@After
@@ -19,8 +19,11 @@ import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotTree;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.ResourceStateUtils;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.TimedWorkbenchBot;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.ViewUtils;
@@ -34,6 +37,11 @@ public abstract class AbstractSyncTest extends UIRuntimeTest {
 
 	private static final String PROP_TAB_NAME = "Properties";
 
+	@Before
+	public void beforeTest() throws Exception {
+		bot = new TimedWorkbenchBot();
+	}
+
 	/**
 	 * Launch the waveform/node. Open and return the appropriate diagram.
 	 */
@@ -74,26 +82,19 @@ public abstract class AbstractSyncTest extends UIRuntimeTest {
 		final String[] PARENT_PATH = parentPath.toArray(new String[parentPath.size()]);
 
 		// Wait for everything to be present and in the correct state
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STOPPED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STOPPED);
 
 		DiagramTestUtils.startComponentFromDiagram(editor, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStartedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
+		waitForStates(editor, PARENT_PATH, ComponentState.STARTED, ComponentState.STOPPED);
 
 		DiagramTestUtils.startComponentFromDiagram(editor, resourceB().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStartedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStartedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
+		waitForStates(editor, PARENT_PATH, ComponentState.STARTED, ComponentState.STARTED);
 
 		DiagramTestUtils.stopComponentFromDiagram(editor, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStartedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STARTED);
 
 		DiagramTestUtils.stopComponentFromDiagram(editor, resourceB().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STOPPED);
 	}
 
 	/**
@@ -108,38 +109,37 @@ public abstract class AbstractSyncTest extends UIRuntimeTest {
 		final String[] PARENT_PATH = parentPath.toArray(new String[parentPath.size()]);
 
 		// Wait for everything to be present and in the correct state
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		ScaExplorerTestUtils.waitUntilResourceStoppedInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STOPPED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STOPPED);
 
 		ScaExplorerTestUtils.startResourceInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STARTED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STOPPED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STARTED, ComponentState.STOPPED);
 
 		ScaExplorerTestUtils.startResourceInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STARTED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STARTED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STARTED, ComponentState.STARTED);
 
 		ScaExplorerTestUtils.stopResourceInExplorer(bot, PARENT_PATH, resourceA().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STARTED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STARTED);
 
 		ScaExplorerTestUtils.stopResourceInExplorer(bot, PARENT_PATH, resourceB().getShortName(1));
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STOPPED);
+		waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STOPPED);
 
 		if (supportsParentResourceStartStop()) {
 			ScaExplorerTestUtils.startResourceInExplorer(bot, getWaveformOrNodeParent(), getWaveformOrNodeName());
-			DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STARTED);
-			DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STARTED);
+			waitForStates(editor, PARENT_PATH, ComponentState.STARTED, ComponentState.STARTED);
 
 			ScaExplorerTestUtils.stopResourceInExplorer(bot, getWaveformOrNodeParent(), getWaveformOrNodeName());
-			DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
-			DiagramTestUtils.waitForComponentState(bot, editor, resourceB().getShortName(1), ComponentState.STOPPED);
+			waitForStates(editor, PARENT_PATH, ComponentState.STOPPED, ComponentState.STOPPED);
 		}
 	}
 
+	/**
+	 * Waits for resource A and resource B to reach the specified states in the model, diagram and explorer view.
+	 */
+	private void waitForStates(SWTBotGefEditor editor, String[] parentPath, ComponentState stateA, ComponentState stateB) {
+		ResourceStateUtils.waitForState(bot, editor, parentPath, resourceA().getShortName(1), stateA);
+		ResourceStateUtils.waitForState(bot, editor, parentPath, resourceB().getShortName(1), stateB);
+	}
+
 	/**
 	 * IDE-1205 Make sure properties match whether component is selected in diagram or REDHAWK Explorer.
 	 */
@@ -192,7 +192,7 @@ public abstract class AbstractSyncTest extends UIRuntimeTest {
 
 		// Select resource in the diagram
 		editor.setFocus();
-		DiagramTestUtils.waitForComponentState(bot, editor, resourceA().getShortName(1), ComponentState.STOPPED);
+		ResourceStateUtils.waitForState(bot, editor, PARENT_PATH, resourceA().getShortName(1), ComponentState.STOPPED);
 		SWTBotGefEditPart componentPart = editor.getEditPart(resourceA().getShortName(1));
 		componentPart.select();
 
@@ -0,0 +1,221 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.Result;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.waits.ICondition;
+import org.eclipse.ui.IViewPart;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IConsoleView;
+import org.eclipse.ui.console.TextConsole;
+
+/**
+ * Watches a console's document for text, so waiting on console output costs the same however much has been logged.
+ * Reading the console's styled text on every poll is O(console size) per poll; instead, each string being waited for
+ * has a streaming matcher which is fed only the text appended to the document. The document's contents are only read
+ * once, when a string is first asked for.
+ * <p/>
+ * Clearing the console (e.g. "Clear Console") resets the matchers, so text is only reported if it's been output since.
+ * Text that scrolls out of a console with a limited buffer is still reported once seen.
+ * <pre>
+ * ConsoleWatcher watcher = ConsoleWatcher.watch(consoleView);
+ * try {
+ * 	bot.waitUntil(watcher.contains("TRACE"));
+ * } finally {
+ * 	watcher.dispose();
+ * }
+ * </pre>
+ */
+public final class ConsoleWatcher implements IDocumentListener {
+
+	private final String name;
+	private final IDocument document;
+	private final Map<String, StreamMatcher> matchers = new HashMap<String, StreamMatcher>();
+
+	private ConsoleWatcher(TextConsole console) {
+		this.name = console.getName();
+		this.document = console.getDocument();
+	}
+
+	/**
+	 * Start watching the console shown in a console view.
+	 * @param consoleView The console view; it must be showing a text console
+	 * @return The watcher, which must be disposed
+	 */
+	public static ConsoleWatcher watch(final SWTBotView consoleView) {
+		IConsole console = UIThreadRunnable.syncExec(new Result<IConsole>() {
+			@Override
+			public IConsole run() {
+				IViewPart view = consoleView.getViewReference().getView(false);
+				return (view instanceof IConsoleView) ? ((IConsoleView) view).getConsole() : null;
+			}
+		});
+		if (!(console instanceof TextConsole)) {
+			throw new IllegalArgumentException(consoleView.getTitle() + " isn't showing a text console");
+		}
+		return watch((TextConsole) console);
+	}
+
+	/**
+	 * Start watching a console.
+	 * @return The watcher, which must be disposed
+	 */
+	public static ConsoleWatcher watch(TextConsole console) {
+		final ConsoleWatcher watcher = new ConsoleWatcher(console);
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				watcher.document.addDocumentListener(watcher);
+			}
+		});
+		return watcher;
+	}
+
+	/**
+	 * Stop watching the console.
+	 */
+	public void dispose() {
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				document.removeDocumentListener(ConsoleWatcher.this);
+			}
+		});
+	}
+
+	/**
+	 * @param text The text to look for (within a line or across lines)
+	 * @return A condition which passes once the console has output the text
+	 */
+	public ICondition contains(final String text) {
+		watchFor(text);
+		return new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return hasSeen(text);
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("Console %s did not output '%s'", name, text);
+			}
+		};
+	}
+
+	/**
+	 * @param text The text to look for (within a line or across lines)
+	 * @return True if the console has output the text (since it was last cleared)
+	 */
+	public boolean hasSeen(String text) {
+		watchFor(text);
+		synchronized (this) {
+			return matchers.get(text).found;
+		}
+	}
+
+	private void watchFor(final String text) {
+		synchronized (this) {
+			if (matchers.containsKey(text)) {
+				return;
+			}
+		}
+		// Catch up on what's already in the console on the UI thread, so no appended text is missed or counted twice
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				synchronized (ConsoleWatcher.this) {
+					if (!matchers.containsKey(text)) {
+						StreamMatcher matcher = new StreamMatcher(text);
+						matcher.feed(document.get());
+						matchers.put(text, matcher);
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		if (event.getDocument().getLength() == 0) {
+			for (StreamMatcher matcher : matchers.values()) {
+				matcher.reset();
+			}
+			return;
+		}
+		String text = event.getText();
+		if (text == null || text.isEmpty()) {
+			return;
+		}
+		for (StreamMatcher matcher : matchers.values()) {
+			matcher.feed(text);
+		}
+	}
+
+	/**
+	 * Knuth-Morris-Pratt matching of one string, fed a character at a time, so a match split across appends is found.
+	 */
+	private static final class StreamMatcher {
+
+		private final String target;
+		private final int[] failure;
+		private int matched;
+		private boolean found;
+
+		StreamMatcher(String target) {
+			this.target = target;
+			this.failure = new int[target.length()];
+			for (int i = 1, k = 0; i < target.length(); i++) {
+				while (k > 0 && target.charAt(i) != target.charAt(k)) {
+					k = failure[k - 1];
+				}
+				if (target.charAt(i) == target.charAt(k)) {
+					k++;
+				}
+				failure[i] = k;
+			}
+			reset();
+		}
+
+		void reset() {
+			matched = 0;
+			found = target.isEmpty();
+		}
+
+		void feed(CharSequence text) {
+			for (int i = 0; i < text.length() && !found; i++) {
+				char c = text.charAt(i);
+				while (matched > 0 && target.charAt(matched) != c) {
+					matched = failure[matched - 1];
+				}
+				if (target.charAt(matched) == c) {
+					matched++;
+				}
+				if (matched == target.length()) {
+					found = true;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,358 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.TimeoutException;
+
+import CF.Device;
+import CF.LifeCyclePackage.ReleaseError;
+import gov.redhawk.ide.sdr.nodebooter.NodeBooterLauncherUtil;
+import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.model.sca.RefreshDepth;
+import gov.redhawk.model.sca.ScaDevice;
+import gov.redhawk.model.sca.ScaDeviceManager;
+import gov.redhawk.model.sca.ScaDomainManager;
+import gov.redhawk.model.sca.ScaWaveform;
+import gov.redhawk.sca.ScaPlugin;
+
+/**
+ * Keeps a single domain (plus the requested device managers) running for the lifetime of the test JVM, i.e. for one
+ * test plugin, or for every test plugin when they're run together by gov.redhawk.ide.runtime.tests.suite. Tests
+ * {@link #acquire(SWTWorkbenchBot, String...)} the domain in their setup and {@link #release(SWTWorkbenchBot)} it in
+ * their teardown instead of launching and terminating a domain for every test method.
+ * <p/>
+ * The domain is handed out in a verified clean state: connected, no waveforms, and the same device managers and device
+ * counts that were registered when it was first warmed up, with each device started or stopped and logging as it was
+ * then. Tests which start / stop devices or change their logging have those changes undone on
+ * {@link #release(SWTWorkbenchBot)}. If the check fails (or a different set of device managers is requested) the
+ * domain is torn down and a new one is launched in its place.
+ * <p/>
+ * Launches left running at the end of the module are terminated with the rest of the workbench's launches on shutdown.
+ */
+public final class DomainPool {
+
+	private static final DomainPool INSTANCE = new DomainPool();
+
+	private static final String DEVICE_MANAGERS = "Device Managers";
+
+	/**
+	 * Time to wait for waveforms to be released when cleaning the domain.
+	 */
+	private static final long RELEASE_TIMEOUT = 30000;
+
+	private final String domainName = "SWTBOT_POOL_" + (int) (1000.0 * Math.random());
+
+	/**
+	 * The device managers the running domain was launched with, or null if no domain is running.
+	 */
+	private List<String> deviceManagers = null;
+
+	/**
+	 * The number of devices registered by each device manager once the domain was warm.
+	 */
+	private Map<String, Integer> deviceCounts = new HashMap<String, Integer>();
+
+	/**
+	 * The state of each device (by identifier) once the domain was warm.
+	 */
+	private Map<String, DeviceState> deviceStates = new HashMap<String, DeviceState>();
+
+	/**
+	 * The launches (domain manager and device managers) which make up the running domain.
+	 */
+	private final Set<ILaunch> domainLaunches = new HashSet<ILaunch>();
+
+	private int launches = 0;
+
+	private DomainPool() {
+	}
+
+	public static DomainPool getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @return The name of the pooled domain. It stays the same even if the domain is recycled.
+	 */
+	public String getDomainName() {
+		return domainName;
+	}
+
+	/**
+	 * @return The number of times a domain has been launched by the pool (useful to spot tests that keep forcing a
+	 * recycle)
+	 */
+	public int getLaunchCount() {
+		return launches;
+	}
+
+	/**
+	 * Get a running domain with the specified device managers. Launches (or re-launches) the domain only if no healthy
+	 * domain with the same device managers is available.
+	 * @param bot
+	 * @param nodes The device managers which should be running in the domain
+	 * @return The domain name
+	 */
+	public synchronized String acquire(SWTWorkbenchBot bot, String... nodes) {
+		List<String> requested = Arrays.asList(nodes);
+		if (deviceManagers != null && (!deviceManagers.equals(requested) || !isHealthy())) {
+			terminate(bot);
+		}
+
+		if (deviceManagers == null) {
+			launch(bot, nodes);
+		} else {
+			ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
+		}
+		return domainName;
+	}
+
+	/**
+	 * Return the domain to the pool. Any waveforms still running are released, and devices are started / stopped and
+	 * have their logging configuration restored to match the warm domain. If the domain isn't healthy afterwards it is
+	 * terminated so the next {@link #acquire(SWTWorkbenchBot, String...)} gets a new one.
+	 * @param bot
+	 */
+	public synchronized void release(SWTWorkbenchBot bot) {
+		if (deviceManagers == null) {
+			return;
+		}
+		try {
+			releaseWaveforms(bot);
+		} catch (TimeoutException e) {
+			// The health check below will fail and force a recycle
+		}
+		restoreDevices();
+		if (!isHealthy()) {
+			terminate(bot);
+		}
+		ConsoleUtils.removeTerminatedLaunches(bot);
+	}
+
+	/**
+	 * @param launch
+	 * @return True if the launch is one of the processes of the pooled domain
+	 */
+	public synchronized boolean isPooled(ILaunch launch) {
+		return domainLaunches.contains(launch);
+	}
+
+	/**
+	 * Tear down the pooled domain immediately.
+	 * @param bot
+	 */
+	public synchronized void dispose(SWTWorkbenchBot bot) {
+		if (deviceManagers != null) {
+			terminate(bot);
+		}
+	}
+
+	private void launch(SWTWorkbenchBot bot, String... nodes) {
+		launches++;
+		List<ILaunch> existing = Arrays.asList(DebugPlugin.getDefault().getLaunchManager().getLaunches());
+		ScaExplorerTestUtils.launchDomainViaWizard(bot, domainName, nodes);
+		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
+		for (String node : nodes) {
+			ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { domainName, DEVICE_MANAGERS }, node);
+		}
+		deviceManagers = Arrays.asList(nodes);
+		domainLaunches.clear();
+		domainLaunches.addAll(Arrays.asList(DebugPlugin.getDefault().getLaunchManager().getLaunches()));
+		domainLaunches.removeAll(existing);
+
+		// Record the devices once they have all registered; these are the expected devices for later health checks
+		deviceCounts.clear();
+		final ScaDomainManager domMgr = findDomain();
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				List<ScaDeviceManager> devMgrs = domMgr.fetchDeviceManagers(new NullProgressMonitor(), RefreshDepth.NONE);
+				if (devMgrs.size() != deviceManagers.size()) {
+					return false;
+				}
+				for (ScaDeviceManager devMgr : devMgrs) {
+					if (devMgr.fetchDevices(new NullProgressMonitor(), RefreshDepth.NONE).isEmpty()) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Device managers for pooled domain " + domainName + " did not register their devices";
+			}
+		});
+		deviceStates.clear();
+		for (ScaDeviceManager devMgr : domMgr.getDeviceManagers()) {
+			deviceCounts.put(devMgr.getLabel(), devMgr.getDevices().size());
+			for (ScaDevice< ? > device : devMgr.getDevices()) {
+				deviceStates.put(device.getIdentifier(), new DeviceState(device.getObj()));
+			}
+		}
+	}
+
+	private void terminate(SWTWorkbenchBot bot) {
+		deviceManagers = null;
+		deviceCounts.clear();
+		deviceStates.clear();
+		domainLaunches.clear();
+		ScaExplorerTestUtils.deleteDomainInstance(bot, domainName);
+		NodeBooterLauncherUtil.getInstance().terminateAll();
+		ConsoleUtils.removeTerminatedLaunches(bot);
+	}
+
+	private void releaseWaveforms(SWTWorkbenchBot bot) {
+		final ScaDomainManager domMgr = findDomain();
+		if (domMgr == null || !domMgr.isConnected()) {
+			return;
+		}
+		for (ScaWaveform waveform : domMgr.fetchWaveforms(new NullProgressMonitor(), RefreshDepth.NONE)) {
+			try {
+				waveform.releaseObject();
+			} catch (ReleaseError e) {
+				// PASS - we'll time out below, and the domain will be recycled
+			}
+		}
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return domMgr.fetchWaveforms(new NullProgressMonitor(), RefreshDepth.NONE).isEmpty();
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Waveforms were not released from pooled domain " + domainName;
+			}
+		}, RELEASE_TIMEOUT);
+	}
+
+	/**
+	 * Start / stop devices and restore their logging configuration to match the warm domain. Failures are left for
+	 * {@link #isHealthy()} to find.
+	 */
+	private void restoreDevices() {
+		ScaDomainManager domMgr = findDomain();
+		if (domMgr == null || !domMgr.isConnected()) {
+			return;
+		}
+		try {
+			for (ScaDeviceManager devMgr : domMgr.fetchDeviceManagers(new NullProgressMonitor(), RefreshDepth.NONE)) {
+				for (ScaDevice< ? > device : devMgr.fetchDevices(new NullProgressMonitor(), RefreshDepth.NONE)) {
+					DeviceState expected = deviceStates.get(device.getIdentifier());
+					if (expected != null && expected.restore(device.getObj())) {
+						device.refresh(new NullProgressMonitor(), RefreshDepth.SELF);
+					}
+				}
+			}
+		} catch (Exception e) { // SUPPRESS CHECKSTYLE IllegalCatch
+			// PASS - CORBA exceptions (e.g. the device's process died); the health check will fail and force a recycle
+		}
+	}
+
+	/**
+	 * Checks the domain against the model: connected, no waveforms, the expected devices are registered, and each
+	 * device is in the state it was in when the domain was warm.
+	 */
+	private boolean isHealthy() {
+		ScaDomainManager domMgr = findDomain();
+		if (domMgr == null || !domMgr.isConnected()) {
+			return false;
+		}
+		try {
+			if (!domMgr.fetchWaveforms(new NullProgressMonitor(), RefreshDepth.NONE).isEmpty()) {
+				return false;
+			}
+			List<ScaDeviceManager> devMgrs = domMgr.fetchDeviceManagers(new NullProgressMonitor(), RefreshDepth.NONE);
+			if (devMgrs.size() != deviceCounts.size()) {
+				return false;
+			}
+			for (ScaDeviceManager devMgr : devMgrs) {
+				Integer expected = deviceCounts.get(devMgr.getLabel());
+				List<ScaDevice< ? >> devices = devMgr.fetchDevices(new NullProgressMonitor(), RefreshDepth.NONE);
+				if (expected == null || devices.size() != expected) {
+					return false;
+				}
+				for (ScaDevice< ? > device : devices) {
+					DeviceState state = deviceStates.get(device.getIdentifier());
+					if (state == null || !state.matches(device.getObj())) {
+						return false;
+					}
+				}
+			}
+		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE IllegalCatch
+			// CORBA system exceptions (e.g. the domain manager process died)
+			return false;
+		}
+		return true;
+	}
+
+	private ScaDomainManager findDomain() {
+		return ScaPlugin.getDefault().getDomainManagerRegistry(Display.getDefault()).findDomain(domainName);
+	}
+
+	/**
+	 * What a test can change about a device: whether it's started, and its logging configuration.
+	 */
+	private static class DeviceState {
+
+		private final boolean started;
+		private final int logLevel;
+		private final String logConfig;
+
+		DeviceState(Device device) {
+			started = device.started();
+			logLevel = device.log_level();
+			logConfig = device.getLogConfig();
+		}
+
+		boolean matches(Device device) {
+			return device.started() == started && device.log_level() == logLevel && logConfig.equals(device.getLogConfig());
+		}
+
+		/**
+		 * @return True if anything had to be changed
+		 */
+		boolean restore(Device device) throws Exception { // SUPPRESS CHECKSTYLE IllegalThrows
+			if (matches(device)) {
+				return false;
+			}
+			if (!logConfig.equals(device.getLogConfig())) {
+				device.setLogConfig(logConfig);
+			}
+			if (device.log_level() != logLevel) {
+				device.log_level(logLevel);
+			}
+			if (device.started() != started) {
+				if (started) {
+					device.start();
+				} else {
+					device.stop();
+				}
+			}
+			return true;
+		}
+	}
+}
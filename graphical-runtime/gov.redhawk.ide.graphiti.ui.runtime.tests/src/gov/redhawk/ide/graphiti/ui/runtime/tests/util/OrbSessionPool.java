@@ -0,0 +1,187 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import gov.redhawk.sca.util.OrbSession;
+
+/**
+ * Hands out a single ORB session to every test and helper in the test JVM which needs to talk CORBA directly (bind
+ * names, activate stub servants, etc), instead of each one initializing (and tearing down) an ORB of its own.
+ * <p/>
+ * Sessions are borrowed as a {@link Lease} and given back by closing it:
+ * <pre>
+ * try (OrbSessionPool.Lease lease = OrbSessionPool.getInstance().borrow("MyTest")) {
+ *     lease.getSession().getOrb()...
+ * }
+ * </pre>
+ * The session stays up while no leases are out, so the ORB and its sockets are only set up once. Use
+ * {@link #leakCheck()} as a JUnit rule to fail tests which borrow a session and don't give it back; leases still
+ * out when the JVM exits are reported on stderr.
+ */
+public final class OrbSessionPool {
+
+	private static final OrbSessionPool INSTANCE = new OrbSessionPool();
+
+	/**
+	 * A borrowed session. Closing the lease returns the session to the pool.
+	 */
+	public final class Lease implements AutoCloseable {
+
+		private final String owner;
+		private final Throwable borrowedAt;
+		private boolean closed = false;
+
+		private Lease(String owner) {
+			this.owner = owner;
+			this.borrowedAt = new Throwable("Session borrowed by " + owner);
+		}
+
+		public OrbSession getSession() {
+			if (closed) {
+				throw new IllegalStateException("Lease for " + owner + " has already been returned");
+			}
+			return session;
+		}
+
+		@Override
+		public void close() {
+			giveBack(this);
+		}
+
+		@Override
+		public String toString() {
+			StringWriter trace = new StringWriter();
+			borrowedAt.printStackTrace(new PrintWriter(trace));
+			return trace.toString();
+		}
+	}
+
+	private final Set<Lease> leases = new LinkedHashSet<Lease>();
+	private OrbSession session;
+	private int sessionsCreated = 0;
+
+	private OrbSessionPool() {
+		Runtime.getRuntime().addShutdownHook(new Thread("ORB session pool") {
+			@Override
+			public void run() {
+				List<Lease> leaked = getLeases();
+				if (!leaked.isEmpty()) {
+					System.err.println(leaked.size() + " ORB session lease(s) were never returned:"); // SUPPRESS CHECKSTYLE SystemPrintln
+					for (Lease lease : leaked) {
+						System.err.println(lease); // SUPPRESS CHECKSTYLE SystemPrintln
+					}
+				}
+				dispose();
+			}
+		});
+	}
+
+	public static OrbSessionPool getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Borrow the shared session, creating it if needed.
+	 * @param owner Who is borrowing the session (e.g. the test class), used when reporting leaks
+	 * @return The lease; close it to give the session back
+	 */
+	public synchronized Lease borrow(String owner) {
+		if (session == null) {
+			session = OrbSession.createSession(OrbSessionPool.class.getCanonicalName());
+			sessionsCreated++;
+		}
+		Lease lease = new Lease(owner);
+		leases.add(lease);
+		return lease;
+	}
+
+	private synchronized void giveBack(Lease lease) {
+		lease.closed = true;
+		leases.remove(lease);
+	}
+
+	/**
+	 * @return The number of leases currently out
+	 */
+	public synchronized int getReferenceCount() {
+		return leases.size();
+	}
+
+	/**
+	 * @return The number of times the pool has had to create an ORB session
+	 */
+	public synchronized int getSessionsCreated() {
+		return sessionsCreated;
+	}
+
+	/**
+	 * @return The leases currently out
+	 */
+	public synchronized List<Lease> getLeases() {
+		return new ArrayList<Lease>(leases);
+	}
+
+	/**
+	 * Dispose of the shared session. Any leases still out are revoked.
+	 */
+	public synchronized void dispose() {
+		for (Lease lease : leases) {
+			lease.closed = true;
+		}
+		leases.clear();
+		if (session != null) {
+			session.dispose();
+			session = null;
+		}
+	}
+
+	/**
+	 * @return A JUnit rule which fails a test if it borrows a session and doesn't return it. Leases taken before the
+	 * test started (e.g. in a @BeforeClass) aren't affected. Leaked leases are returned so later tests aren't affected.
+	 */
+	public TestRule leakCheck() {
+		return new TestRule() {
+			@Override
+			public Statement apply(final Statement base, final Description description) {
+				return new Statement() {
+					@Override
+					public void evaluate() throws Throwable {
+						List<Lease> before = getLeases();
+						base.evaluate();
+						List<Lease> leaked = getLeases();
+						leaked.removeAll(before);
+						if (leaked.isEmpty()) {
+							return;
+						}
+						StringBuilder sb = new StringBuilder(description.getDisplayName());
+						sb.append(" did not return ").append(leaked.size()).append(" ORB session lease(s):");
+						for (Lease lease : leaked) {
+							sb.append('\n').append(lease);
+							lease.close();
+						}
+						throw new AssertionError(sb.toString());
+					}
+				};
+			}
+		};
+	}
+}
@@ -0,0 +1,194 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.transaction.NotificationFilter;
+import org.eclipse.emf.transaction.ResourceSetChangeEvent;
+import org.eclipse.emf.transaction.ResourceSetListenerImpl;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditPart;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.Result;
+import org.eclipse.swtbot.swt.finder.utils.SWTBotPreferences;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.Assert;
+
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils.ComponentState;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.model.sca.ScaAbstractComponent;
+import gov.redhawk.model.sca.ScaPackage;
+import gov.redhawk.model.sca.commands.ScaModelCommand;
+
+/**
+ * Event-driven waits for a resource's started / stopped state.
+ * <p/>
+ * Rather than polling the diagram and the REDHAWK Explorer, an adapter is attached to the resource's model object
+ * ({@link gov.redhawk.model.sca.ScaComponent}, {@link gov.redhawk.model.sca.ScaDevice},
+ * {@link gov.redhawk.model.sca.ScaWaveform}, ...) and a {@link org.eclipse.emf.transaction.ResourceSetListener} is
+ * attached to the diagram's editing domain. The wait completes once the model reports the state and the diagram has
+ * committed a change to the resource's shape; the usual SWTBot check is then run once to confirm what the diagram
+ * shows, and only falls back to polling if the shape changed in some other way.
+ * <p/>
+ * The model object is the data behind the resource's node in the REDHAWK Explorer, so the explorer isn't polled
+ * separately.
+ */
+public final class ResourceStateUtils {
+
+	private ResourceStateUtils() {
+	}
+
+	/**
+	 * Find the model object behind a resource's node in the REDHAWK Explorer.
+	 * @param bot
+	 * @param parentPath path to the resource's parent in the REDHAWK Explorer
+	 * @param name the resource's name
+	 * @return
+	 */
+	public static ScaAbstractComponent< ? > getResource(SWTWorkbenchBot bot, String[] parentPath, String name) {
+		final SWTBotTreeItem treeItem = ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, parentPath, name);
+		Object data = UIThreadRunnable.syncExec(treeItem.display, new Result<Object>() {
+			@Override
+			public Object run() {
+				return treeItem.widget.getData();
+			}
+		});
+		Assert.assertTrue("Tree item " + name + " is not a resource: " + data, data instanceof ScaAbstractComponent);
+		return (ScaAbstractComponent< ? >) data;
+	}
+
+	/**
+	 * @see #waitForState(SWTWorkbenchBot, SWTBotGefEditor, String[], String, ComponentState, long)
+	 */
+	public static void waitForState(SWTWorkbenchBot bot, SWTBotGefEditor editor, String[] parentPath, String name, ComponentState state) {
+		waitForState(bot, editor, parentPath, name, state, SWTBotPreferences.TIMEOUT);
+	}
+
+	/**
+	 * Waits for a resource to reach the specified state in the model and the diagram. Only
+	 * {@link ComponentState#STARTED} and {@link ComponentState#STOPPED} are tracked via the model; other states are
+	 * passed through to {@link DiagramTestUtils#waitForComponentState(SWTWorkbenchBot, SWTBotGefEditor, String, ComponentState, long)}.
+	 * @param bot
+	 * @param editor the diagram the resource is displayed in
+	 * @param parentPath path to the resource's parent in the REDHAWK Explorer
+	 * @param name the resource's name
+	 * @param state
+	 * @param timeout
+	 */
+	public static void waitForState(SWTWorkbenchBot bot, SWTBotGefEditor editor, String[] parentPath, String name, ComponentState state,
+		long timeout) {
+		if (state != ComponentState.STARTED && state != ComponentState.STOPPED) {
+			DiagramTestUtils.waitForComponentState(bot, editor, name, state, timeout);
+			return;
+		}
+
+		final Boolean started = state == ComponentState.STARTED;
+		final ScaAbstractComponent< ? > resource = getResource(bot, parentPath, name);
+		final PictogramElement shape = getShape(editor, name);
+		final TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(shape);
+
+		// Any change the diagram commits to one of the shape's graphics algorithms (style, colors, ...)
+		final CountDownLatch diagramLatch = new CountDownLatch(1);
+		final ResourceSetListenerImpl diagramListener = new ResourceSetListenerImpl(NotificationFilter.NOT_TOUCH) {
+			@Override
+			public boolean isPostcommitOnly() {
+				return true;
+			}
+
+			@Override
+			public void resourceSetChanged(ResourceSetChangeEvent event) {
+				for (Notification notification : event.getNotifications()) {
+					Object notifier = notification.getNotifier();
+					if (notifier instanceof GraphicsAlgorithm && EcoreUtil.isAncestor(shape, (EObject) notifier)) {
+						diagramLatch.countDown();
+						return;
+					}
+				}
+			}
+		};
+
+		final CountDownLatch modelLatch = new CountDownLatch(1);
+		final AdapterImpl modelAdapter = new AdapterImpl() {
+			@Override
+			public void notifyChanged(Notification msg) {
+				if (msg.getFeature() == ScaPackage.Literals.SCA_ABSTRACT_COMPONENT__STARTED && started.equals(msg.getNewValue())) {
+					modelLatch.countDown();
+				}
+			}
+		};
+
+		// The diagram listener goes first so it can't miss an update triggered by the model change
+		editingDomain.addResourceSetListener(diagramListener);
+		ScaModelCommand.execute(resource, new ScaModelCommand() {
+			@Override
+			public void execute() {
+				resource.eAdapters().add(modelAdapter);
+			}
+		});
+		long remaining = timeout;
+		try {
+			if (!started.equals(resource.getStarted())) {
+				long startTime = System.currentTimeMillis();
+				boolean notified = modelLatch.await(timeout, TimeUnit.MILLISECONDS);
+				Assert.assertTrue(String.format("%s did not reach state %s within %d ms", name, state, timeout), notified);
+
+				// The diagram's update follows the model's
+				diagramLatch.await(Math.max(0, timeout - (System.currentTimeMillis() - startTime)), TimeUnit.MILLISECONDS);
+				remaining = Math.max(1, timeout - (System.currentTimeMillis() - startTime));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			Assert.fail("Interrupted while waiting for " + name + " to reach state " + state);
+		} finally {
+			ScaModelCommand.execute(resource, new ScaModelCommand() {
+				@Override
+				public void execute() {
+					resource.eAdapters().remove(modelAdapter);
+				}
+			});
+			editingDomain.removeResourceSetListener(diagramListener);
+		}
+
+		// The model and the diagram have both changed; this check should pass on the first try
+		DiagramTestUtils.waitForComponentState(bot, editor, name, state, remaining);
+	}
+
+	/**
+	 * Find the pictogram element for a resource in the diagram.
+	 * @param editor
+	 * @param name the resource's name
+	 * @return
+	 */
+	private static PictogramElement getShape(SWTBotGefEditor editor, String name) {
+		final SWTBotGefEditPart editPart = editor.getEditPart(name);
+		Assert.assertNotNull("Resource " + name + " is not in the diagram", editPart);
+		Object model = UIThreadRunnable.syncExec(new Result<Object>() {
+			@Override
+			public Object run() {
+				return editPart.part().getModel();
+			}
+		});
+		Assert.assertTrue("Edit part for " + name + " is not a pictogram element: " + model, model instanceof PictogramElement);
+		return (PictogramElement) model;
+	}
+}
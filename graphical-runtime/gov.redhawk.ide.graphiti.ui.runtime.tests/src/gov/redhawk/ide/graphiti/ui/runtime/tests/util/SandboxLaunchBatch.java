@@ -0,0 +1,130 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils.ComponentState;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.model.sca.ScaComponent;
+
+/**
+ * Launches a set of components into the sandbox chalkboard without waiting for each one in turn.
+ * <p/>
+ * All launches are issued up front (the launches themselves run in the background), then a single wait covers the
+ * whole set, so setup costs roughly the slowest launch rather than the sum of them.
+ * <p/>
+ * The time from issuing each launch until its component is in the sandbox's model ({@link gov.redhawk.ide.debug.LocalSca})
+ * is recorded and returned. Launches are issued one after another through the REDHAWK Explorer's context menu, so the
+ * latency of each launch includes the context menu interaction for the launches issued after it.
+ * <pre>
+ * new SandboxLaunchBatch(bot)
+ *     .add("rh.SigGen", "cpp", "SigGen_1")
+ *     .add("rh.HardLimit", "cpp", "HardLimit_1")
+ *     .launchAndWait(editor, 30000);
+ * </pre>
+ */
+public class SandboxLaunchBatch {
+
+	private static final long POLL_INTERVAL = 50;
+
+	private static class Launch {
+		private String componentId;
+		private String implId;
+		private String instanceName;
+		private long issued;
+	}
+
+	private final SWTWorkbenchBot bot;
+	private final List<Launch> launches = new ArrayList<Launch>();
+	private final Map<String, Long> latencies = new LinkedHashMap<String, Long>();
+
+	public SandboxLaunchBatch(SWTWorkbenchBot bot) {
+		this.bot = bot;
+	}
+
+	/**
+	 * Add a component to the batch.
+	 * @param componentId the component's name in the Target SDR, e.g. rh.SigGen
+	 * @param implId the implementation to launch, e.g. cpp
+	 * @param instanceName the name the instance will be given in the chalkboard, e.g. SigGen_1
+	 */
+	public SandboxLaunchBatch add(String componentId, String implId, String instanceName) {
+		Launch launch = new Launch();
+		launch.componentId = componentId;
+		launch.implId = implId;
+		launch.instanceName = instanceName;
+		launches.add(launch);
+		return this;
+	}
+
+	/**
+	 * Issue every launch, then wait until all of the components are in the chalkboard and stopped in the diagram.
+	 * @param editor the chalkboard diagram
+	 * @param timeout how long to wait for the whole batch, measured from the last launch being issued
+	 * @return launch latency (ms) for each instance, in the order they were added
+	 */
+	public Map<String, Long> launchAndWait(SWTBotGefEditor editor, long timeout) {
+		for (Launch launch : launches) {
+			launch.issued = System.currentTimeMillis();
+			ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, launch.componentId, launch.implId);
+		}
+
+		final Map<String, Launch> pending = new HashMap<String, Launch>();
+		for (Launch launch : launches) {
+			pending.put(launch.instanceName, launch);
+		}
+		final Map<String, Long> arrived = new HashMap<String, Long>();
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				long now = System.currentTimeMillis();
+				for (ScaComponent component : ScaDebugPlugin.getInstance().getLocalSca().getSandboxWaveform().getComponents()) {
+					Launch launch = pending.remove(component.getName());
+					if (launch != null) {
+						arrived.put(launch.instanceName, now - launch.issued);
+					}
+				}
+				return pending.isEmpty();
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Components were not launched: " + pending.keySet();
+			}
+		}, timeout, POLL_INTERVAL);
+
+		// Every component is up; these should each pass on the first check
+		for (Launch launch : launches) {
+			DiagramTestUtils.waitForComponentState(bot, editor, launch.instanceName, ComponentState.STOPPED, timeout);
+			latencies.put(launch.instanceName, arrived.get(launch.instanceName));
+		}
+		return getLatencies();
+	}
+
+	/**
+	 * @return launch latency (ms) for each instance from the last call to {@link #launchAndWait(SWTBotGefEditor, long)}
+	 */
+	public Map<String, Long> getLatencies() {
+		return Collections.unmodifiableMap(latencies);
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import org.eclipse.swtbot.swt.finder.SWTBot;
+import org.eclipse.swtbot.swt.finder.waits.ICondition;
+
+/**
+ * Wraps a condition to count how many times it is polled, and records the wait in the {@link WaitReport} when
+ * {@link #finish(boolean)} is called.
+ */
+public class TimedCondition implements ICondition {
+
+	private final ICondition delegate;
+	private final long timeout;
+	private final String callSite;
+	private final String testSite;
+	private final long start = System.nanoTime();
+	private int polls = 0;
+
+	public TimedCondition(ICondition delegate, long timeout) {
+		this.delegate = delegate;
+		this.timeout = timeout;
+
+		// The first frame outside SWTBot and the instrumentation is where the wait came from (which may be a helper
+		// such as ScaExplorerTestUtils); also note the test code which led to it.
+		String site = null;
+		String test = null;
+		for (StackTraceElement frame : new Throwable().getStackTrace()) {
+			String className = frame.getClassName();
+			if (className.startsWith("org.eclipse.swtbot.") || className.startsWith(TimedCondition.class.getPackage().getName() + ".Timed")) {
+				continue;
+			}
+			if (site == null) {
+				site = frame.toString();
+			}
+			if (test == null && className.replaceAll("\\$.*", "").endsWith("Test")) {
+				test = frame.toString();
+				break;
+			}
+		}
+		this.callSite = site;
+		this.testSite = test;
+	}
+
+	@Override
+	public boolean test() throws Exception {
+		polls++;
+		return delegate.test();
+	}
+
+	@Override
+	public void init(SWTBot bot) {
+		delegate.init(bot);
+	}
+
+	@Override
+	public String getFailureMessage() {
+		return delegate.getFailureMessage();
+	}
+
+	/**
+	 * Record the completed wait.
+	 * @param satisfied true if the condition was met, false if the wait timed out or failed
+	 */
+	public void finish(boolean satisfied) {
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		String description;
+		try {
+			description = delegate.getFailureMessage();
+		} catch (RuntimeException e) { // SUPPRESS CHECKSTYLE IllegalCatch
+			description = null;
+		}
+		if (description == null || description.isEmpty()) {
+			description = delegate.toString();
+		}
+		WaitReport.getInstance().record(new WaitReport.Entry(callSite, testSite, delegate.getClass().getName(), description, elapsed, polls, timeout,
+			satisfied));
+	}
+}
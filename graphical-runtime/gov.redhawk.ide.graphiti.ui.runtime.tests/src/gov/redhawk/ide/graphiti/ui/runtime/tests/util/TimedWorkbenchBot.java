@@ -0,0 +1,46 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.swt.finder.waits.ICondition;
+import org.eclipse.swtbot.swt.finder.widgets.TimeoutException;
+
+/**
+ * A workbench bot which records every wait in the {@link WaitReport}. Waits made by helpers (ScaExplorerTestUtils,
+ * DiagramTestUtils, etc) are recorded too, as long as this bot is the one passed to them.
+ */
+public class TimedWorkbenchBot extends SWTWorkbenchBot {
+
+	@Override
+	public void waitUntil(ICondition condition, long timeout, long interval) throws TimeoutException {
+		TimedCondition timed = new TimedCondition(condition, timeout);
+		boolean satisfied = false;
+		try {
+			super.waitUntil(timed, timeout, interval);
+			satisfied = true;
+		} finally {
+			timed.finish(satisfied);
+		}
+	}
+
+	@Override
+	public void waitWhile(ICondition condition, long timeout, long interval) throws TimeoutException {
+		TimedCondition timed = new TimedCondition(condition, timeout);
+		boolean satisfied = false;
+		try {
+			super.waitWhile(timed, timeout, interval);
+			satisfied = true;
+		} finally {
+			timed.finish(satisfied);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.SWTBot;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+
+/**
+ * Waits for an acquisition in the DataList view to finish: the view has re-enabled its "Start Acquire" button and the
+ * table holds at least the expected number of rows. Use this after clicking "Start Acquire" instead of sleeping.
+ */
+public class WaitForDataListAcquire extends DefaultCondition {
+
+	public static final String START_ACQUIRE = "Start Acquire";
+
+	private final SWTBot viewBot;
+	private final int rows;
+	private boolean acquiring;
+	private int rowCount;
+
+	/**
+	 * @param dataListView the DataList view
+	 * @param rows the number of rows the acquisition fills in (samples / number of dimensions)
+	 */
+	public WaitForDataListAcquire(SWTBotView dataListView, int rows) {
+		this.viewBot = dataListView.bot();
+		this.rows = rows;
+	}
+
+	@Override
+	public boolean test() throws Exception {
+		acquiring = !viewBot.buttonWithTooltip(START_ACQUIRE).isEnabled();
+		rowCount = viewBot.table(0).rowCount();
+		return !acquiring && rowCount >= rows;
+	}
+
+	@Override
+	public String getFailureMessage() {
+		return String.format("DataList acquisition didn't finish (%s, %d/%d rows)", acquiring ? "acquiring" : "stopped", rowCount, rows);
+	}
+}
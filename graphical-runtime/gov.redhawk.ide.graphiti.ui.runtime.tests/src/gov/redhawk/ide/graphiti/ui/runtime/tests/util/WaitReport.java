@@ -0,0 +1,285 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.runtime.tests.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collects the waits recorded by {@link TimedWorkbenchBot} / {@link TimedGefBot} and, when the JVM exits, writes a
+ * report ranking them by elapsed time and by how close they came to their timeout.
+ * <p/>
+ * Two files are written per run into the directory given by the system property {@value #DIR_PROPERTY} (default
+ * <code>target/wait-report</code>):
+ * <ul>
+ * <li><code>waits-&lt;timestamp&gt;.csv</code> - every wait, in the order it happened</li>
+ * <li><code>waits-&lt;timestamp&gt;.json</code> - the slowest waits, the most at-risk waits and per call site totals</li>
+ * </ul>
+ * Set {@value #ENABLED_PROPERTY} to <code>false</code> to turn off recording.
+ */
+public final class WaitReport {
+
+	public static final String DIR_PROPERTY = "gov.redhawk.ide.waitReport.dir";
+	public static final String ENABLED_PROPERTY = "gov.redhawk.ide.waitReport";
+
+	/**
+	 * How many entries to list in each ranking
+	 */
+	private static final int TOP = 50;
+
+	/**
+	 * Waits which used at least this fraction of their timeout are flagged as at risk
+	 */
+	private static final double AT_RISK = 0.5;
+
+	/**
+	 * One completed wait
+	 */
+	public static final class Entry {
+		private final String callSite;
+		private final String testSite;
+		private final String condition;
+		private final String description;
+		private final long elapsed;
+		private final int polls;
+		private final long timeout;
+		private final boolean satisfied;
+
+		public Entry(String callSite, String testSite, String condition, String description, long elapsed, int polls, long timeout, boolean satisfied) {
+			this.callSite = (callSite == null) ? "<unknown>" : callSite;
+			this.testSite = (testSite == null) ? "<unknown>" : testSite;
+			this.condition = condition;
+			this.description = description;
+			this.elapsed = elapsed;
+			this.polls = polls;
+			this.timeout = timeout;
+			this.satisfied = satisfied;
+		}
+
+		/**
+		 * @return The fraction of the timeout used by the wait
+		 */
+		public double getTimeoutRatio() {
+			return (timeout <= 0) ? 0 : (double) elapsed / timeout;
+		}
+	}
+
+	private static final WaitReport INSTANCE = new WaitReport();
+
+	private final boolean enabled = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+	private final List<Entry> entries = new ArrayList<Entry>();
+
+	private WaitReport() {
+		if (enabled) {
+			Runtime.getRuntime().addShutdownHook(new Thread("Wait report") {
+				@Override
+				public void run() {
+					try {
+						write(new File(System.getProperty(DIR_PROPERTY, "target/wait-report")));
+					} catch (IOException e) {
+						System.err.println("Unable to write wait report: " + e.getMessage()); // SUPPRESS CHECKSTYLE SystemPrintln
+					}
+				}
+			});
+		}
+	}
+
+	public static WaitReport getInstance() {
+		return INSTANCE;
+	}
+
+	public void record(Entry entry) {
+		if (!enabled) {
+			return;
+		}
+		synchronized (entries) {
+			entries.add(entry);
+		}
+	}
+
+	/**
+	 * @return A copy of the waits recorded so far
+	 */
+	public List<Entry> getEntries() {
+		synchronized (entries) {
+			return new ArrayList<Entry>(entries);
+		}
+	}
+
+	/**
+	 * Write the CSV and JSON reports for the waits recorded so far.
+	 * @param dir
+	 * @throws IOException
+	 */
+	public void write(File dir) throws IOException {
+		List<Entry> all = getEntries();
+		if (all.isEmpty()) {
+			return;
+		}
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create " + dir);
+		}
+		String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date());
+		writeCsv(new File(dir, "waits-" + timestamp + ".csv"), all);
+		writeJson(new File(dir, "waits-" + timestamp + ".json"), all);
+	}
+
+	private void writeCsv(File file, List<Entry> all) throws IOException {
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			out.println("callSite,testSite,condition,description,elapsedMs,polls,timeoutMs,timeoutRatio,satisfied");
+			for (Entry entry : all) {
+				out.println(String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%d,%.3f,%b", csv(entry.callSite), csv(entry.testSite), csv(entry.condition),
+					csv(entry.description), entry.elapsed, entry.polls, entry.timeout, entry.getTimeoutRatio(), entry.satisfied));
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeJson(File file, List<Entry> all) throws IOException {
+		List<Entry> slowest = new ArrayList<Entry>(all);
+		Collections.sort(slowest, new Comparator<Entry>() {
+			@Override
+			public int compare(Entry o1, Entry o2) {
+				return Long.compare(o2.elapsed, o1.elapsed);
+			}
+		});
+
+		List<Entry> atRisk = new ArrayList<Entry>();
+		for (Entry entry : all) {
+			if (!entry.satisfied || entry.getTimeoutRatio() >= AT_RISK) {
+				atRisk.add(entry);
+			}
+		}
+		Collections.sort(atRisk, new Comparator<Entry>() {
+			@Override
+			public int compare(Entry o1, Entry o2) {
+				return Double.compare(o2.getTimeoutRatio(), o1.getTimeoutRatio());
+			}
+		});
+
+		// Totals per call site, biggest first
+		final Map<String, long[]> sites = new LinkedHashMap<String, long[]>();
+		for (Entry entry : all) {
+			long[] totals = sites.get(entry.callSite);
+			if (totals == null) {
+				totals = new long[4];
+				sites.put(entry.callSite, totals);
+			}
+			totals[0]++;
+			totals[1] += entry.elapsed;
+			totals[2] = Math.max(totals[2], entry.elapsed);
+			totals[3] += entry.satisfied ? 0 : 1;
+		}
+		List<String> siteKeys = new ArrayList<String>(sites.keySet());
+		Collections.sort(siteKeys, new Comparator<String>() {
+			@Override
+			public int compare(String o1, String o2) {
+				return Long.compare(sites.get(o2)[1], sites.get(o1)[1]);
+			}
+		});
+
+		long total = 0;
+		for (Entry entry : all) {
+			total += entry.elapsed;
+		}
+
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+		try {
+			out.println("{");
+			out.println(String.format(Locale.ROOT, "  \"waits\": %d,", all.size()));
+			out.println(String.format(Locale.ROOT, "  \"totalElapsedMs\": %d,", total));
+			out.println("  \"slowest\": [");
+			writeEntries(out, slowest.subList(0, Math.min(TOP, slowest.size())));
+			out.println("  ],");
+			out.println("  \"atRisk\": [");
+			writeEntries(out, atRisk.subList(0, Math.min(TOP, atRisk.size())));
+			out.println("  ],");
+			out.println("  \"byCallSite\": [");
+			for (int i = 0; i < siteKeys.size(); i++) {
+				long[] totals = sites.get(siteKeys.get(i));
+				out.print(String.format(Locale.ROOT, "    {\"callSite\": %s, \"count\": %d, \"totalElapsedMs\": %d, \"maxElapsedMs\": %d, \"timeouts\": %d}",
+					json(siteKeys.get(i)), totals[0], totals[1], totals[2], totals[3]));
+				out.println((i < siteKeys.size() - 1) ? "," : "");
+			}
+			out.println("  ]");
+			out.println("}");
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeEntries(PrintWriter out, List<Entry> list) {
+		for (int i = 0; i < list.size(); i++) {
+			Entry entry = list.get(i);
+			out.print(String.format(Locale.ROOT,
+				"    {\"callSite\": %s, \"testSite\": %s, \"condition\": %s, \"description\": %s, \"elapsedMs\": %d, \"polls\": %d, "
+					+ "\"timeoutMs\": %d, \"timeoutRatio\": %.3f, \"satisfied\": %b}",
+				json(entry.callSite), json(entry.testSite), json(entry.condition), json(entry.description), entry.elapsed, entry.polls, entry.timeout,
+				entry.getTimeoutRatio(), entry.satisfied));
+			out.println((i < list.size() - 1) ? "," : "");
+		}
+	}
+
+	private static String csv(String value) {
+		if (value == null) {
+			return "";
+		}
+		return '"' + value.replace("\"", "\"\"").replaceAll("[\r\n]+", " ") + '"';
+	}
+
+	private static String json(String value) {
+		if (value == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"':
+				sb.append("\\\"");
+				break;
+			case '\\':
+				sb.append("\\\\");
+				break;
+			case '\n':
+				sb.append("\\n");
+				break;
+			case '\r':
+				sb.append("\\r");
+				break;
+			case '\t':
+				sb.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
@@ -17,7 +17,9 @@ import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
 import org.omg.CORBA.ORBPackage.InvalidName;
 import org.omg.CosNaming.NameComponent;
 import org.omg.CosNaming.NamingContext;
@@ -26,18 +28,21 @@ import org.omg.CosNaming.NamingContextPackage.AlreadyBound;
 import org.omg.CosNaming.NamingContextPackage.CannotProceed;
 import org.omg.CosNaming.NamingContextPackage.NotFound;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
 import gov.redhawk.ide.swtbot.ConsoleUtils;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.ViewUtils;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
-import gov.redhawk.sca.util.OrbSession;
 
 public class CorbaNameBrowserTest extends UIRuntimeTest {
 
 	private String domainName;
 	private static final String DEVICE_MANAGER = "DevMgr_localhost";
 
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
+
 	@Test
 	public void namespacedWaveformTest() {
 		final String waveformName = "a.b.c.d.waveform";
@@ -89,11 +94,10 @@ public class CorbaNameBrowserTest extends UIRuntimeTest {
 	 */
 	@Test
 	public void idWithKind() throws InvalidName {
-		OrbSession session = OrbSession.createSession();
 		NamingContext namingContext = null;
 		NameComponent[] name = new NameComponent[] { new NameComponent("myid", "mykind") };
-		try {
-			org.omg.CORBA.Object obj = session.getOrb().string_to_object("corbaname::127.0.0.1");
+		try (OrbSessionPool.Lease lease = OrbSessionPool.getInstance().borrow(CorbaNameBrowserTest.class.getSimpleName())) {
+			org.omg.CORBA.Object obj = lease.getSession().getOrb().string_to_object("corbaname::127.0.0.1");
 			namingContext = NamingContextHelper.narrow(obj);
 			try {
 				namingContext.bind(name, obj);
@@ -117,7 +121,6 @@ public class CorbaNameBrowserTest extends UIRuntimeTest {
 					e.printStackTrace();
 				}
 			}
-			session.dispose();
 		}
 	}
 }
@@ -0,0 +1,474 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.Result;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.TextConsole;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.omg.CORBA.UserException;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.CpuTime;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.runtime.benchmarks.util.LatencyHistogram;
+import gov.redhawk.ide.runtime.benchmarks.util.PropertiesComponentGenerator;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.logging.ui.LogLevels;
+import gov.redhawk.model.sca.RefreshDepth;
+import gov.redhawk.model.sca.ScaDomainManager;
+import gov.redhawk.model.sca.ScaWaveform;
+import gov.redhawk.sca.ScaPlugin;
+
+/**
+ * The console under heavy logging, where AbstractLogConfigTest only checks that a single TRACE line shows up. A
+ * waveform of R components, each logging at TRACE level (see {@link PropertiesComponentGenerator#logRate(int)}), is
+ * launched in the pooled domain (see {@link DomainPool}); every component is set to TRACE and has a "Tail Log" console
+ * open, alongside the device manager's process console which receives the components' output. The waveform then runs
+ * for a fixed time at a total of L lines per second. Measured while it runs:
+ * <ul>
+ * <li><code>processLinesPerSecond</code> / <code>tailLinesPerSecond</code> - lines that reached the process console /
+ * the Tail Log consoles' documents, against <code>offeredLinesPerSecond</code>; and <code>drainMs</code> - once the
+ * waveform is stopped, until the last of its lines reaches a console</li>
+ * <li><code>processLatencyP50Ms</code> / <code>P99Ms</code> / <code>MaxMs</code> (and likewise
+ * <code>tailLatency</code>) - from each line being logged until it's added to the console's document (on the UI
+ * thread, see {@link LatencyHistogram})</li>
+ * <li><code>uiThreadMs</code> - CPU time used by the UI thread (see {@link CpuTime}); <code>listenerMs</code> - the part
+ * of it spent in the benchmark's own document listeners, which only queue the text for a background thread to parse;
+ * and <code>uiOccupancy</code> - the UI thread's CPU time less the listeners', as a fraction of the run</li>
+ * <li><code>uiResponseP99Ms</code> / <code>uiResponseMaxMs</code> - how long an empty <code>syncExec</code> waits for
+ * the UI thread, probed every {@value #PROBE_INTERVAL} ms (i.e. how responsive the IDE is)</li>
+ * <li><code>processConsoleMb</code> / <code>tailConsoleMb</code> - the size of the consoles' documents afterwards (2
+ * bytes per character), and <code>heapGrowthMb</code> - the live heap gained over the run (see
+ * {@link HeapSampler})</li>
+ * </ul>
+ * Results go to the <code>console</code> trend file (see {@link BenchmarkTrend}). Scales are set with the system
+ * property {@value #SCALES_PROPERTY}: comma separated <code>resources/linesPerSecond</code> (default
+ * {@value #DEFAULT_SCALES}), and the duration with {@value #SECONDS_PROPERTY} (default {@value #DEFAULT_SECONDS}).
+ */
+@RunWith(Parameterized.class)
+public class ConsoleBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.consoleScales";
+	public static final String SECONDS_PROPERTY = "gov.redhawk.ide.benchmark.consoleSeconds";
+	private static final String DEFAULT_SCALES = "1/1000,10/1000,10/10000,40/10000";
+	private static final int DEFAULT_SECONDS = 30;
+
+	private static final String BENCHMARK = "console";
+	private static final String DEV_MGR = "DevMgr_localhost";
+	private static final String GPP = "GPP_localhost";
+	private static final String WAVEFORMS = "Waveforms";
+	private static final String TAIL_LOG = "Log events on channel";
+	private static final int LATENCY_RANGE = 120000;
+	private static final long PROBE_INTERVAL = 100;
+	private static final long QUIET_PERIOD = 2000;
+	private static final double MB = 1024 * 1024;
+	private static final long TIMEOUT = 120000;
+
+	@Parameters(name = "{0} resources, {1} lines/s")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			scales.add(new Object[] { Integer.valueOf(parts[0].trim()), Integer.valueOf(parts[1].trim()) });
+		}
+		return scales;
+	}
+
+	private final int resources;
+	private final int linesPerSecond;
+	private final int seconds = Integer.getInteger(SECONDS_PROPERTY, DEFAULT_SECONDS);
+	private final PropertiesComponentGenerator component;
+	private final SadGenerator waveform;
+	private String domainName;
+	private String waveformFullName;
+	private final List<LineListener> listeners = new ArrayList<LineListener>();
+	private int tailConsoles = 0;
+
+	public ConsoleBenchmark(int resources, int linesPerSecond) {
+		this.resources = resources;
+		this.linesPerSecond = linesPerSecond;
+		String componentName = "ConsoleLog_" + Math.max(1, linesPerSecond / resources);
+		component = new PropertiesComponentGenerator(componentName).logRate(Math.max(1, linesPerSecond / resources));
+		waveform = new SadGenerator(String.format("ConsoleLog_%d_%d", resources, linesPerSecond)).components(resources);
+		waveform.component(String.format("/components/%s/%s.spd.xml", componentName, componentName), componentName + "_");
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException {
+		File domDir = SdrUiPlugin.getDefault().getTargetSdrDomPath().toFile();
+		component.write(new File(domDir, "components"));
+		waveform.write(new File(domDir, "waveforms"));
+		addSdrDomCleanupPath(new Path("/components/" + component.getName()));
+		addSdrDomCleanupPath(new Path("/waveforms/" + waveform.getName()));
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), TIMEOUT);
+
+		domainName = DomainPool.getInstance().acquire(bot, DEV_MGR);
+		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { domainName, "Device Managers", DEV_MGR }, GPP);
+	}
+
+	@After
+	public void afterBenchmark() throws InterruptedException {
+		removeListeners();
+		for (int i = 0; i < tailConsoles; i++) {
+			ConsoleUtils.stopLogging(bot, TAIL_LOG);
+		}
+		tailConsoles = 0;
+		bot.closeAllEditors();
+		if (domainName != null) {
+			DomainPool.getInstance().release(bot);
+			domainName = null;
+		}
+	}
+
+	@Test
+	public void log() throws IOException, UserException, InterruptedException {
+		ScaExplorerTestUtils.launchWaveformFromDomain(bot, domainName, waveform.getName());
+		String[] waveformsPath = new String[] { domainName, WAVEFORMS };
+		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, waveformsPath, waveform.getName());
+		waveformFullName = ScaExplorerTestUtils.getFullNameFromScaExplorer(bot, waveformsPath, waveform.getName());
+		RHBotGefEditor editor = new RHSWTGefBot().rhGefEditor(waveformFullName);
+
+		// Switch every component to TRACE, and tail its log
+		for (int i = 0; i < resources; i++) {
+			String instance = waveform.getInstanceName(i);
+			DiagramTestUtils.changeLogLevelFromDiagram(editor, instance, LogLevels.TRACE);
+			DiagramTestUtils.tailLog(editor, instance, "", LogLevels.TRACE);
+			tailConsoles++;
+		}
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return findConsoles(TAIL_LOG).size() >= resources;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Tail Log consoles did not open for every component";
+			}
+		}, TIMEOUT);
+		final LineListener process = new LineListener(findConsoles(DEV_MGR));
+		final LineListener tail = new LineListener(findConsoles(TAIL_LOG));
+		Assert.assertFalse("No process console for " + DEV_MGR, process.consoles.isEmpty());
+		addListeners(process, tail);
+
+		HeapSampler heap = new HeapSampler();
+		heap.sample();
+		LatencyHistogram uiResponse = new LatencyHistogram(LATENCY_RANGE);
+		ScaWaveform scaWaveform = findWaveform();
+		CpuTime cpu = CpuTime.start();
+		long start = System.nanoTime();
+		scaWaveform.start();
+		long end = start + seconds * 1000000000L;
+		while (System.nanoTime() < end) {
+			long probe = System.nanoTime();
+			Display.getDefault().syncExec(new Runnable() {
+				@Override
+				public void run() {
+				}
+			});
+			uiResponse.record((System.nanoTime() - probe) / 1000000);
+			Thread.sleep(PROBE_INTERVAL);
+		}
+		scaWaveform.stop();
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		cpu.stop();
+		long windowEnd = System.currentTimeMillis();
+		process.endWindow(windowEnd);
+		tail.endWindow(windowEnd);
+		long listenerMs = process.getListenerMs() + tail.getListenerMs();
+		long drainMs = drain(process, tail);
+		removeListeners();
+		heap.sample();
+		long processLines = process.getWindowLines();
+		long tailLines = tail.getWindowLines();
+
+		double elapsedSeconds = elapsed / 1000.0;
+		new BenchmarkTrend(BENCHMARK).param("resources", resources).param("linesPerSecond", linesPerSecond).param("seconds", seconds)
+			.metric("offeredLinesPerSecond", resources * Math.max(1, linesPerSecond / resources))
+			.metric("processLinesPerSecond", processLines / elapsedSeconds).metric("tailLinesPerSecond", tailLines / elapsedSeconds).metric("drainMs", drainMs)
+			.metric("processLatencyP50Ms", process.latency.getPercentileMs(50)).metric("processLatencyP99Ms", process.latency.getPercentileMs(99))
+			.metric("processLatencyMaxMs", process.latency.getMaxMs()).metric("tailLatencyP50Ms", tail.latency.getPercentileMs(50))
+			.metric("tailLatencyP99Ms", tail.latency.getPercentileMs(99)).metric("tailLatencyMaxMs", tail.latency.getMaxMs())
+			.metric("uiThreadMs", cpu.getUiThreadMs()).metric("listenerMs", listenerMs)
+			.metric("uiOccupancy", Math.max(0, cpu.getUiThreadMs() - listenerMs) / (double) elapsed)
+			.metric("uiResponseP99Ms", uiResponse.getPercentileMs(99)).metric("uiResponseMaxMs", uiResponse.getMaxMs())
+			.metric("processConsoleMb", process.getDocumentChars() * 2 / MB).metric("tailConsoleMb", tail.getDocumentChars() * 2 / MB)
+			.metric("heapGrowthMb", heap.getEndMb() - heap.getStartMb()).append();
+	}
+
+	/**
+	 * Waits until no more text has arrived for {@value #QUIET_PERIOD} ms.
+	 * @return Milliseconds until the last text arrived
+	 */
+	private static long drain(LineListener... lineListeners) throws InterruptedException {
+		long start = System.nanoTime();
+		long lastArrival = start;
+		while (System.nanoTime() - lastArrival < QUIET_PERIOD * 1000000 && System.nanoTime() - start < TIMEOUT * 1000000) {
+			Thread.sleep(PROBE_INTERVAL);
+			for (LineListener listener : lineListeners) {
+				lastArrival = Math.max(lastArrival, listener.getLastArrival());
+			}
+		}
+		return (lastArrival - start) / 1000000;
+	}
+
+	private ScaWaveform findWaveform() {
+		ScaDomainManager domMgr = ScaPlugin.getDefault().getDomainManagerRegistry(Display.getDefault()).findDomain(domainName);
+		for (ScaWaveform scaWaveform : domMgr.fetchWaveforms(new NullProgressMonitor(), RefreshDepth.NONE)) {
+			if (waveformFullName.equals(scaWaveform.getName())) {
+				return scaWaveform;
+			}
+		}
+		Assert.fail(waveformFullName + " is not in the domain");
+		return null;
+	}
+
+	private static List<TextConsole> findConsoles(final String name) {
+		return UIThreadRunnable.syncExec(new Result<List<TextConsole>>() {
+			@Override
+			public List<TextConsole> run() {
+				List<TextConsole> consoles = new ArrayList<TextConsole>();
+				for (IConsole console : ConsolePlugin.getDefault().getConsoleManager().getConsoles()) {
+					if (console instanceof TextConsole && console.getName().contains(name)) {
+						consoles.add((TextConsole) console);
+					}
+				}
+				return consoles;
+			}
+		});
+	}
+
+	private void addListeners(final LineListener... lineListeners) {
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				for (LineListener listener : lineListeners) {
+					listener.start();
+					for (TextConsole console : listener.consoles) {
+						console.getDocument().addDocumentListener(listener);
+					}
+					listeners.add(listener);
+				}
+			}
+		});
+	}
+
+	private void removeListeners() throws InterruptedException {
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				for (LineListener listener : listeners) {
+					for (TextConsole console : listener.consoles) {
+						console.getDocument().removeDocumentListener(listener);
+					}
+				}
+			}
+		});
+		for (LineListener listener : listeners) {
+			listener.stop();
+		}
+		listeners.clear();
+	}
+
+	/**
+	 * Records the latency of each benchmark log line as it's added to any of a set of console documents. The document
+	 * listener runs on the UI thread, so it only notes when the text arrived and queues it; the lines are parsed on a
+	 * background thread. Output can be appended part of a line at a time, so lines are only parsed once they're
+	 * complete (for each document separately). The time spent in the listener itself is kept, since it's included in
+	 * the UI thread's CPU time.
+	 */
+	private static class LineListener implements IDocumentListener, Runnable {
+
+		private static final Chunk END = new Chunk(null, 0, null);
+
+		private final List<TextConsole> consoles;
+		private final LatencyHistogram latency = new LatencyHistogram(LATENCY_RANGE);
+		private final BlockingQueue<Chunk> chunks = new LinkedBlockingQueue<Chunk>();
+		private final AtomicLong listenerNanos = new AtomicLong();
+		private final AtomicLong windowLines = new AtomicLong();
+		private volatile long lastArrival;
+		private volatile long cutoff = Long.MAX_VALUE;
+		private Thread parser;
+
+		LineListener(List<TextConsole> consoles) {
+			this.consoles = consoles;
+		}
+
+		void start() {
+			parser = new Thread(this, "Console benchmark line parser");
+			parser.setDaemon(true);
+			parser.start();
+		}
+
+		/**
+		 * Wait for the queued text to be parsed, and stop the parser. Call once the listener has been removed.
+		 */
+		void stop() throws InterruptedException {
+			if (parser != null) {
+				chunks.add(END);
+				parser.join(TIMEOUT);
+				parser = null;
+			}
+		}
+
+		/**
+		 * Lines which arrive after this time (see {@link System#currentTimeMillis()}) aren't counted in
+		 * {@link #getWindowLines()}.
+		 */
+		void endWindow(long millis) {
+			cutoff = millis;
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			long start = System.nanoTime();
+			String text = event.getText();
+			if (text != null && !text.isEmpty()) {
+				chunks.add(new Chunk(event.getDocument(), System.currentTimeMillis(), text));
+				lastArrival = start;
+			}
+			listenerNanos.addAndGet(System.nanoTime() - start);
+		}
+
+		@Override
+		public void run() {
+			Map<IDocument, StringBuilder> partials = new HashMap<IDocument, StringBuilder>();
+			try {
+				for (Chunk chunk = chunks.take(); chunk != END; chunk = chunks.take()) {
+					StringBuilder partial = partials.get(chunk.document);
+					if (partial == null) {
+						partial = new StringBuilder();
+						partials.put(chunk.document, partial);
+					}
+					partial.append(chunk.text);
+					parseLines(partial, chunk.arrived);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void parseLines(StringBuilder partial, long arrived) {
+			int lineStart = 0;
+			int lineEnd;
+			while ((lineEnd = partial.indexOf("\n", lineStart)) != -1) {
+				int prefix = partial.indexOf(PropertiesComponentGenerator.LOG_LINE_PREFIX, lineStart);
+				if (prefix != -1 && prefix < lineEnd) {
+					String[] fields = partial.substring(prefix, lineEnd).trim().split("\\s+");
+					if (fields.length >= 3) {
+						try {
+							latency.record(arrived - Long.parseLong(fields[2]));
+							if (arrived <= cutoff) {
+								windowLines.incrementAndGet();
+							}
+						} catch (NumberFormatException e) {
+							// PASS - the line was mangled (e.g. interleaved output); don't count it
+						}
+					}
+				}
+				lineStart = lineEnd + 1;
+			}
+			partial.delete(0, lineStart);
+		}
+
+		/**
+		 * @return The lines which arrived before {@link #endWindow(long)}
+		 */
+		long getWindowLines() {
+			return windowLines.get();
+		}
+
+		/**
+		 * @return When text last arrived (see {@link System#nanoTime()}), 0 if it hasn't
+		 */
+		long getLastArrival() {
+			return lastArrival;
+		}
+
+		/**
+		 * @return Time spent in {@link #documentChanged(DocumentEvent)} on the UI thread, in milliseconds
+		 */
+		long getListenerMs() {
+			return listenerNanos.get() / 1000000;
+		}
+
+		long getDocumentChars() {
+			return UIThreadRunnable.syncExec(new Result<Long>() {
+				@Override
+				public Long run() {
+					long chars = 0;
+					for (TextConsole console : consoles) {
+						chars += console.getDocument().getLength();
+					}
+					return chars;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Text appended to a console document, and when.
+	 */
+	private static class Chunk {
+
+		private final IDocument document;
+		private final long arrived;
+		private final String text;
+
+		Chunk(IDocument document, long arrived, String text) {
+			this.document = document;
+			this.arrived = arrived;
+			this.text = text;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.SWTBot;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.omg.CORBA.TCKind;
+
+import CF.PropertySetPackage.InvalidConfiguration;
+import CF.PropertySetPackage.PartialConfiguration;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.WaitForDataListAcquire;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.runtime.benchmarks.util.SandboxComponents;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.ViewUtils;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils.ComponentState;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+
+/**
+ * How long the DataList view takes to acquire a large number of samples from a port of rh.SigGen, and how much
+ * memory they take, as DataListTest does with 10 samples. Measured for each port (i.e. BULKIO type) and sample count:
+ * <ul>
+ * <li><code>acquireMs</code> - from "Start Acquire" until the acquisition finishes (see
+ * {@link WaitForDataListAcquire})</li>
+ * <li><code>renderMs</code> - scrolling the table to its last row and painting it</li>
+ * <li><code>bytesPerSample</code> - heap growth over the acquisition (see {@link HeapSampler}), per sample</li>
+ * </ul>
+ * SigGen's sample rate is raised to {@value #SAMPLE_RATE} so the larger acquisitions aren't waiting on its throttle.
+ * Results go to the <code>dataList</code> trend file (see {@link BenchmarkTrend}). System properties:
+ * <ul>
+ * <li>{@value #SAMPLES_PROPERTY} - comma separated sample counts (default {@value #DEFAULT_SAMPLES})</li>
+ * <li>{@value #PORTS_PROPERTY} - comma separated SigGen ports (default {@value #DEFAULT_PORTS})</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class DataListBenchmark extends UIRuntimeTest {
+
+	public static final String SAMPLES_PROPERTY = "gov.redhawk.ide.benchmark.dataListSamples";
+	public static final String PORTS_PROPERTY = "gov.redhawk.ide.benchmark.dataListPorts";
+	private static final String DEFAULT_SAMPLES = "1000,10000,100000,1000000";
+	private static final String DEFAULT_PORTS = "dataFloat_out,dataShort_out,dataDouble_out";
+
+	private static final String BENCHMARK = "dataList";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final String[] CHALKBOARD_PATH = { "Sandbox", "Chalkboard" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final String SIGGEN = "rh.SigGen";
+	private static final String SIGGEN_1 = "SigGen_1";
+	private static final double SAMPLE_RATE = 1000000;
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0}, {1} samples")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String port : System.getProperty(PORTS_PROPERTY, DEFAULT_PORTS).split(",")) {
+			for (String samples : System.getProperty(SAMPLES_PROPERTY, DEFAULT_SAMPLES).split(",")) {
+				sizes.add(new Object[] { port.trim(), Integer.valueOf(samples.trim()) });
+			}
+		}
+		return sizes;
+	}
+
+	private final String port;
+	private final int samples;
+	private SWTBotView dataListView;
+
+	public DataListBenchmark(String port, int samples) {
+		this.port = port;
+		this.samples = samples;
+	}
+
+	@Before
+	public void beforeBenchmark() throws InvalidConfiguration, PartialConfiguration {
+		RHBotGefEditor editor = DiagramTestUtils.openChalkboardDiagram(new RHSWTGefBot());
+		ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, SIGGEN, "cpp");
+		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, CHALKBOARD_PATH, SIGGEN_1);
+		DiagramTestUtils.waitForComponentState(bot, editor, SIGGEN_1, ComponentState.STOPPED);
+		SandboxComponents.configure(SIGGEN_1, "sample_rate", SAMPLE_RATE, TCKind.tk_double);
+
+		DiagramTestUtils.startComponentFromDiagram(editor, SIGGEN_1);
+		DiagramTestUtils.waitForComponentState(bot, editor, SIGGEN_1, ComponentState.STARTED);
+		DiagramTestUtils.displayDataListViewOnComponentPort(editor, SIGGEN_1, port);
+		dataListView = ViewUtils.getDataListView(bot);
+		dataListView.show();
+	}
+
+	@After
+	public void afterBenchmark() {
+		if (dataListView != null) {
+			dataListView.close();
+			dataListView = null;
+		}
+		bot.closeAllEditors();
+		ScaExplorerTestUtils.releaseFromScaExplorer(bot, SANDBOX_PATH, CHALKBOARD);
+		ScaExplorerTestUtils.waitUntilScaExplorerWaveformEmpty(bot, SANDBOX_PATH, CHALKBOARD);
+	}
+
+	@Test
+	public void acquire() throws IOException {
+		SWTBot dataListBot = dataListView.bot();
+		dataListBot.text(0).setText(String.valueOf(samples));
+		dataListBot.comboBoxWithLabel("Number of Dimensions:").setSelection(0);
+
+		HeapSampler heap = new HeapSampler();
+		heap.sample();
+		long start = System.nanoTime();
+		dataListBot.buttonWithTooltip(WaitForDataListAcquire.START_ACQUIRE).click();
+		bot.waitUntil(new WaitForDataListAcquire(dataListView, samples), TIMEOUT, 50);
+		long acquireMs = (System.nanoTime() - start) / 1000000;
+
+		// Scroll to the end of the table and paint it
+		final Table table = dataListBot.table(0).widget;
+		start = System.nanoTime();
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				table.setTopIndex(table.getItemCount() - 1);
+				table.update();
+			}
+		});
+		long renderMs = (System.nanoTime() - start) / 1000000;
+		heap.sample();
+
+		double bytesPerSample = (heap.getEndMb() - heap.getStartMb()) * 1024 * 1024 / samples;
+		new BenchmarkTrend(BENCHMARK).param("port", port).param("samples", samples).metric("acquireMs", acquireMs).metric("renderMs", renderMs)
+			.metric("heapStartMb", heap.getStartMb()).metric("heapEndMb", heap.getEndMb()).metric("bytesPerSample", bytesPerSample).append();
+	}
+}
@@ -0,0 +1,179 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkProjects;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.DiagramOpenTimer;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils.DiagramType;
+
+/**
+ * How long it takes to open waveform diagrams of increasing size, both in the waveform editor (generated SAD files,
+ * see {@link SadGenerator}) and in the chalkboard (the same number of components launched in the sandbox).
+ * <p/>
+ * Results go to the <code>diagramOpen</code> trend file (see {@link BenchmarkTrend}). System properties:
+ * <ul>
+ * <li>{@value #SIZES_PROPERTY} - comma separated component counts (default {@value #DEFAULT_SIZES})</li>
+ * <li>{@value #CHALKBOARD_MAX_PROPERTY} - the largest component count to launch in the chalkboard (default
+ * {@value #DEFAULT_CHALKBOARD_MAX}), since every component there is a process</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class DiagramOpenBenchmark extends UIRuntimeTest {
+
+	public static final String SIZES_PROPERTY = "gov.redhawk.ide.benchmark.diagramSizes";
+	public static final String CHALKBOARD_MAX_PROPERTY = "gov.redhawk.ide.benchmark.chalkboardMaxComponents";
+	private static final String DEFAULT_SIZES = "10,50,100,250,500,1000";
+	private static final String DEFAULT_CHALKBOARD_MAX = "100";
+
+	private static final String BENCHMARK = "diagramOpen";
+	private static final String[] CHALKBOARD_PARENT_PATH = { "Sandbox" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final String HARD_LIMIT = "rh.HardLimit";
+
+	/**
+	 * Host collocations group this many components
+	 */
+	private static final int COLLOCATION_SIZE = 10;
+	private static final long OPEN_TIMEOUT = 600000;
+	private static final long LAUNCH_TIMEOUT = 60000;
+
+	@Parameters(name = "{0} components")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+			sizes.add(new Object[] { Integer.valueOf(size.trim()) });
+		}
+		return sizes;
+	}
+
+	private final int components;
+	private RHSWTGefBot gefBot;
+	private IProject project;
+	private boolean chalkboardUsed = false;
+
+	public DiagramOpenBenchmark(int components) {
+		this.components = components;
+	}
+
+	@Before
+	public void beforeBenchmark() {
+		gefBot = new RHSWTGefBot();
+	}
+
+	@After
+	public void afterBenchmark() throws CoreException {
+		bot.closeAllEditors();
+		if (project != null) {
+			project.delete(true, true, new NullProgressMonitor());
+			project = null;
+		}
+		if (chalkboardUsed) {
+			ScaExplorerTestUtils.releaseFromScaExplorer(gefBot, CHALKBOARD_PARENT_PATH, CHALKBOARD);
+			ScaExplorerTestUtils.waitUntilScaExplorerWaveformEmpty(gefBot, CHALKBOARD_PARENT_PATH, CHALKBOARD);
+		}
+	}
+
+	/**
+	 * Open a generated SAD file in the Graphiti waveform editor.
+	 */
+	@Test
+	public void waveformEditor() throws Exception {
+		SadGenerator generator = new SadGenerator("DiagramOpen_" + components).components(components).connections(components - 1);
+		generator.collocationSize(COLLOCATION_SIZE);
+		final IFile sad = BenchmarkProjects.createWaveformProject(generator);
+		project = sad.getProject();
+
+		DiagramOpenTimer timer = new DiagramOpenTimer(gefBot);
+		timer.open(new Runnable() {
+			@Override
+			public void run() {
+				UIThreadRunnable.syncExec(new VoidResult() {
+					@Override
+					public void run() {
+						try {
+							IDE.openEditor(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage(), sad);
+						} catch (PartInitException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+				});
+			}
+		}, generator.getName(), components, components - 1, OPEN_TIMEOUT);
+
+		new BenchmarkTrend(BENCHMARK).param("diagram", "waveformEditor").param("components", components).param("connections", components - 1)
+			.param("collocationSize", COLLOCATION_SIZE).metric("firstPaintMs", timer.getFirstPaintMs())
+			.metric("allEditPartsMs", timer.getAllEditPartsMs()).append();
+	}
+
+	/**
+	 * Open the chalkboard with the components already running in the sandbox.
+	 */
+	@Test
+	public void chalkboard() throws Exception {
+		Assume.assumeTrue("Too many components to launch", components <= Integer.parseInt(System.getProperty(CHALKBOARD_MAX_PROPERTY, DEFAULT_CHALKBOARD_MAX)));
+		chalkboardUsed = true;
+
+		for (int i = 0; i < components; i++) {
+			ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, HARD_LIMIT, "cpp");
+		}
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return ScaDebugPlugin.getInstance().getLocalSca(null).getSandboxWaveform().getComponents().size() >= components;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Components did not all launch in the sandbox";
+			}
+		}, LAUNCH_TIMEOUT + components * 1000L);
+		bot.closeAllEditors();
+
+		DiagramOpenTimer timer = new DiagramOpenTimer(gefBot);
+		timer.open(new Runnable() {
+			@Override
+			public void run() {
+				ScaExplorerTestUtils.openDiagramFromScaExplorer(gefBot, CHALKBOARD_PARENT_PATH, CHALKBOARD, DiagramType.GRAPHITI_CHALKBOARD);
+			}
+		}, CHALKBOARD, components, 0, OPEN_TIMEOUT);
+
+		new BenchmarkTrend(BENCHMARK).param("diagram", "chalkboard").param("components", components).param("connections", 0)
+			.param("collocationSize", 0).metric("firstPaintMs", timer.getFirstPaintMs()).metric("allEditPartsMs", timer.getAllEditPartsMs()).append();
+	}
+}
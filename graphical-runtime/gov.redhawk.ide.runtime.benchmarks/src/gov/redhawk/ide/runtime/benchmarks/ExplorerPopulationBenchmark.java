@@ -0,0 +1,276 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.Conditions;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotShell;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.CpuTime;
+import gov.redhawk.ide.runtime.benchmarks.util.PropertiesComponentGenerator;
+import gov.redhawk.ide.swtbot.StandardTestActions;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubApplication;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubDeviceManager;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubDomain;
+import gov.redhawk.model.sca.RefreshDepth;
+import gov.redhawk.model.sca.ScaDomainManager;
+import gov.redhawk.sca.ScaPlugin;
+
+/**
+ * How the REDHAWK Explorer copes with a busy domain: dozens of device managers and hundreds of running waveforms. The
+ * domain is a {@link StubDomain}, so it can be populated at any scale without launching anything. Each component has
+ * a generated profile (see {@link PropertiesComponentGenerator}) declaring its ports.
+ * <p/>
+ * Measured at each scale:
+ * <ul>
+ * <li>connecting to the domain, and expanding the domain's Device Managers and Waveforms folders, one device manager,
+ * one waveform and one component, until all of their children are shown</li>
+ * <li>CPU time (all threads, and the UI thread alone) used while connecting and expanding</li>
+ * <li>wall-clock time, CPU time and UI-thread CPU time of a full refresh of the domain</li>
+ * </ul>
+ * The stub domain's servants run in the same JVM, so the CPU time used by the threads which dispatched calls to them
+ * (see {@link StubDomain#getServantThreadIds()}) is left out of the totals and reported separately
+ * (<code>populateServantCpuMs</code>, <code>refreshServantCpuMs</code>).
+ * Results go to the <code>explorerPopulation</code> trend file (see {@link BenchmarkTrend}). Scales are set with the
+ * system property {@value #SCALES_PROPERTY}: comma separated
+ * <code>deviceManagers/devicesEach/waveforms/componentsEach/portsEach</code> (default {@value #DEFAULT_SCALES}).
+ */
+@RunWith(Parameterized.class)
+public class ExplorerPopulationBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.explorerScales";
+	private static final String DEFAULT_SCALES = "2/5/10/5/2,12/10/100/5/4,36/10/300/10/4";
+
+	private static final String BENCHMARK = "explorerPopulation";
+	private static final String DEVICE_MANAGERS = "Device Managers";
+	private static final String WAVEFORMS = "Waveforms";
+	private static final String COMPONENT = "StubComponent";
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} device managers x {1} devices, {2} waveforms x {3} components x {4} ports")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			Object[] values = new Object[parts.length];
+			for (int i = 0; i < parts.length; i++) {
+				values[i] = Integer.valueOf(parts[i]);
+			}
+			scales.add(values);
+		}
+		return scales;
+	}
+
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
+
+	private final int deviceManagers;
+	private final int devices;
+	private final int waveforms;
+	private final int components;
+	private final int ports;
+	private final String domainName;
+	private OrbSessionPool.Lease lease;
+	private StubDomain stubDomain;
+	private File profileDir;
+
+	public ExplorerPopulationBenchmark(int deviceManagers, int devices, int waveforms, int components, int ports) {
+		this.deviceManagers = deviceManagers;
+		this.devices = devices;
+		this.waveforms = waveforms;
+		this.components = components;
+		this.ports = ports;
+		this.domainName = String.format("Explorer_%d_%d_%d_%d_%d", deviceManagers, devices, waveforms, components, ports);
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException, CoreException {
+		profileDir = Files.createTempDirectory("explorerBenchmark").toFile();
+		PropertiesComponentGenerator profile = new PropertiesComponentGenerator(COMPONENT).simples(1).usesPorts(ports);
+		String spd = profile.write(profileDir).toURI().toString();
+
+		lease = OrbSessionPool.getInstance().borrow(ExplorerPopulationBenchmark.class.getSimpleName());
+		stubDomain = new StubDomain(lease.getSession(), domainName).start();
+		for (int i = 0; i < deviceManagers; i++) {
+			StubDeviceManager devMgr = stubDomain.addDeviceManager(deviceManagerName(i));
+			for (int j = 0; j < devices; j++) {
+				devMgr.addDevice(String.format("device_%d_%d", i + 1, j + 1));
+			}
+		}
+		for (int i = 0; i < waveforms; i++) {
+			StubApplication application = stubDomain.addApplication(waveformName(i), "");
+			for (int j = 0; j < components; j++) {
+				application.addComponent(COMPONENT + "_" + (j + 1), spd, profile.getPortNames());
+			}
+		}
+	}
+
+	@After
+	public void afterBenchmark() {
+		StandardTestActions.cleanUpConnections();
+		if (stubDomain != null) {
+			stubDomain.dispose();
+			stubDomain = null;
+		}
+		if (lease != null) {
+			lease.close();
+			lease = null;
+		}
+		if (profileDir != null) {
+			delete(profileDir);
+			profileDir = null;
+		}
+	}
+
+	@Test
+	public void populate() throws IOException, InterruptedException {
+		CpuTime cpu = CpuTime.start();
+		long start = System.nanoTime();
+		connect();
+		long connectMs = (System.nanoTime() - start) / 1000000;
+
+		SWTBotTreeItem devMgrsItem = ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { domainName }, DEVICE_MANAGERS);
+		long devMgrsMs = expand(devMgrsItem, deviceManagers);
+		long devMgrMs = -1;
+		if (deviceManagers > 0) {
+			devMgrMs = expand(findChild(devMgrsItem, deviceManagerName(0)), devices);
+		}
+		SWTBotTreeItem waveformsItem = ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { domainName }, WAVEFORMS);
+		long waveformsMs = expand(waveformsItem, waveforms);
+		long waveformMs = -1;
+		long componentMs = -1;
+		if (waveforms > 0) {
+			SWTBotTreeItem waveformItem = findChild(waveformsItem, waveformName(0));
+			waveformMs = expand(waveformItem, components);
+			if (components > 0) {
+				componentMs = expand(waveformItem.getItems()[0], ports);
+			}
+		}
+		cpu.stop();
+
+		// A full refresh of everything which was just displayed
+		ScaDomainManager domMgr = ScaPlugin.getDefault().getDomainManagerRegistry(Display.getDefault()).findDomain(domainName);
+		CpuTime refreshCpu = CpuTime.start();
+		start = System.nanoTime();
+		domMgr.refresh(new NullProgressMonitor(), RefreshDepth.FULL);
+		flushUiThread();
+		long refreshMs = (System.nanoTime() - start) / 1000000;
+		refreshCpu.stop();
+		long populateServantMs = cpu.getThreadsMs(StubDomain.getServantThreadIds());
+		long refreshServantMs = refreshCpu.getThreadsMs(StubDomain.getServantThreadIds());
+
+		new BenchmarkTrend(BENCHMARK).param("deviceManagers", deviceManagers).param("devicesEach", devices).param("waveforms", waveforms)
+			.param("componentsEach", components).param("portsEach", ports).metric("connectMs", connectMs).metric("expandDeviceManagersMs", devMgrsMs)
+			.metric("expandDeviceManagerMs", devMgrMs).metric("expandWaveformsMs", waveformsMs).metric("expandWaveformMs", waveformMs)
+			.metric("expandComponentMs", componentMs).metric("populateCpuMs", cpu.getTotalMs() - populateServantMs)
+			.metric("populateUiThreadMs", cpu.getUiThreadMs()).metric("populateServantCpuMs", populateServantMs).metric("refreshMs", refreshMs)
+			.metric("refreshCpuMs", refreshCpu.getTotalMs() - refreshServantMs).metric("refreshUiThreadMs", refreshCpu.getUiThreadMs())
+			.metric("refreshServantCpuMs", refreshServantMs).append();
+	}
+
+	private void connect() {
+		bot.viewById(ScaExplorerTestUtils.SCA_EXPLORER_VIEW_ID).toolbarPushButton("New Domain Connection").click();
+		SWTBotShell shell = bot.shell("New Domain Manager");
+		shell.bot().textWithLabel("Display Name:").setText(domainName);
+		shell.bot().button("Finish").click();
+		bot.waitUntil(Conditions.shellCloses(shell));
+		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
+	}
+
+	/**
+	 * Expand a tree item and wait until it has the expected number of children.
+	 * @return Milliseconds taken
+	 */
+	private long expand(final SWTBotTreeItem item, final int children) {
+		long start = System.nanoTime();
+		item.expand();
+		bot.waitUntil(new DefaultCondition() {
+			private int count;
+
+			@Override
+			public boolean test() throws Exception {
+				count = item.rowCount();
+				return count >= children;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("%s has %d/%d children", item.getText(), count, children);
+			}
+		}, TIMEOUT, 50);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private SWTBotTreeItem findChild(SWTBotTreeItem parent, String prefix) {
+		for (SWTBotTreeItem child : parent.getItems()) {
+			if (child.getText().startsWith(prefix)) {
+				return child;
+			}
+		}
+		throw new IllegalStateException("No child of " + parent.getText() + " named " + prefix);
+	}
+
+	/**
+	 * Wait for the UI updates the model changes queued to be processed
+	 */
+	private void flushUiThread() {
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+			}
+		});
+	}
+
+	private static String deviceManagerName(int index) {
+		return "DevMgr_" + (index + 1);
+	}
+
+	private static String waveformName(int index) {
+		return String.format("Waveform_%04d", index + 1);
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		if (!file.delete()) {
+			file.deleteOnExit();
+		}
+	}
+}
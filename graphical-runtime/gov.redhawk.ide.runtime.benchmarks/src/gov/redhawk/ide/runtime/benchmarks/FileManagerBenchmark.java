@@ -0,0 +1,219 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.Result;
+import org.eclipse.swtbot.swt.finder.waits.Conditions;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotShell;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.swtbot.StandardTestActions;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubDomain;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubFileManager;
+import gov.redhawk.model.sca.ScaFileStore;
+
+/**
+ * Browsing huge directories through a domain's "File Manager" node in the REDHAWK Explorer, as FileManagerTest does
+ * with a single directory. A directory of N files, nested D levels deep, is created in <code>sdrdom:</code>; a
+ * {@link StubDomain} serves <code>sdrdom:</code> as its file system (as a domain launched from the Target SDR would)
+ * through a {@link StubFileManager}, which counts the remote <code>list</code> calls. Measured:
+ * <ul>
+ * <li><code>expandLevelsMs</code> - expanding each of the directories leading to the files</li>
+ * <li><code>expandMs</code> - expanding the directory of files, until all N are shown</li>
+ * <li><code>listCalls</code> / <code>expandListCalls</code> - remote <code>list</code> calls for the whole browse / the
+ * directory of files alone</li>
+ * <li><code>heapMb</code> / <code>bytesPerFile</code> - the live heap held once the files are shown (see
+ * {@link HeapSampler}), i.e. by the {@link ScaFileStore} children and their tree items</li>
+ * </ul>
+ * Results go to the <code>fileManager</code> trend file (see {@link BenchmarkTrend}). Scales are set with the system
+ * property {@value #SCALES_PROPERTY}: comma separated <code>files/depth</code> (default {@value #DEFAULT_SCALES}).
+ */
+@RunWith(Parameterized.class)
+public class FileManagerBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.fileManagerScales";
+	private static final String DEFAULT_SCALES = "1000/1,10000/1,100000/1,1000/20";
+
+	private static final String BENCHMARK = "fileManager";
+	private static final String FILE_MANAGER = "File Manager";
+	private static final String ROOT_DIR = "fileManagerBenchmark";
+	private static final String DATA_DIR = "data";
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} files, depth {1}")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			scales.add(new Object[] { Integer.valueOf(parts[0].trim()), Integer.valueOf(parts[1].trim()) });
+		}
+		return scales;
+	}
+
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
+
+	private final int files;
+	private final int depth;
+	private final String domainName;
+	private OrbSessionPool.Lease lease;
+	private StubDomain stubDomain;
+	private StubFileManager fileManager;
+
+	/**
+	 * @param files The number of files in the directory
+	 * @param depth How many directories deep the directory of files is (1 is directly in the root directory)
+	 */
+	public FileManagerBenchmark(int files, int depth) {
+		this.files = files;
+		this.depth = depth;
+		this.domainName = String.format("FileManager_%d_%d", files, depth);
+	}
+
+	@Before
+	public void beforeBenchmark() throws CoreException, IOException {
+		// Create the directories in sdrdom:, and the files directly on disk
+		StringBuilder path = new StringBuilder("/" + ROOT_DIR);
+		for (int i = 1; i < depth; i++) {
+			path.append("/level_").append(i);
+		}
+		path.append('/').append(DATA_DIR);
+		IFileStore dataDir = EFS.getStore(URI.create("sdrdom:" + path));
+		dataDir.mkdir(EFS.NONE, null);
+		addSdrDomCleanupPath(new Path("/" + ROOT_DIR));
+		File localDataDir = dataDir.toLocalFile(EFS.NONE, null);
+		byte[] contents = "capture\n".getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < files; i++) {
+			OutputStream out = new FileOutputStream(new File(localDataDir, String.format("capture_%06d.tmp", i)));
+			try {
+				out.write(contents);
+			} finally {
+				out.close();
+			}
+		}
+
+		lease = OrbSessionPool.getInstance().borrow(FileManagerBenchmark.class.getSimpleName());
+		stubDomain = new StubDomain(lease.getSession(), domainName).start();
+		fileManager = stubDomain.setFileManager(EFS.getStore(URI.create("sdrdom:/")).toLocalFile(EFS.NONE, null));
+	}
+
+	@After
+	public void afterBenchmark() {
+		StandardTestActions.cleanUpConnections();
+		if (stubDomain != null) {
+			stubDomain.dispose();
+			stubDomain = null;
+		}
+		if (lease != null) {
+			lease.close();
+			lease = null;
+		}
+	}
+
+	@Test
+	public void browse() throws IOException {
+		connect();
+		int listCallsStart = fileManager.getListCount();
+		HeapSampler heap = new HeapSampler();
+		heap.sample();
+
+		long start = System.nanoTime();
+		List<String> parentPath = new ArrayList<String>(Arrays.asList(domainName, FILE_MANAGER));
+		for (int i = 0; i < depth; i++) {
+			String dir = (i == 0) ? ROOT_DIR : "level_" + i;
+			ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, parentPath.toArray(new String[parentPath.size()]), dir);
+			parentPath.add(dir);
+		}
+		final SWTBotTreeItem item = ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, parentPath.toArray(new String[parentPath.size()]), DATA_DIR);
+		long expandLevelsMs = (System.nanoTime() - start) / 1000000;
+
+		int expandListCallsStart = fileManager.getListCount();
+		start = System.nanoTime();
+		expand(item, files);
+		long expandMs = (System.nanoTime() - start) / 1000000;
+		int listCallsEnd = fileManager.getListCount();
+		heap.sample();
+
+		// Check the ScaFileStore for the directory holds every file
+		int storeChildren = UIThreadRunnable.syncExec(new Result<Integer>() {
+			@Override
+			public Integer run() {
+				Object data = item.widget.getData();
+				return (data instanceof ScaFileStore) ? ((ScaFileStore) data).getChildren().size() : -1;
+			}
+		});
+
+		double heapMb = heap.getEndMb() - heap.getStartMb();
+		new BenchmarkTrend(BENCHMARK).param("files", files).param("depth", depth).metric("expandLevelsMs", expandLevelsMs).metric("expandMs", expandMs)
+			.metric("listCalls", listCallsEnd - listCallsStart).metric("expandListCalls", listCallsEnd - expandListCallsStart)
+			.metric("storeChildren", storeChildren).metric("heapMb", heapMb).metric("bytesPerFile", heapMb * 1024 * 1024 / files).append();
+	}
+
+	private void connect() {
+		bot.viewById(ScaExplorerTestUtils.SCA_EXPLORER_VIEW_ID).toolbarPushButton("New Domain Connection").click();
+		SWTBotShell shell = bot.shell("New Domain Manager");
+		shell.bot().textWithLabel("Display Name:").setText(domainName);
+		shell.bot().button("Finish").click();
+		bot.waitUntil(Conditions.shellCloses(shell));
+		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
+	}
+
+	/**
+	 * Expand a tree item and wait until it has the expected number of children.
+	 */
+	private void expand(final SWTBotTreeItem item, final int children) {
+		item.expand();
+		bot.waitUntil(new DefaultCondition() {
+			private int count;
+
+			@Override
+			public boolean test() throws Exception {
+				count = item.rowCount();
+				return count >= children;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("%s has %d/%d children", item.getText(), count, children);
+			}
+		}, TIMEOUT, 50);
+	}
+}
@@ -0,0 +1,312 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.exceptions.WidgetNotFoundException;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.omg.CORBA.UserException;
+import org.omg.CosNaming.NameComponent;
+import org.omg.CosNaming.NamingContext;
+import org.omg.CosNaming.NamingContextHelper;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.swtbot.StandardTestActions;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.ViewUtils;
+import gov.redhawk.ide.ui.tests.runtime.stubs.CountingNamingContext;
+
+/**
+ * The CORBA Name Browser view with a large naming tree, as CorbaNameBrowserTest does with a single name. A tree of
+ * naming contexts (B contexts per level, D levels deep) is bound in the naming service, with N object names in each of
+ * the deepest contexts. The view browses the tree through {@link CountingNamingContext} wrappers, which count its
+ * <code>list</code> calls. Measured:
+ * <ul>
+ * <li><code>connectMs</code> - connecting the view to the naming service, until the tree's root context is shown</li>
+ * <li><code>expandMeanMs</code> / <code>expandMaxMs</code> / <code>expandLeafMs</code> - expanding each level down to
+ * one of the deepest contexts, until all of its children are shown (mean and worst over the contexts, and the deepest
+ * context alone)</li>
+ * <li><code>unbindMs</code> - unbinding one name and refreshing just its context, until the name is gone. The test
+ * fails if refreshing the context lists any context but that one (<code>unbindListCalls</code>), i.e. if it re-lists
+ * the rest of the tree.</li>
+ * <li><code>refreshMs</code> - refreshing the whole view, until the deepest context's names are shown again, and the
+ * contexts it listed (<code>refreshListCalls</code>)</li>
+ * </ul>
+ * Results go to the <code>nameBrowser</code> trend file (see {@link BenchmarkTrend}). Scales are set with the system
+ * property {@value #SCALES_PROPERTY}: comma separated <code>branching/depth/namesEach</code> (default
+ * {@value #DEFAULT_SCALES}).
+ */
+@RunWith(Parameterized.class)
+public class NameBrowserBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.nameBrowserScales";
+	private static final String DEFAULT_SCALES = "10/2/100,10/3/20,4/6/10,10/3/500";
+
+	private static final String BENCHMARK = "nameBrowser";
+	private static final String HOST = "127.0.0.1";
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} contexts per level, depth {1}, {2} names each")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			Object[] values = new Object[parts.length];
+			for (int i = 0; i < parts.length; i++) {
+				values[i] = Integer.valueOf(parts[i].trim());
+			}
+			scales.add(values);
+		}
+		return scales;
+	}
+
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
+
+	private final int branching;
+	private final int depth;
+	private final int names;
+	private final String rootName;
+	private OrbSessionPool.Lease lease;
+	private NamingContext nameService;
+	private NamingContext root;
+	private CountingNamingContext counting;
+	private org.omg.CORBA.Object boundObject;
+
+	public NameBrowserBenchmark(int branching, int depth, int names) {
+		this.branching = branching;
+		this.depth = depth;
+		this.names = names;
+		this.rootName = String.format("NameBrowser_%d_%d_%d", branching, depth, names);
+	}
+
+	@Before
+	public void beforeBenchmark() throws UserException {
+		lease = OrbSessionPool.getInstance().borrow(NameBrowserBenchmark.class.getSimpleName());
+		boundObject = lease.getSession().getOrb().resolve_initial_references("NameService");
+		nameService = NamingContextHelper.narrow(boundObject);
+		root = nameService.new_context();
+		bindTree(root, 1);
+		counting = new CountingNamingContext(lease.getSession());
+		nameService.bind_context(name(rootName), counting.wrap(root));
+	}
+
+	@After
+	public void afterBenchmark() throws UserException {
+		SWTBotView view = ViewUtils.getCorbaNameBrowserView(bot);
+		if (view.bot().tree().hasItems()) {
+			view.bot().tree().select(0).contextMenu("Disconnect").click();
+		}
+		ViewUtils.getExplorerView(bot).show();
+
+		if (root != null) {
+			nameService.unbind(name(rootName));
+			unbindTree(root, 1);
+			root.destroy();
+			root = null;
+		}
+		if (counting != null) {
+			counting.dispose();
+			counting = null;
+		}
+		if (lease != null) {
+			lease.close();
+			lease = null;
+		}
+	}
+
+	@Test
+	public void browse() throws IOException, UserException {
+		final SWTBotView view = ViewUtils.getCorbaNameBrowserView(bot);
+		view.show();
+		long start = System.nanoTime();
+		if (view.bot().tree().hasItems()) {
+			view.bot().tree().select(0).contextMenu("Refresh").click();
+		} else {
+			view.bot().buttonWithTooltip("Connect to the specified host").click();
+		}
+		List<String> path = new ArrayList<String>();
+		path.add(HOST);
+		path.add(rootName);
+		SWTBotTreeItem item = StandardTestActions.waitForTreeItemToAppear(bot, view.bot().tree(), path);
+		long connectMs = (System.nanoTime() - start) / 1000000;
+
+		// Expand down the first context of each level
+		long totalMs = 0;
+		long maxMs = 0;
+		long leafMs = 0;
+		for (int level = 1; level <= depth; level++) {
+			leafMs = expand(item, lastChild(level));
+			totalMs += leafMs;
+			maxMs = Math.max(maxMs, leafMs);
+			if (level < depth) {
+				item = item.getNode(contextId(0));
+				path.add(contextId(0));
+			}
+		}
+		SWTBotTreeItem leaf = item;
+
+		// Expand another context too, so re-listing the tree would have more than the leaf to list
+		if (branching > 1 && depth > 1) {
+			List<String> otherPath = new ArrayList<String>(path.subList(0, path.size() - 1));
+			otherPath.add(contextId(1));
+			SWTBotTreeItem other = StandardTestActions.waitForTreeItemToAppear(bot, view.bot().tree(), otherPath);
+			expand(other, lastChild(depth));
+		}
+
+		// Unbind a name and refresh only its context, which should be the only context listed
+		NamingContext leafContext = resolveFirstLeaf();
+		int listCount = counting.getListCount();
+		start = System.nanoTime();
+		leafContext.unbind(name(nameId(0)));
+		leaf.select();
+		leaf.contextMenu("Refresh").click();
+		waitForRemoval(leaf, nameId(0));
+		long unbindMs = (System.nanoTime() - start) / 1000000;
+		int unbindListCalls = counting.getListCount() - listCount;
+		Assert.assertEquals("Naming contexts listed when refreshing one context", 1, unbindListCalls);
+
+		// Full refresh
+		listCount = counting.getListCount();
+		start = System.nanoTime();
+		view.bot().tree().select(0).contextMenu("Refresh").click();
+		path.add(nameId(names - 1));
+		StandardTestActions.waitForTreeItemToAppear(bot, view.bot().tree(), path);
+		long refreshMs = (System.nanoTime() - start) / 1000000;
+		int refreshListCalls = counting.getListCount() - listCount;
+
+		int totalNames = (int) Math.pow(branching, depth - 1) * names;
+		new BenchmarkTrend(BENCHMARK).param("branching", branching).param("depth", depth).param("namesEach", names).param("names", totalNames)
+			.metric("connectMs", connectMs).metric("expandMeanMs", totalMs / depth).metric("expandMaxMs", maxMs).metric("expandLeafMs", leafMs)
+			.metric("unbindMs", unbindMs).metric("unbindListCalls", unbindListCalls).metric("refreshMs", refreshMs)
+			.metric("refreshListCalls", refreshListCalls).append();
+	}
+
+	/**
+	 * Expand a tree item and wait until its last child is shown.
+	 * @return Milliseconds taken
+	 */
+	private long expand(final SWTBotTreeItem item, final String lastChild) {
+		long start = System.nanoTime();
+		item.expand();
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				try {
+					item.getNode(lastChild);
+					return true;
+				} catch (WidgetNotFoundException e) {
+					return false;
+				}
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("%s has %d children, not including %s", item.getText(), item.rowCount(), lastChild);
+			}
+		}, TIMEOUT, 50);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private void waitForRemoval(final SWTBotTreeItem item, final String child) {
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				try {
+					item.getNode(child);
+					return false;
+				} catch (WidgetNotFoundException e) {
+					return item.rowCount() == names - 1;
+				}
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("%s was not removed from %s", child, item.getText());
+			}
+		}, TIMEOUT, 50);
+	}
+
+	/**
+	 * The contexts on levels 1 to depth - 1 each hold {@link #branching} contexts; those on the last level hold
+	 * {@link #names} object bindings.
+	 */
+	private void bindTree(NamingContext context, int level) throws UserException {
+		if (level == depth) {
+			for (int i = 0; i < names; i++) {
+				context.bind(name(nameId(i)), boundObject);
+			}
+			return;
+		}
+		for (int i = 0; i < branching; i++) {
+			bindTree(context.bind_new_context(name(contextId(i))), level + 1);
+		}
+	}
+
+	private void unbindTree(NamingContext context, int level) throws UserException {
+		if (level == depth) {
+			for (int i = 0; i < names; i++) {
+				try {
+					context.unbind(name(nameId(i)));
+				} catch (org.omg.CosNaming.NamingContextPackage.NotFound e) {
+					// PASS - already unbound by the test
+				}
+			}
+			return;
+		}
+		for (int i = 0; i < branching; i++) {
+			NamingContext child = NamingContextHelper.narrow(context.resolve(name(contextId(i))));
+			unbindTree(child, level + 1);
+			context.unbind(name(contextId(i)));
+			child.destroy();
+		}
+	}
+
+	private NamingContext resolveFirstLeaf() throws UserException {
+		NamingContext context = root;
+		for (int level = 1; level < depth; level++) {
+			context = NamingContextHelper.narrow(context.resolve(name(contextId(0))));
+		}
+		return context;
+	}
+
+	private String lastChild(int level) {
+		return (level == depth) ? nameId(names - 1) : contextId(branching - 1);
+	}
+
+	private static NameComponent[] name(String id) {
+		return new NameComponent[] { new NameComponent(id, "") };
+	}
+
+	private static String contextId(int index) {
+		return "ctx_" + index;
+	}
+
+	private static String nameId(int index) {
+		return "name_" + index;
+	}
+}
@@ -0,0 +1,227 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkProjects;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.runtime.benchmarks.util.SdrRootGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.PaletteUtils;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+
+/**
+ * The palette filter of AbstractPaletteTest (both the design-time and runtime versions), against a Target SDR holding
+ * thousands of namespaced components (see {@link SdrRootGenerator}). For the waveform editor and the chalkboard:
+ * <ul>
+ * <li><code>paletteBuildMs</code> - from opening the diagram until the last generated component is in the palette</li>
+ * <li><code>keystrokeMeanMs</code> / <code>keystrokeMaxMs</code> - typing the last component's full name into the
+ * filter one character at a time, the time from each update of the filter text until the palette reflects it (the
+ * component is shown, and a generated component which doesn't match is hidden)</li>
+ * <li><code>clearMs</code> - clearing the filter until a non-matching component is shown again</li>
+ * </ul>
+ * The polling done to detect the palette's state is included in the times, so they are comparable between runs
+ * rather than absolute.
+ * <p/>
+ * Results go to the <code>paletteFilter</code> trend file (see {@link BenchmarkTrend}). System properties:
+ * <ul>
+ * <li>{@value #SIZES_PROPERTY} - comma separated component counts (default {@value #DEFAULT_SIZES})</li>
+ * <li>{@value #NAMESPACES_PROPERTY} - how many namespaces the components are spread over (default
+ * {@value #DEFAULT_NAMESPACES})</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class PaletteBenchmark extends UIRuntimeTest {
+
+	public static final String SIZES_PROPERTY = "gov.redhawk.ide.benchmark.paletteSizes";
+	public static final String NAMESPACES_PROPERTY = "gov.redhawk.ide.benchmark.paletteNamespaces";
+	private static final String DEFAULT_SIZES = "500,2000,5000";
+	private static final String DEFAULT_NAMESPACES = "50";
+
+	private static final String BENCHMARK = "paletteFilter";
+	private static final String ROOT_NAMESPACE = "bench";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final long SDR_LOAD_TIMEOUT = 600000;
+	private static final long TIMEOUT = 120000;
+
+	@Parameters(name = "{0}, {1} components")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+			for (String target : new String[] { "waveformEditor", "chalkboard" }) {
+				sizes.add(new Object[] { target, Integer.valueOf(size.trim()) });
+			}
+		}
+		return sizes;
+	}
+
+	private final String target;
+	private final int components;
+	private RHSWTGefBot gefBot;
+	private SdrRootGenerator generator;
+	private IProject project;
+
+	public PaletteBenchmark(String target, int components) {
+		this.target = target;
+		this.components = components;
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException {
+		gefBot = new RHSWTGefBot();
+		int namespaces = Integer.parseInt(System.getProperty(NAMESPACES_PROPERTY, DEFAULT_NAMESPACES));
+		generator = new SdrRootGenerator(ROOT_NAMESPACE).components(components).namespaces(namespaces);
+
+		// Install the components to the Target SDR
+		generator.writeComponents(SdrUiPlugin.getDefault().getTargetSdrDomPath().append("components").toFile());
+		addSdrDomCleanupPath(new Path("/components/" + ROOT_NAMESPACE));
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), SDR_LOAD_TIMEOUT);
+	}
+
+	@After
+	public void afterBenchmark() throws CoreException {
+		bot.closeAllEditors();
+		if (project != null) {
+			project.delete(true, true, new NullProgressMonitor());
+			project = null;
+		}
+		if ("chalkboard".equals(target)) {
+			ScaExplorerTestUtils.releaseFromScaExplorer(gefBot, SANDBOX_PATH, CHALKBOARD);
+			ScaExplorerTestUtils.waitUntilScaExplorerWaveformEmpty(gefBot, SANDBOX_PATH, CHALKBOARD);
+		}
+	}
+
+	@Test
+	public void filter() throws CoreException, IOException {
+		String targetName = generator.getComponentName(components - 1);
+
+		long start = System.nanoTime();
+		RHBotGefEditor editor = openDiagram();
+		bot.waitUntil(new WaitForPalette(editor, targetName, null), TIMEOUT, 10);
+		long paletteBuildMs = (System.nanoTime() - start) / 1000000;
+
+		long totalMs = 0;
+		long maxMs = 0;
+		for (int length = 1; length <= targetName.length(); length++) {
+			String filter = targetName.substring(0, length);
+			String hidden = findNonMatching(filter);
+			start = System.nanoTime();
+			PaletteUtils.setFilter(editor, filter);
+			bot.waitUntil(new WaitForPalette(editor, targetName, hidden), TIMEOUT, 10);
+			long ms = (System.nanoTime() - start) / 1000000;
+			totalMs += ms;
+			maxMs = Math.max(maxMs, ms);
+		}
+
+		String hidden = findNonMatching(targetName);
+		start = System.nanoTime();
+		PaletteUtils.setFilter(editor, "");
+		bot.waitUntil(new WaitForPalette(editor, hidden, null), TIMEOUT, 10);
+		long clearMs = (System.nanoTime() - start) / 1000000;
+
+		new BenchmarkTrend(BENCHMARK).param("diagram", target).param("components", components).metric("paletteBuildMs", paletteBuildMs)
+			.metric("keystrokeMeanMs", totalMs / targetName.length()).metric("keystrokeMaxMs", maxMs).metric("clearMs", clearMs).append();
+	}
+
+	private RHBotGefEditor openDiagram() throws CoreException {
+		if ("chalkboard".equals(target)) {
+			return DiagramTestUtils.openChalkboardDiagram(gefBot);
+		}
+		SadGenerator sadGenerator = new SadGenerator("Palette_" + components).components(1);
+		final IFile sad = BenchmarkProjects.createWaveformProject(sadGenerator);
+		project = sad.getProject();
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				try {
+					IDE.openEditor(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage(), sad);
+				} catch (PartInitException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		return gefBot.rhGefEditor(sadGenerator.getName());
+	}
+
+	/**
+	 * @return A generated component whose name doesn't contain the filter (which is case-insensitive), or null if
+	 * they all do
+	 */
+	private String findNonMatching(String filter) {
+		String lowerFilter = filter.toLowerCase(Locale.US);
+		for (String name : generator.getComponentNames()) {
+			if (!name.toLowerCase(Locale.US).contains(lowerFilter)) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Waits until one tool is in the palette and, optionally, another isn't.
+	 */
+	private static class WaitForPalette extends DefaultCondition {
+
+		private final RHBotGefEditor editor;
+		private final String shown;
+		private final String hidden;
+
+		WaitForPalette(RHBotGefEditor editor, String shown, String hidden) {
+			this.editor = editor;
+			this.shown = shown;
+			this.hidden = hidden;
+		}
+
+		@Override
+		public boolean test() throws Exception {
+			return PaletteUtils.toolIsPresent(editor, shown) && (hidden == null || !PaletteUtils.toolIsPresent(editor, hidden));
+		}
+
+		@Override
+		public String getFailureMessage() {
+			if (hidden == null) {
+				return shown + " is not in the palette";
+			}
+			return String.format("Palette did not show %s and hide %s", shown, hidden);
+		}
+	}
+}
@@ -0,0 +1,193 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.omg.CORBA.TCKind;
+
+import CF.PropertySetPackage.InvalidConfiguration;
+import CF.PropertySetPackage.PartialConfiguration;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.SandboxLaunchBatch;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.CpuTime;
+import gov.redhawk.ide.runtime.benchmarks.util.PaintCounter;
+import gov.redhawk.ide.runtime.benchmarks.util.SandboxComponents;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils.ComponentState;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+
+/**
+ * Sustained live plotting, as PlottingTest does with one plot of SigGen_1.dataFloat_out. One or more rh.SigGen
+ * instances are launched in the chalkboard, each configured with the sample rate and frame size (<code>xfer_len</code>)
+ * under test, and each output is plotted in its own Plot view. After a warm-up, measured over a fixed period:
+ * <ul>
+ * <li><code>fps</code> / <code>minFps</code> - repaints per second of the plots (mean / slowest plot, see
+ * {@link PaintCounter})</li>
+ * <li><code>unpaintedPacketsPerSec</code> - how many fewer repaints than packets sent a plot had, per second (mean).
+ * Each SigGen sends <code>sampleRate / frameSize</code> packets a second. This is a paint shortfall, not packet loss: the
+ * plot may have received the packets and drawn several in one repaint.</li>
+ * <li><code>uiOccupancy</code> - UI thread CPU time as a fraction of the period</li>
+ * </ul>
+ * Results go to the <code>plot</code> trend file (see {@link BenchmarkTrend}). System properties (comma separated):
+ * <ul>
+ * <li>{@value #RATES_PROPERTY} - sample rates (default {@value #DEFAULT_RATES})</li>
+ * <li>{@value #FRAMES_PROPERTY} - frame sizes (default {@value #DEFAULT_FRAMES})</li>
+ * <li>{@value #PLOTS_PROPERTY} - numbers of simultaneous plots (default {@value #DEFAULT_PLOTS})</li>
+ * <li>{@value #SECONDS_PROPERTY} - how long to measure for (default {@value #DEFAULT_SECONDS})</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class PlotBenchmark extends UIRuntimeTest {
+
+	public static final String RATES_PROPERTY = "gov.redhawk.ide.benchmark.plotRates";
+	public static final String FRAMES_PROPERTY = "gov.redhawk.ide.benchmark.plotFrames";
+	public static final String PLOTS_PROPERTY = "gov.redhawk.ide.benchmark.plots";
+	public static final String SECONDS_PROPERTY = "gov.redhawk.ide.benchmark.plotSeconds";
+	private static final String DEFAULT_RATES = "100000,1000000,10000000";
+	private static final String DEFAULT_FRAMES = "1024,16384";
+	private static final String DEFAULT_PLOTS = "1,4";
+	private static final String DEFAULT_SECONDS = "30";
+
+	private static final String BENCHMARK = "plot";
+	private static final String PLOT_VIEW_ID = "gov.redhawk.ui.port.nxmplot.PlotView2";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final String SIGGEN = "rh.SigGen";
+	private static final String SIGGEN_PREFIX = "SigGen_";
+	private static final String SIGGEN_OUT = "dataFloat_out";
+	private static final long WARM_UP = 5000;
+	private static final long TIMEOUT = 120000;
+
+	@Parameters(name = "{0} plots, {1} samples/s, {2} samples/frame")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String plots : System.getProperty(PLOTS_PROPERTY, DEFAULT_PLOTS).split(",")) {
+			for (String rate : System.getProperty(RATES_PROPERTY, DEFAULT_RATES).split(",")) {
+				for (String frame : System.getProperty(FRAMES_PROPERTY, DEFAULT_FRAMES).split(",")) {
+					sizes.add(new Object[] { Integer.valueOf(plots.trim()), Integer.valueOf(rate.trim()), Integer.valueOf(frame.trim()) });
+				}
+			}
+		}
+		return sizes;
+	}
+
+	private final int plots;
+	private final int sampleRate;
+	private final int frameSize;
+	private final List<SWTBotView> plotViews = new ArrayList<SWTBotView>();
+
+	public PlotBenchmark(int plots, int sampleRate, int frameSize) {
+		this.plots = plots;
+		this.sampleRate = sampleRate;
+		this.frameSize = frameSize;
+	}
+
+	@Before
+	public void beforeBenchmark() throws InvalidConfiguration, PartialConfiguration {
+		RHBotGefEditor editor = DiagramTestUtils.openChalkboardDiagram(new RHSWTGefBot());
+		SandboxLaunchBatch batch = new SandboxLaunchBatch(bot);
+		for (int i = 1; i <= plots; i++) {
+			batch.add(SIGGEN, "cpp", SIGGEN_PREFIX + i);
+		}
+		batch.launchAndWait(editor, TIMEOUT);
+
+		for (int i = 1; i <= plots; i++) {
+			String name = SIGGEN_PREFIX + i;
+			SandboxComponents.configure(name, "sample_rate", (double) sampleRate, TCKind.tk_double);
+			SandboxComponents.configure(name, "xfer_len", frameSize, TCKind.tk_long);
+			DiagramTestUtils.startComponentFromDiagram(editor, name);
+			DiagramTestUtils.waitForComponentState(bot, editor, name, ComponentState.STARTED);
+			DiagramTestUtils.plotPortDataOnComponentPort(editor, name, SIGGEN_OUT);
+		}
+
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				plotViews.clear();
+				for (SWTBotView view : bot.views()) {
+					if (PLOT_VIEW_ID.equals(view.getReference().getId())) {
+						plotViews.add(view);
+					}
+				}
+				return plotViews.size() >= plots;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("%d/%d plots opened", plotViews.size(), plots);
+			}
+		}, TIMEOUT);
+	}
+
+	@After
+	public void afterBenchmark() {
+		for (SWTBotView view : plotViews) {
+			view.close();
+		}
+		plotViews.clear();
+		bot.closeAllEditors();
+		ScaExplorerTestUtils.releaseFromScaExplorer(bot, SANDBOX_PATH, CHALKBOARD);
+		ScaExplorerTestUtils.waitUntilScaExplorerWaveformEmpty(bot, SANDBOX_PATH, CHALKBOARD);
+	}
+
+	@Test
+	public void sustainedRate() throws IOException {
+		long seconds = Long.parseLong(System.getProperty(SECONDS_PROPERTY, DEFAULT_SECONDS));
+		bot.sleep(WARM_UP);
+
+		// Count repaints inside each plot view
+		Control[] viewControls = new Control[plotViews.size()];
+		for (int i = 0; i < viewControls.length; i++) {
+			viewControls[i] = (Control) plotViews.get(i).getWidget();
+		}
+		PaintCounter paints = new PaintCounter(viewControls);
+		paints.start();
+		CpuTime cpu = CpuTime.start();
+		long start = System.nanoTime();
+		try {
+			bot.sleep(seconds * 1000);
+			cpu.stop();
+		} finally {
+			paints.stop();
+		}
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		double packetsPerSec = (double) sampleRate / frameSize;
+		double totalFps = 0;
+		double minFps = Double.MAX_VALUE;
+		double unpainted = 0;
+		for (int i = 0; i < paints.size(); i++) {
+			double fps = paints.getCount(i) / elapsed;
+			totalFps += fps;
+			minFps = Math.min(minFps, fps);
+			unpainted += Math.max(0, packetsPerSec - fps);
+		}
+		new BenchmarkTrend(BENCHMARK).param("plots", plots).param("sampleRate", sampleRate).param("frameSize", frameSize)
+			.metric("packetsPerSec", packetsPerSec).metric("fps", totalFps / plots).metric("minFps", minFps).metric("unpaintedPacketsPerSec", unpainted / plots)
+			.metric("uiOccupancy", cpu.getUiThreadMs() / (elapsed * 1000)).metric("cpuMs", cpu.getTotalMs()).append();
+	}
+}
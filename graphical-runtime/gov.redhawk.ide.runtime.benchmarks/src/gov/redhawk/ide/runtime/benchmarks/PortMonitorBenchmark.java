@@ -0,0 +1,213 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTree;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.CpuTime;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.ViewUtils;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+
+/**
+ * "Monitor Ports" on a large running waveform, as PortMonitorViewTest does with ExampleWaveform06. The waveform is
+ * generated (see {@link SadGenerator}): a chain of rh.HardLimit instances fed by rh.SigGen, so data flows through
+ * every connection once it's started. Measured:
+ * <ul>
+ * <li><code>monitorMs</code> - from "Monitor Ports" until the Port Monitor view stops adding ports</li>
+ * <li><code>refreshesPerSec</code> - how often the view's tree is repainted with new statistics while data flows</li>
+ * <li><code>uiMsPerRefresh</code> - UI thread CPU time per repaint</li>
+ * <li>heap in use at the start and end of the run, and its growth per minute (see {@link HeapSampler})</li>
+ * </ul>
+ * Results go to the <code>portMonitor</code> trend file (see {@link BenchmarkTrend}). System properties:
+ * <ul>
+ * <li>{@value #SIZES_PROPERTY} - comma separated component counts (default {@value #DEFAULT_SIZES})</li>
+ * <li>{@value #SECONDS_PROPERTY} - how long to monitor for (default {@value #DEFAULT_SECONDS})</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class PortMonitorBenchmark extends UIRuntimeTest {
+
+	public static final String SIZES_PROPERTY = "gov.redhawk.ide.benchmark.portMonitorSizes";
+	public static final String SECONDS_PROPERTY = "gov.redhawk.ide.benchmark.portMonitorSeconds";
+	private static final String DEFAULT_SIZES = "25,100,200";
+	private static final String DEFAULT_SECONDS = "60";
+
+	private static final String BENCHMARK = "portMonitor";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final long HEAP_SAMPLE_INTERVAL = 10000;
+	private static final long STABLE_MS = 2000;
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} components")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+			sizes.add(new Object[] { Integer.valueOf(size.trim()) });
+		}
+		return sizes;
+	}
+
+	private final int components;
+	private final String waveformName;
+	private SWTBotView portMonitorView;
+
+	public PortMonitorBenchmark(int components) {
+		this.components = components;
+		this.waveformName = "PortMonitor_" + components;
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException, CoreException {
+		// Install the generated waveform to the Target SDR
+		SadGenerator generator = new SadGenerator(waveformName).components(components).connections(components - 1).signalSource(true);
+		generator.write(SdrUiPlugin.getDefault().getTargetSdrDomPath().append("waveforms").toFile());
+		addSdrDomCleanupPath(new Path("/waveforms/" + waveformName));
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), WaitForTargetSdrRootLoad.TIMEOUT);
+
+		ScaExplorerTestUtils.launchWaveformFromTargetSDR(bot, waveformName);
+		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, SANDBOX_PATH, waveformName);
+		ScaExplorerTestUtils.startResourceInExplorer(bot, SANDBOX_PATH, waveformName);
+		ConsoleUtils.disableAutoShowConsole(bot);
+	}
+
+	@After
+	public void afterBenchmark() {
+		if (portMonitorView != null) {
+			portMonitorView.close();
+			portMonitorView = null;
+		}
+		ScaExplorerTestUtils.releaseFromScaExplorer(bot, SANDBOX_PATH, waveformName);
+		ScaExplorerTestUtils.waitUntilNodeRemovedFromScaExplorer(bot, SANDBOX_PATH, waveformName);
+	}
+
+	@Test
+	public void monitorPorts() throws IOException {
+		long seconds = Long.parseLong(System.getProperty(SECONDS_PROPERTY, DEFAULT_SECONDS));
+
+		long start = System.nanoTime();
+		ScaExplorerTestUtils.montiorWaveformPortsFromScaExplorer(bot, SANDBOX_PATH, waveformName);
+		portMonitorView = ViewUtils.getPortMonitorView(bot);
+		portMonitorView.show();
+		final SWTBotTree tree = portMonitorView.bot().tree();
+		long[] populated = waitUntilPopulated(tree);
+		long ports = populated[0];
+		long monitorMs = (populated[1] - start) / 1000000;
+
+		// Count repaints of the view's tree while data flows
+		final AtomicInteger paints = new AtomicInteger();
+		final Listener paintFilter = new Listener() {
+			@Override
+			public void handleEvent(Event event) {
+				if (event.widget == tree.widget) {
+					paints.incrementAndGet();
+				}
+			}
+		};
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				Display.getCurrent().addFilter(SWT.Paint, paintFilter);
+			}
+		});
+
+		HeapSampler heap = new HeapSampler();
+		heap.sample();
+		CpuTime cpu = CpuTime.start();
+		long windowStart = System.nanoTime();
+		long end = windowStart + seconds * 1000000000L;
+		try {
+			for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+				bot.sleep(Math.min(HEAP_SAMPLE_INTERVAL, (end - now) / 1000000 + 1));
+				if (System.nanoTime() < end) {
+					heap.sampleCollected();
+				}
+			}
+			cpu.stop();
+		} finally {
+			UIThreadRunnable.syncExec(new VoidResult() {
+				@Override
+				public void run() {
+					Display.getCurrent().removeFilter(SWT.Paint, paintFilter);
+				}
+			});
+		}
+		double windowSeconds = (System.nanoTime() - windowStart) / 1e9;
+		heap.sample();
+
+		int refreshes = paints.get();
+		new BenchmarkTrend(BENCHMARK).param("components", components).param("seconds", seconds).metric("ports", ports).metric("monitorMs", monitorMs)
+			.metric("refreshes", refreshes).metric("refreshesPerSec", refreshes / windowSeconds)
+			.metric("uiMsPerRefresh", (refreshes > 0) ? (double) cpu.getUiThreadMs() / refreshes : -1).metric("uiThreadMs", cpu.getUiThreadMs())
+			.metric("cpuMs", cpu.getTotalMs()).metric("heapStartMb", heap.getStartMb()).metric("heapEndMb", heap.getEndMb())
+			.metric("heapGrowthMbPerMin", heap.getGrowthMbPerMinute()).append();
+	}
+
+	/**
+	 * Wait until the view shows the waveform, and the number of ports under it hasn't changed for a while.
+	 * @return The number of ports, and when that number was first reached (System.nanoTime())
+	 */
+	private long[] waitUntilPopulated(final SWTBotTree tree) {
+		final long[] result = { -1, -1 };
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				if (tree.rowCount() == 0) {
+					return false;
+				}
+				int count = tree.getAllItems()[0].rowCount();
+				long now = System.nanoTime();
+				if (count != result[0]) {
+					result[0] = count;
+					result[1] = now;
+					return false;
+				}
+				return count > 0 && now - result[1] >= STABLE_MS * 1000000;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("Port Monitor view didn't finish populating (%d ports)", result[0]);
+			}
+		}, TIMEOUT, 50);
+		return result;
+	}
+}
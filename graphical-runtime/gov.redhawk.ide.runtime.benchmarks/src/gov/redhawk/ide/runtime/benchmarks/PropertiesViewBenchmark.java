@@ -0,0 +1,238 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.emf.common.command.Command;
+import org.eclipse.emf.edit.command.SetCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.IntResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTree;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.PropertiesComponentGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.StandardTestActions;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.ViewUtils;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.model.sca.ScaAbstractProperty;
+import gov.redhawk.model.sca.ScaComponent;
+import gov.redhawk.model.sca.ScaPackage;
+import gov.redhawk.model.sca.ScaSimpleProperty;
+
+/**
+ * How long the Properties view takes to show a component with a very large PRF (see
+ * {@link PropertiesComponentGenerator}), which is installed to the Target SDR and launched in the sandbox. This is
+ * what AbstractPropertiesViewRuntimeTest does with AllPropertyTypesComponent, at scale. Measured:
+ * <ul>
+ * <li>selecting the component in the REDHAWK Explorer, until every top-level property is in the view</li>
+ * <li>walking the whole property tree with SWTBot, expanding every item (as populatePropertyMap does)</li>
+ * <li>selecting the component in the chalkboard diagram, until every top-level property is in the view</li>
+ * <li>changing a simple in the model, until the view shows the new value</li>
+ * </ul>
+ * Results go to the <code>propertiesView</code> trend file (see {@link BenchmarkTrend}). Scales are set with the system
+ * property {@value #SCALES_PROPERTY}: comma separated <code>simples/sequenceLength/structs</code> (default
+ * {@value #DEFAULT_SCALES}). There are always {@value #SIMPLE_SEQUENCES} simple sequences of
+ * <code>sequenceLength</code> values and {@value #STRUCT_SEQUENCES} struct sequences of <code>structs</code> structs.
+ */
+@RunWith(Parameterized.class)
+public class PropertiesViewBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.propertyScales";
+	private static final String DEFAULT_SCALES = "100/100/10,1000/1000/100,5000/5000/500";
+	private static final int SIMPLE_SEQUENCES = 10;
+	private static final int STRUCT_SEQUENCES = 5;
+
+	private static final String BENCHMARK = "propertiesView";
+	private static final String PROP_TAB_NAME = "Properties";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final String[] CHALKBOARD_PATH = { "Sandbox", "Chalkboard" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final String NEW_VALUE = "changed";
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} simples, {1} values, {2} structs")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			scales.add(new Object[] { Integer.valueOf(parts[0]), Integer.valueOf(parts[1]), Integer.valueOf(parts[2]) });
+		}
+		return scales;
+	}
+
+	private final int simples;
+	private final int sequenceLength;
+	private final int structs;
+	private PropertiesComponentGenerator generator;
+	private String instanceName;
+
+	public PropertiesViewBenchmark(int simples, int sequenceLength, int structs) {
+		this.simples = simples;
+		this.sequenceLength = sequenceLength;
+		this.structs = structs;
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException, CoreException {
+		String name = String.format("LargeProps_%d_%d_%d", simples, sequenceLength, structs);
+		generator = new PropertiesComponentGenerator(name).simples(simples).simpleSequences(SIMPLE_SEQUENCES, sequenceLength);
+		generator.structSequences(STRUCT_SEQUENCES, structs);
+		instanceName = name + "_1";
+
+		// Install the component to the Target SDR
+		generator.write(SdrUiPlugin.getDefault().getTargetSdrDomPath().append("components").toFile());
+		addSdrDomCleanupPath(new Path("/components/" + name));
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), WaitForTargetSdrRootLoad.TIMEOUT);
+
+		StandardTestActions.setRefreshInterval(1000);
+		ScaExplorerTestUtils.launchComponentFromTargetSDR(bot, name, PropertiesComponentGenerator.IMPLEMENTATION);
+		ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, CHALKBOARD_PATH, instanceName);
+		bot.viewById(ViewUtils.PROPERTIES_VIEW_ID).show();
+	}
+
+	@After
+	public void afterBenchmark() {
+		bot.closeAllEditors();
+		ScaExplorerTestUtils.releaseFromScaExplorer(bot, CHALKBOARD_PATH, instanceName);
+		ScaExplorerTestUtils.waitUntilScaExplorerWaveformEmpty(bot, SANDBOX_PATH, CHALKBOARD);
+		StandardTestActions.resetRefreshInterval();
+	}
+
+	@Test
+	public void populate() throws IOException {
+		final int properties = generator.getPropertyCount();
+
+		// Select the component in the explorer
+		ScaExplorerTestUtils.getTreeItemFromScaExplorer(bot, SANDBOX_PATH, CHALKBOARD).select();
+		long start = System.nanoTime();
+		ScaExplorerTestUtils.getTreeItemFromScaExplorer(bot, CHALKBOARD_PATH, instanceName).select();
+		SWTBotTree propTree = ViewUtils.selectPropertiesTab(bot, PROP_TAB_NAME);
+		waitForItems(propTree, properties);
+		long explorerMs = (System.nanoTime() - start) / 1000000;
+
+		// Walk the whole tree, the way the properties view tests do
+		start = System.nanoTime();
+		int items = walk(propTree.getAllItems());
+		long walkMs = (System.nanoTime() - start) / 1000000;
+
+		// Select the component in the chalkboard diagram
+		RHBotGefEditor editor = DiagramTestUtils.openChalkboardDiagram(new RHSWTGefBot());
+		DiagramTestUtils.waitUntilComponentDisplaysInDiagram(bot, editor, instanceName);
+		editor.click(0, 0);
+		start = System.nanoTime();
+		editor.click(generator.getName());
+		propTree = ViewUtils.selectPropertiesTab(bot, PROP_TAB_NAME);
+		waitForItems(propTree, properties);
+		long diagramMs = (System.nanoTime() - start) / 1000000;
+
+		// Change the last string simple in the model
+		String simpleId = PropertiesComponentGenerator.simpleId((simples - 1) / 2 * 2);
+		final SWTBotTreeItem treeItem = propTree.getTreeItem(simpleId);
+		ScaSimpleProperty modelProp = getModelProperty(simpleId);
+		start = System.nanoTime();
+		TransactionalEditingDomain editingDomain = TransactionUtil.getEditingDomain(modelProp);
+		Command cmd = SetCommand.create(editingDomain, modelProp, ScaPackage.Literals.SCA_SIMPLE_PROPERTY__VALUE, NEW_VALUE);
+		editingDomain.getCommandStack().execute(cmd);
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return NEW_VALUE.equals(treeItem.cell(1));
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Property cell did not update: " + treeItem.cell(0);
+			}
+		}, TIMEOUT);
+		long modelToViewMs = (System.nanoTime() - start) / 1000000;
+
+		new BenchmarkTrend(BENCHMARK).param("simples", simples).param("simpleSequences", SIMPLE_SEQUENCES).param("sequenceLength", sequenceLength)
+			.param("structSequences", STRUCT_SEQUENCES).param("structs", structs).metric("treeItems", items).metric("explorerSelectMs", explorerMs)
+			.metric("walkMs", walkMs).metric("diagramSelectMs", diagramMs).metric("modelToViewMs", modelToViewMs).append();
+	}
+
+	private void waitForItems(final SWTBotTree propTree, final int count) {
+		bot.waitUntil(new DefaultCondition() {
+			private int items;
+
+			@Override
+			public boolean test() throws Exception {
+				items = UIThreadRunnable.syncExec(new IntResult() {
+					@Override
+					public Integer run() {
+						return propTree.widget.getItemCount();
+					}
+				});
+				return items >= count;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("Properties view has %d/%d properties", items, count);
+			}
+		}, TIMEOUT, 50);
+	}
+
+	/**
+	 * Expand and read every item, as AbstractPropertiesViewRuntimeTest.populatePropertyMap does.
+	 * @return The number of items
+	 */
+	private int walk(SWTBotTreeItem[] treeItems) {
+		int count = 0;
+		for (SWTBotTreeItem item : treeItems) {
+			item.cell(0);
+			item.cell(1);
+			item.expand();
+			count += 1 + walk(item.getItems());
+		}
+		return count;
+	}
+
+	private ScaSimpleProperty getModelProperty(String id) {
+		for (ScaComponent component : ScaDebugPlugin.getInstance().getLocalSca().getSandboxWaveform().getComponents()) {
+			if (generator.getName().equals(component.getProfileObj().getName())) {
+				for (ScaAbstractProperty< ? > prop : component.getProperties()) {
+					if (id.equals(prop.getId())) {
+						return (ScaSimpleProperty) prop;
+					}
+				}
+			}
+		}
+		Assert.fail("Model property not found: " + id);
+		return null;
+	}
+}
@@ -0,0 +1,250 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
+import org.eclipse.swtbot.swt.finder.exceptions.WidgetNotFoundException;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.waits.ICondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.SandboxLaunchBatch;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkBaseline;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.DiagramOpenTimer;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.WaveformUtils;
+import gov.redhawk.ide.swtbot.condition.WaitForLaunchTermination;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils.DiagramType;
+import mil.jpeojtrs.sca.sad.SadComponentInstantiation;
+
+/**
+ * Timed versions of the local and chalkboard LargeWaveformTest scenarios (IDE-1120, IDE-1367): release or terminate
+ * a sandbox waveform, or the chalkboard, with its diagram open. The waveform is generated (see {@link SadGenerator})
+ * and installed to the Target SDR; the chalkboard is filled with the same number of rh.HardLimit instances. Measured
+ * from the release / terminate:
+ * <ul>
+ * <li><code>editorMs</code> - until the waveform's editor closes (for the chalkboard, until its diagram is empty)</li>
+ * <li><code>explorerEmptyMs</code> - until the waveform is gone from the REDHAWK Explorer (for the chalkboard, until
+ * it has no children)</li>
+ * <li><code>launchTerminationMs</code> - until every launch has terminated</li>
+ * </ul>
+ * The conditions are checked in that order, so a measurement can include time spent waiting on the one before it.
+ * Results go to the <code>releaseTerminate</code> trend file (see {@link BenchmarkTrend}) and are checked against the
+ * baseline (see {@link BenchmarkBaseline}), failing the run if they have regressed. Sizes are set with the system
+ * property {@value #SIZES_PROPERTY}: comma separated component counts (default {@value #DEFAULT_SIZES}).
+ */
+@RunWith(Parameterized.class)
+public class ReleaseTerminateBenchmark extends UIRuntimeTest {
+
+	public static final String SIZES_PROPERTY = "gov.redhawk.ide.benchmark.releaseSizes";
+	private static final String DEFAULT_SIZES = "12,24,48";
+
+	private static final String BENCHMARK = "releaseTerminate";
+	private static final String WAVEFORM = "waveform";
+	private static final String CHALKBOARD_TARGET = "chalkboard";
+	private static final String[] SANDBOX_PATH = { "Sandbox" };
+	private static final String CHALKBOARD = "Chalkboard";
+	private static final String HARD_LIMIT = "rh.HardLimit";
+	private static final long LAUNCH_TIMEOUT = 600000;
+	private static final long TIMEOUT = 600000;
+
+	@Parameters(name = "{0} {1} components")
+	public static Collection<Object[]> sizes() {
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+			sizes.add(new Object[] { WAVEFORM, Integer.valueOf(size.trim()) });
+			sizes.add(new Object[] { CHALKBOARD_TARGET, Integer.valueOf(size.trim()) });
+		}
+		return sizes;
+	}
+
+	private final String target;
+	private final int components;
+	private final boolean chalkboard;
+	private String treeName;
+	private SWTBotGefEditor editor;
+
+	/**
+	 * @param target {@value #CHALKBOARD_TARGET} to launch into the chalkboard, {@value #WAVEFORM} for a sandbox waveform
+	 * @param components
+	 */
+	public ReleaseTerminateBenchmark(String target, int components) {
+		this.target = target;
+		this.components = components;
+		this.chalkboard = CHALKBOARD_TARGET.equals(target);
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException, CoreException {
+		bot.waitUntil(new WaitForLaunchTermination(true), 30000);
+		if (chalkboard) {
+			treeName = CHALKBOARD;
+			ScaExplorerTestUtils.openDiagramFromScaExplorer(bot, SANDBOX_PATH, CHALKBOARD, DiagramType.GRAPHITI_CHALKBOARD);
+			editor = new RHSWTGefBot().gefEditor(CHALKBOARD);
+			SandboxLaunchBatch batch = new SandboxLaunchBatch(bot);
+			for (int i = 0; i < components; i++) {
+				batch.add(HARD_LIMIT, "cpp", SadGenerator.instanceName(i));
+			}
+			batch.launchAndWait(editor, LAUNCH_TIMEOUT);
+			return;
+		}
+
+		// Install a generated waveform to the Target SDR
+		SadGenerator generator = new SadGenerator("ReleaseTerminate_" + components).components(components);
+		treeName = generator.getName();
+		generator.write(SdrUiPlugin.getDefault().getTargetSdrDomPath().append("waveforms").toFile());
+		addSdrDomCleanupPath(new Path("/waveforms/" + treeName));
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), WaitForTargetSdrRootLoad.TIMEOUT);
+
+		WaveformUtils.launchLocalWaveform(bot, treeName);
+		String fullName = ScaExplorerTestUtils.openDiagramFromScaExplorer(bot, SANDBOX_PATH, treeName, DiagramType.GRAPHITI_WAVEFORM_EXPLORER);
+		editor = new RHSWTGefBot().gefEditor(fullName);
+		final EditPartViewer viewer = editor.rootEditPart().part().getViewer();
+		bot.waitUntil(new DefaultCondition() {
+			private int count;
+
+			@Override
+			public boolean test() throws Exception {
+				count = DiagramOpenTimer.countBusinessObjects(viewer, SadComponentInstantiation.class);
+				return count >= components;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("Diagram has %d/%d components", count, components);
+			}
+		}, LAUNCH_TIMEOUT);
+	}
+
+	@After
+	public void afterBenchmark() {
+		editor = null;
+		bot.closeAllEditors();
+		bot.waitUntil(new WaitForLaunchTermination(), LAUNCH_TIMEOUT);
+	}
+
+	@Test
+	public void release() throws IOException {
+		long start = System.nanoTime();
+		ScaExplorerTestUtils.releaseFromScaExplorer(bot, SANDBOX_PATH, treeName);
+		measure("release", start);
+	}
+
+	@Test
+	public void terminate() throws IOException {
+		long start = System.nanoTime();
+		ScaExplorerTestUtils.terminate(bot, SANDBOX_PATH, treeName);
+		measure("terminate", start);
+	}
+
+	private void measure(String action, long start) throws IOException {
+		long editorMs = waitFor(chalkboard ? diagramEmpty() : editorsClosed(), start);
+		long explorerMs = waitFor(chalkboard ? chalkboardEmpty() : waveformRemoved(), start);
+		long terminationMs = waitFor(new WaitForLaunchTermination(), start);
+
+		BenchmarkTrend result = new BenchmarkTrend(BENCHMARK).param("action", action).param("target", target).param("components", components);
+		result.metric("editorMs", editorMs).metric("explorerEmptyMs", explorerMs).metric("launchTerminationMs", terminationMs).append();
+		BenchmarkBaseline.check(result);
+	}
+
+	/**
+	 * @return Milliseconds from <code>start</code> until the condition was met
+	 */
+	private long waitFor(ICondition condition, long start) {
+		bot.waitUntil(condition, TIMEOUT, 50);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private ICondition editorsClosed() {
+		return new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return new SWTWorkbenchBot().editors().size() == 0;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Editors were still open";
+			}
+		};
+	}
+
+	private ICondition diagramEmpty() {
+		return new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				return editor.rootEditPart().children().get(0).children().size() == 0;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Component(s) failed to disappear from the diagram";
+			}
+		};
+	}
+
+	private ICondition waveformRemoved() {
+		return new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				try {
+					ScaExplorerTestUtils.getTreeItemFromScaExplorer(new SWTWorkbenchBot(), SANDBOX_PATH, treeName);
+					return false;
+				} catch (WidgetNotFoundException e) {
+					return true;
+				}
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return treeName + " is still in the REDHAWK Explorer";
+			}
+		};
+	}
+
+	private ICondition chalkboardEmpty() {
+		return new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				SWTBotTreeItem treeItem = ScaExplorerTestUtils.getTreeItemFromScaExplorer(new SWTWorkbenchBot(), SANDBOX_PATH, CHALKBOARD);
+				return treeItem.getNodes().size() == 0;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Component(s) failed to disappear from the REDHAWK Explorer";
+			}
+		};
+	}
+}
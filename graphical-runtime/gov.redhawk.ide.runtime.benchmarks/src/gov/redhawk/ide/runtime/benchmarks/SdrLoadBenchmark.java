@@ -0,0 +1,173 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkProjects;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.runtime.benchmarks.util.PeakHeap;
+import gov.redhawk.ide.runtime.benchmarks.util.PropertiesComponentGenerator;
+import gov.redhawk.ide.runtime.benchmarks.util.SdrRootGenerator;
+import gov.redhawk.ide.sdr.ui.SdrUiPlugin;
+import gov.redhawk.ide.swtbot.StandardTestActions;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.condition.WaitForTargetSdrRootLoad;
+import mil.jpeojtrs.sca.spd.SoftPkg;
+
+/**
+ * How long the Target SDR takes to load when it's much larger than the test SDRROOT, as every test that exports a
+ * project waits on it (see CreateGenerateExportTest, ReinstallComponentTest). An SDRROOT of the size under test is
+ * generated into the Target SDR (see {@link SdrRootGenerator}), then:
+ * <ul>
+ * <li><code>fullLoadMs</code> - a full reload of the Target SDR, until {@link WaitForTargetSdrRootLoad} passes and the
+ * last generated component is in the model</li>
+ * <li><code>incrementalMs</code> - exporting a single component project to the SDR, until the exported component is
+ * in the model and the load has finished</li>
+ * <li><code>fullLoadPeakMb</code> / <code>incrementalPeakMb</code> - the most heap in use during each (see
+ * {@link PeakHeap}), against <code>heapBeforeMb</code> (the live heap beforehand)</li>
+ * </ul>
+ * Results go to the <code>sdrLoad</code> trend file (see {@link BenchmarkTrend}). Scales are set with the system
+ * property {@value #SCALES_PROPERTY}: comma separated
+ * <code>components/devices/services/waveforms/nodes/sharedLibraries</code> (default {@value #DEFAULT_SCALES}).
+ */
+@RunWith(Parameterized.class)
+public class SdrLoadBenchmark extends UIRuntimeTest {
+
+	public static final String SCALES_PROPERTY = "gov.redhawk.ide.benchmark.sdrScales";
+	private static final String DEFAULT_SCALES = "200/20/20/50/10/20,1000/100/50/250/50/50,4000/400/100/1000/100/200";
+
+	private static final String BENCHMARK = "sdrLoad";
+	private static final String ROOT_NAMESPACE = "bench";
+	private static final int NAMESPACES = 20;
+	private static final int WAVEFORM_COMPONENTS = 5;
+	private static final int NODE_DEVICES = 4;
+	private static final long LOAD_TIMEOUT = 900000;
+
+	@Parameters(name = "{0} components, {1} devices, {2} services, {3} waveforms, {4} nodes, {5} shared libraries")
+	public static Collection<Object[]> scales() {
+		List<Object[]> scales = new ArrayList<Object[]>();
+		for (String scale : System.getProperty(SCALES_PROPERTY, DEFAULT_SCALES).split(",")) {
+			String[] parts = scale.trim().split("/");
+			Object[] values = new Object[parts.length];
+			for (int i = 0; i < parts.length; i++) {
+				values[i] = Integer.valueOf(parts[i].trim());
+			}
+			scales.add(values);
+		}
+		return scales;
+	}
+
+	private final String scale;
+	private final SdrRootGenerator generator;
+	private IProject project;
+
+	public SdrLoadBenchmark(int components, int devices, int services, int waveforms, int nodes, int sharedLibraries) {
+		scale = String.format("%d/%d/%d/%d/%d/%d", components, devices, services, waveforms, nodes, sharedLibraries);
+		generator = new SdrRootGenerator(ROOT_NAMESPACE).namespaces(NAMESPACES).components(components).devices(devices).services(services);
+		generator.waveforms(waveforms, WAVEFORM_COMPONENTS).nodes(nodes, NODE_DEVICES).sharedLibraries(sharedLibraries);
+	}
+
+	@Before
+	public void beforeBenchmark() throws IOException {
+		generator.writeDom(SdrUiPlugin.getDefault().getTargetSdrDomPath().toFile());
+		generator.writeDev(SdrUiPlugin.getDefault().getTargetSdrDevPath().toFile());
+		for (String dir : new String[] { "components", "deps", "waveforms" }) {
+			addSdrDomCleanupPath(new Path("/" + dir + "/" + ROOT_NAMESPACE));
+		}
+		for (String dir : new String[] { "devices", "services", "nodes" }) {
+			addSdrDevCleanupPath(new Path("/" + dir + "/" + ROOT_NAMESPACE));
+		}
+	}
+
+	@After
+	public void afterBenchmark() throws CoreException {
+		bot.closeAllEditors();
+		if (project != null) {
+			project.delete(true, true, new NullProgressMonitor());
+			project = null;
+		}
+	}
+
+	@Test
+	public void load() throws IOException, CoreException, InterruptedException {
+		String lastComponent = generator.getComponentName(generator.getComponentNames().size() - 1);
+		double heapBeforeMb = new HeapSampler().sample();
+
+		PeakHeap heap = PeakHeap.start();
+		long start = System.nanoTime();
+		SdrUiPlugin.getDefault().getTargetSdrRoot().reload(new NullProgressMonitor());
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), LOAD_TIMEOUT);
+		bot.waitUntil(new WaitForSdrComponent(lastComponent), LOAD_TIMEOUT, 50);
+		long fullLoadMs = (System.nanoTime() - start) / 1000000;
+		heap.stop();
+		double fullLoadPeakMb = heap.getPeakMb();
+
+		// Export a single project, as the export tests do
+		String exportName = "SdrExport_" + generator.getEntryCount();
+		project = BenchmarkProjects.createComponentProject(new PropertiesComponentGenerator(exportName));
+		addSdrDomCleanupPath(new Path("/components/" + exportName));
+		heap = PeakHeap.start();
+		start = System.nanoTime();
+		StandardTestActions.exportProject(exportName, bot);
+		bot.waitUntil(new WaitForSdrComponent(exportName), LOAD_TIMEOUT, 50);
+		bot.waitUntil(new WaitForTargetSdrRootLoad(), LOAD_TIMEOUT);
+		long incrementalMs = (System.nanoTime() - start) / 1000000;
+		heap.stop();
+
+		new BenchmarkTrend(BENCHMARK).param("scale", scale).param("entries", generator.getEntryCount()).metric("fullLoadMs", fullLoadMs)
+			.metric("incrementalMs", incrementalMs).metric("heapBeforeMb", heapBeforeMb).metric("fullLoadPeakMb", fullLoadPeakMb).metric("incrementalPeakMb", heap.getPeakMb()).append();
+	}
+
+	/**
+	 * Waits until a component is in the Target SDR's model.
+	 */
+	private static class WaitForSdrComponent extends DefaultCondition {
+
+		private final String name;
+
+		WaitForSdrComponent(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean test() throws Exception {
+			List<SoftPkg> components = new ArrayList<SoftPkg>(SdrUiPlugin.getDefault().getTargetSdrRoot().getComponentsContainer().getComponents());
+			for (SoftPkg component : components) {
+				if (name.equals(component.getName())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public String getFailureMessage() {
+			return name + " did not load into the Target SDR";
+		}
+	}
+}
@@ -0,0 +1,283 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.omg.CORBA.Any;
+import org.omg.CORBA.ORB;
+import org.omg.CORBA.TCKind;
+import org.omg.CORBA.UserException;
+
+import CF.DataType;
+import CF.Device;
+import CF.PropertiesHelper;
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.HeapSampler;
+import gov.redhawk.ide.swtbot.ConsoleUtils;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.condition.WaitForLaunchTermination;
+import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.model.sca.ScaDevice;
+import mil.jpeojtrs.sca.util.AnyUtils;
+
+/**
+ * A soak of the FrontEnd tuner allocate / listener / deallocate cycle that AbstractTunerTest runs once through the
+ * Allocate Tuner wizard. sim_RX_DIGITIZER is launched in the sandbox with its "FrontEnd Tuners" container shown in the
+ * REDHAWK Explorer; each cycle then allocates its tuner, adds a listener, and deallocates both, calling the device
+ * directly. Measured:
+ * <ul>
+ * <li><code>allocP50Ms</code> / <code>allocP90Ms</code> / <code>allocP99Ms</code> / <code>allocMaxMs</code> - the
+ * tuner <code>allocateCapacity</code> call, over every cycle (with <code>listenerP50Ms</code> /
+ * <code>listenerP99Ms</code> and <code>deallocP50Ms</code> / <code>deallocP99Ms</code> for the listener allocation
+ * and the two deallocations)</li>
+ * <li><code>tunerRefreshP50Ms</code> / <code>tunerRefreshMaxMs</code> - from the tuner allocation until the
+ * "FrontEnd Tuners" container shows the allocated tuner (likewise <code>listenerRefresh</code> until the tuner shows
+ * its listener, and <code>deallocRefresh</code> until the container shows the tuner as unallocated again). Only every
+ * Nth cycle waits on the tree, the rest run back to back.</li>
+ * <li><code>heapStartMb</code> / <code>heapEndMb</code> / <code>heapGrowthMbPerMinute</code> - the live heap at the
+ * sampled cycles (see {@link HeapSampler})</li>
+ * <li><code>threadsStart</code> / <code>threadsEnd</code> / <code>threadsPeak</code> - live JVM threads at the sampled
+ * cycles</li>
+ * </ul>
+ * Results go to the <code>tunerSoak</code> trend file (see {@link BenchmarkTrend}). The number of cycles is set with
+ * the system property {@value #CYCLES_PROPERTY} (default {@value #DEFAULT_CYCLES}), and how often the tree is waited on
+ * and the heap sampled with {@value #SAMPLE_PROPERTY} (default every {@value #DEFAULT_SAMPLE_EVERY} cycles).
+ */
+public class TunerSoakBenchmark extends UIRuntimeTest {
+
+	public static final String CYCLES_PROPERTY = "gov.redhawk.ide.benchmark.tunerCycles";
+	public static final String SAMPLE_PROPERTY = "gov.redhawk.ide.benchmark.tunerSampleEvery";
+	private static final int DEFAULT_CYCLES = 2000;
+	private static final int DEFAULT_SAMPLE_EVERY = 50;
+
+	private static final String BENCHMARK = "tunerSoak";
+	private static final String SANDBOX = "Sandbox";
+	private static final String DEV_MGR = "Device Manager";
+	private static final String FEI_DEVICE = "sim_RX_DIGITIZER";
+	private static final String FEI_DEVICE_IMPL = "python";
+	private static final String FEI_CONTAINER = "FrontEnd Tuners";
+	private static final String TUNER_TYPE = "RX_DIGITIZER";
+	private static final String UNALLOCATED = "Unallocated RX_DIGITIZER: 1 available";
+	private static final double CENTER_FREQ = 101e6;
+	private static final long TIMEOUT = 60000;
+
+	private static final String TUNER_ALLOCATION = "FRONTEND::tuner_allocation";
+	private static final String LISTENER_ALLOCATION = "FRONTEND::listener_allocation";
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final int cycles = Integer.getInteger(CYCLES_PROPERTY, DEFAULT_CYCLES);
+	private final int sampleEvery = Integer.getInteger(SAMPLE_PROPERTY, DEFAULT_SAMPLE_EVERY);
+	private Device device;
+	private SWTBotTreeItem feiContainer;
+	private DataType[] tunerAllocation;
+	private DataType[] listenerAllocation;
+
+	@Before
+	public void beforeBenchmark() {
+		ScaExplorerTestUtils.launchDeviceFromTargetSDR(bot, FEI_DEVICE, FEI_DEVICE_IMPL);
+		feiContainer = ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { SANDBOX, DEV_MGR, FEI_DEVICE + "_1" }, FEI_CONTAINER);
+		feiContainer.expand();
+		waitForText(UNALLOCATED);
+		for (ScaDevice< ? > scaDevice : ScaDebugPlugin.getInstance().getLocalSca().getSandboxDeviceManager().getRootDevices()) {
+			if ((FEI_DEVICE + "_1").equals(scaDevice.getLabel())) {
+				device = scaDevice.getObj();
+			}
+		}
+		Assert.assertNotNull(FEI_DEVICE + "_1 is not in the sandbox", device);
+	}
+
+	@After
+	public void afterBenchmark() throws CoreException {
+		if (listenerAllocation != null) {
+			deallocateQuietly(listenerAllocation);
+			listenerAllocation = null;
+		}
+		if (tunerAllocation != null) {
+			deallocateQuietly(tunerAllocation);
+			tunerAllocation = null;
+		}
+		device = null;
+		ScaExplorerTestUtils.terminate(bot, new String[] { SANDBOX }, DEV_MGR);
+		bot.waitUntil(new WaitForLaunchTermination(false));
+		ConsoleUtils.removeTerminatedLaunches(bot);
+	}
+
+	@Test
+	public void soak() throws IOException, UserException {
+		int samples = (cycles + sampleEvery - 1) / sampleEvery;
+		long[] alloc = new long[cycles];
+		long[] listener = new long[cycles];
+		long[] dealloc = new long[cycles];
+		long[] tunerRefresh = new long[samples];
+		long[] listenerRefresh = new long[samples];
+		long[] deallocRefresh = new long[samples];
+		HeapSampler heap = new HeapSampler();
+		int threadsStart = THREADS.getThreadCount();
+		int threadsEnd = threadsStart;
+		int threadsPeak = threadsStart;
+
+		for (int cycle = 0; cycle < cycles; cycle++) {
+			boolean sampled = cycle % sampleEvery == 0;
+			int sample = cycle / sampleEvery;
+			if (sampled) {
+				// Let the tree catch up with the unsampled cycles before timing it
+				waitForText(UNALLOCATED);
+				heap.sample();
+				threadsEnd = THREADS.getThreadCount();
+				threadsPeak = Math.max(threadsPeak, threadsEnd);
+			}
+
+			String allocationId = "soak_tuner_" + cycle;
+			tunerAllocation = tunerAllocation(allocationId);
+			long start = System.nanoTime();
+			Assert.assertTrue("Tuner allocation failed on cycle " + cycle, device.allocateCapacity(tunerAllocation));
+			alloc[cycle] = System.nanoTime() - start;
+			if (sampled) {
+				waitForText(TUNER_TYPE);
+				tunerRefresh[sample] = System.nanoTime() - start;
+			}
+
+			listenerAllocation = listenerAllocation(allocationId, "soak_listener_" + cycle);
+			start = System.nanoTime();
+			Assert.assertTrue("Listener allocation failed on cycle " + cycle, device.allocateCapacity(listenerAllocation));
+			listener[cycle] = System.nanoTime() - start;
+			if (sampled) {
+				waitForListener();
+				listenerRefresh[sample] = System.nanoTime() - start;
+			}
+
+			start = System.nanoTime();
+			device.deallocateCapacity(listenerAllocation);
+			listenerAllocation = null;
+			device.deallocateCapacity(tunerAllocation);
+			tunerAllocation = null;
+			dealloc[cycle] = System.nanoTime() - start;
+			if (sampled) {
+				waitForText(UNALLOCATED);
+				deallocRefresh[sample] = System.nanoTime() - start;
+			}
+		}
+		waitForText(UNALLOCATED);
+		heap.sample();
+		threadsEnd = THREADS.getThreadCount();
+		threadsPeak = Math.max(threadsPeak, threadsEnd);
+
+		Arrays.sort(alloc);
+		Arrays.sort(listener);
+		Arrays.sort(dealloc);
+		Arrays.sort(tunerRefresh);
+		Arrays.sort(listenerRefresh);
+		Arrays.sort(deallocRefresh);
+		new BenchmarkTrend(BENCHMARK).param("cycles", cycles).param("sampleEvery", sampleEvery).metric("allocP50Ms", percentileMs(alloc, 50))
+			.metric("allocP90Ms", percentileMs(alloc, 90)).metric("allocP99Ms", percentileMs(alloc, 99)).metric("allocMaxMs", percentileMs(alloc, 100))
+			.metric("listenerP50Ms", percentileMs(listener, 50)).metric("listenerP99Ms", percentileMs(listener, 99))
+			.metric("deallocP50Ms", percentileMs(dealloc, 50)).metric("deallocP99Ms", percentileMs(dealloc, 99))
+			.metric("tunerRefreshP50Ms", percentileMs(tunerRefresh, 50)).metric("tunerRefreshMaxMs", percentileMs(tunerRefresh, 100))
+			.metric("listenerRefreshP50Ms", percentileMs(listenerRefresh, 50)).metric("listenerRefreshMaxMs", percentileMs(listenerRefresh, 100))
+			.metric("deallocRefreshP50Ms", percentileMs(deallocRefresh, 50)).metric("deallocRefreshMaxMs", percentileMs(deallocRefresh, 100))
+			.metric("heapStartMb", heap.getStartMb()).metric("heapEndMb", heap.getEndMb()).metric("heapGrowthMbPerMinute", heap.getGrowthMbPerMinute())
+			.metric("threadsStart", threadsStart).metric("threadsEnd", threadsEnd).metric("threadsPeak", threadsPeak).append();
+	}
+
+	/**
+	 * @param sorted Durations in nanoseconds, in ascending order
+	 * @param percentile 0 - 100
+	 * @return The nearest-rank percentile, in milliseconds
+	 */
+	private static double percentileMs(long[] sorted, int percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1] / 1e6;
+	}
+
+	/**
+	 * Waits until the first item in the "FrontEnd Tuners" container starts with the given text.
+	 */
+	private void waitForText(final String text) {
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				SWTBotTreeItem[] items = feiContainer.getItems();
+				return items.length > 0 && items[0].getText().startsWith(text);
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return FEI_CONTAINER + " did not show " + text;
+			}
+		}, TIMEOUT, 10);
+	}
+
+	private void waitForListener() {
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				SWTBotTreeItem[] items = feiContainer.getItems();
+				return items.length > 0 && items[0].getItems().length > 0;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Allocated tuner did not show its listener";
+			}
+		}, TIMEOUT, 10);
+	}
+
+	private void deallocateQuietly(DataType[] allocation) {
+		try {
+			device.deallocateCapacity(allocation);
+		} catch (UserException e) {
+			// PASS - the device is terminated next anyway
+		}
+	}
+
+	private static DataType[] tunerAllocation(String allocationId) {
+		return struct(TUNER_ALLOCATION,
+			simple(TUNER_ALLOCATION + "::tuner_type", TUNER_TYPE, TCKind.tk_string),
+			simple(TUNER_ALLOCATION + "::allocation_id", allocationId, TCKind.tk_string),
+			simple(TUNER_ALLOCATION + "::center_frequency", CENTER_FREQ, TCKind.tk_double),
+			simple(TUNER_ALLOCATION + "::bandwidth", 0.0, TCKind.tk_double),
+			simple(TUNER_ALLOCATION + "::bandwidth_tolerance", 10.0, TCKind.tk_double),
+			simple(TUNER_ALLOCATION + "::sample_rate", 0.0, TCKind.tk_double),
+			simple(TUNER_ALLOCATION + "::sample_rate_tolerance", 10.0, TCKind.tk_double),
+			simple(TUNER_ALLOCATION + "::device_control", true, TCKind.tk_boolean),
+			simple(TUNER_ALLOCATION + "::group_id", "", TCKind.tk_string),
+			simple(TUNER_ALLOCATION + "::rf_flow_id", "", TCKind.tk_string));
+	}
+
+	private static DataType[] listenerAllocation(String existingAllocationId, String listenerAllocationId) {
+		return struct(LISTENER_ALLOCATION,
+			simple(LISTENER_ALLOCATION + "::existing_allocation_id", existingAllocationId, TCKind.tk_string),
+			simple(LISTENER_ALLOCATION + "::listener_allocation_id", listenerAllocationId, TCKind.tk_string));
+	}
+
+	private static DataType simple(String id, Object value, TCKind type) {
+		return new DataType(id, AnyUtils.toAny(value, type));
+	}
+
+	private static DataType[] struct(String id, DataType... fields) {
+		Any any = ORB.init().create_any();
+		PropertiesHelper.insert(any, fields);
+		return new DataType[] { new DataType(id, any) };
+	}
+}
@@ -0,0 +1,246 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.keyboard.Keystrokes;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkProjects;
+import gov.redhawk.ide.runtime.benchmarks.util.BenchmarkTrend;
+import gov.redhawk.ide.runtime.benchmarks.util.DiagramOpenTimer;
+import gov.redhawk.ide.runtime.benchmarks.util.SadGenerator;
+import gov.redhawk.ide.swtbot.UIRuntimeTest;
+import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import mil.jpeojtrs.sca.sad.SadComponentInstantiationRef;
+import mil.jpeojtrs.sca.sad.SadConnectInterface;
+import mil.jpeojtrs.sca.sad.SadFactory;
+import mil.jpeojtrs.sca.sad.SadPackage;
+import mil.jpeojtrs.sca.sad.SadProvidesPort;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.util.ScaResourceFactoryUtil;
+
+/**
+ * How long it takes from editing the sad.xml tab of the waveform editor until the diagram reflects the edit. This
+ * follows the flow of the XmlToDiagram tests: switch to the XML tab, replace the text, switch back to the diagram. The
+ * edit adds connections to a generated waveform (see {@link SadGenerator}) and is done two ways:
+ * <ul>
+ * <li><code>textEdit</code> - insert the XML into the editor's text, as XmlToDiagramAddTest does</li>
+ * <li><code>modelEdit</code> - load the editor's text with EMF, add the connections to the model and write it back,
+ * then type a key, as XmlTestUtils.writeModelToXmlEditor does</li>
+ * </ul>
+ * Results go to the <code>xmlToDiagram</code> trend file (see {@link BenchmarkTrend}) with the time the text replacement
+ * took (the UI thread is blocked for this) and the time until the diagram had an edit part for every connection.
+ * System properties:
+ * <ul>
+ * <li>{@value #SIZES_PROPERTY} - comma separated component counts (default {@value #DEFAULT_SIZES})</li>
+ * <li>{@value #BULK_PROPERTY} - how many connections a bulk edit adds (default {@value #DEFAULT_BULK}); a single edit
+ * adds one</li>
+ * </ul>
+ */
+@RunWith(Parameterized.class)
+public class XmlToDiagramSyncBenchmark extends UIRuntimeTest {
+
+	public static final String SIZES_PROPERTY = "gov.redhawk.ide.benchmark.xmlSizes";
+	public static final String BULK_PROPERTY = "gov.redhawk.ide.benchmark.xmlBulkEdits";
+	private static final String DEFAULT_SIZES = "10,100,500,1000";
+	private static final String DEFAULT_BULK = "50";
+
+	private static final String BENCHMARK = "xmlToDiagram";
+	private static final String DIAGRAM_TAB = "Diagram";
+	private static final long OPEN_TIMEOUT = 600000;
+	private static final long SYNC_TIMEOUT = 600000;
+
+	@Parameters(name = "{0} components, {1} edits")
+	public static Collection<Object[]> sizes() {
+		int bulk = Integer.parseInt(System.getProperty(BULK_PROPERTY, DEFAULT_BULK));
+		List<Object[]> sizes = new ArrayList<Object[]>();
+		for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+			sizes.add(new Object[] { Integer.valueOf(size.trim()), 1 });
+			sizes.add(new Object[] { Integer.valueOf(size.trim()), bulk });
+		}
+		return sizes;
+	}
+
+	private final int components;
+	private final int edits;
+	private RHSWTGefBot gefBot;
+	private SadGenerator generator;
+	private IProject project;
+	private SWTBotGefEditor editor;
+	private EditPartViewer viewer;
+
+	public XmlToDiagramSyncBenchmark(int components, int edits) {
+		this.components = components;
+		this.edits = edits;
+	}
+
+	@Before
+	public void beforeBenchmark() throws CoreException {
+		Assume.assumeTrue("Not enough distinct connections", (long) components * (components - 1) >= components - 1 + edits);
+		gefBot = new RHSWTGefBot();
+
+		generator = new SadGenerator("XmlToDiagram_" + components).components(components).connections(components - 1);
+		final IFile sad = BenchmarkProjects.createWaveformProject(generator);
+		project = sad.getProject();
+
+		DiagramOpenTimer timer = new DiagramOpenTimer(gefBot);
+		editor = timer.open(new Runnable() {
+			@Override
+			public void run() {
+				UIThreadRunnable.syncExec(new VoidResult() {
+					@Override
+					public void run() {
+						try {
+							IDE.openEditor(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage(), sad);
+						} catch (PartInitException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+				});
+			}
+		}, generator.getName(), components, components - 1, OPEN_TIMEOUT);
+		viewer = editor.rootEditPart().part().getViewer();
+	}
+
+	@After
+	public void afterBenchmark() throws CoreException {
+		// The edits are thrown away with the project
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage().closeAllEditors(false);
+			}
+		});
+		editor = null;
+		if (project != null) {
+			project.delete(true, true, new NullProgressMonitor());
+			project = null;
+		}
+	}
+
+	/**
+	 * Insert the new connections into the XML text.
+	 */
+	@Test
+	public void textEdit() throws IOException {
+		DiagramTestUtils.openTabInEditor(editor, generator.getName() + ".sad.xml");
+		StringBuilder added = new StringBuilder();
+		for (int i = 0; i < edits; i++) {
+			added.append(generator.connectInterface(components - 1 + i));
+		}
+		String editorText = editor.toTextEditor().getText().replace("</connections>", added + "  </connections>");
+
+		long start = System.nanoTime();
+		editor.toTextEditor().setText(editorText);
+		long setTextMs = (System.nanoTime() - start) / 1000000;
+		long syncMs = waitForConnections(start);
+
+		record("textEdit", editorText.length(), setTextMs, syncMs);
+	}
+
+	/**
+	 * Add the new connections to the EMF model of the XML, and write the model back to the editor.
+	 */
+	@Test
+	public void modelEdit() throws IOException {
+		String fileName = generator.getName() + ".sad.xml";
+		DiagramTestUtils.openTabInEditor(editor, fileName);
+		Resource resource = ScaResourceFactoryUtil.createResourceSet().createResource(URI.createURI("mem://" + fileName), SadPackage.eCONTENT_TYPE);
+		resource.load(new ByteArrayInputStream(editor.toTextEditor().getText().getBytes(StandardCharsets.UTF_8)), null);
+		SoftwareAssembly sad = SoftwareAssembly.Util.getSoftwareAssembly(resource);
+		for (int i = 0; i < edits; i++) {
+			sad.getConnections().getConnectInterface().add(createConnection(components - 1 + i));
+		}
+
+		long start = System.nanoTime();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		resource.save(outputStream, null);
+		String editorText = outputStream.toString();
+		editor.toTextEditor().setText(editorText);
+		editor.toTextEditor().pressShortcut(Keystrokes.SPACE, Keystrokes.BS);
+		long setTextMs = (System.nanoTime() - start) / 1000000;
+		long syncMs = waitForConnections(start);
+
+		record("modelEdit", editorText.length(), setTextMs, syncMs);
+	}
+
+	private SadConnectInterface createConnection(int index) {
+		SadConnectInterface connection = SadFactory.eINSTANCE.createSadConnectInterface();
+		connection.setId(SadGenerator.connectionId(index));
+		connection.setUsesPort(SadFactory.eINSTANCE.createSadUsesPort(SadGenerator.USES_PORT, SadGenerator.instanceName(generator.connectionUses(index))));
+		SadProvidesPort providesPort = SadFactory.eINSTANCE.createSadProvidesPort();
+		providesPort.setProvidesIdentifier(SadGenerator.PROVIDES_PORT);
+		SadComponentInstantiationRef ref = SadFactory.eINSTANCE.createSadComponentInstantiationRef();
+		ref.setRefid(SadGenerator.instanceName(generator.connectionProvides(index)));
+		providesPort.setComponentInstantiationRef(ref);
+		connection.setProvidesPort(providesPort);
+		return connection;
+	}
+
+	/**
+	 * Switch back to the diagram and wait until it has an edit part for every connection.
+	 * @param start When the edit started
+	 * @return Milliseconds since the edit started
+	 */
+	private long waitForConnections(long start) {
+		final int connections = components - 1 + edits;
+		DiagramTestUtils.openTabInEditor(editor, DIAGRAM_TAB);
+		gefBot.waitUntil(new DefaultCondition() {
+			private int connectionCount;
+
+			@Override
+			public boolean test() throws Exception {
+				connectionCount = DiagramOpenTimer.countBusinessObjects(viewer, SadConnectInterface.class);
+				return connectionCount >= connections;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return String.format("Diagram has %d/%d connection edit parts", connectionCount, connections);
+			}
+		}, SYNC_TIMEOUT, 50);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	private void record(String edit, int characters, long setTextMs, long syncMs) throws IOException {
+		new BenchmarkTrend(BENCHMARK).param("edit", edit).param("components", components).param("edits", edits).param("characters", characters)
+			.metric("setTextMs", setTextMs).metric("diagramSyncMs", syncMs).append();
+	}
+}
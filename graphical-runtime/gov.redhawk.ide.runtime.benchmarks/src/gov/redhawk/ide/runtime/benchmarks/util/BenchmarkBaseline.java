@@ -0,0 +1,185 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Assert;
+
+/**
+ * Compares benchmark results against a baseline, and fails when a measurement has regressed. Measurements are absolute
+ * times, so each machine has its own baseline: a properties file,
+ * <code>&lt;benchmark&gt;.&lt;host&gt;.baseline.properties</code> in the directory given by the system property
+ * {@value #DIR_PROPERTY} (the bundle's <code>baselines</code> directory when run from Maven, which outlives
+ * <code>mvn clean</code>). The host is the local host name, or {@value #HOST_PROPERTY} if set (e.g. to share a baseline between
+ * identical build machines). There's one entry per parameter combination and measurement:
+ * <pre>
+ * release.chalkboard.12.explorerEmptyMs=2350
+ * </pre>
+ * The first run on a machine records its baseline, and later runs are compared against it; check the file in to keep
+ * it. Once the baseline exists, a measurement it doesn't have fails the run, unless {@value #RECORD_PROPERTY} is
+ * <code>true</code>, in which case it's added. A measurement has regressed when it exceeds the baseline by more than
+ * {@value #PERCENT_PROPERTY} percent (default {@value #DEFAULT_PERCENT}) and by more than {@value #MIN_DELTA_PROPERTY}
+ * (default {@value #DEFAULT_MIN_DELTA}), so noise in short measurements doesn't fail the run. Set
+ * {@value #UPDATE_PROPERTY} to <code>true</code> to replace the baseline with this run's results.
+ * <pre>
+ * BenchmarkTrend result = new BenchmarkTrend("releaseTerminate").param("components", 12).metric("releaseMs", 2100);
+ * result.append();
+ * BenchmarkBaseline.check(result);
+ * </pre>
+ */
+public class BenchmarkBaseline {
+
+	public static final String DIR_PROPERTY = "gov.redhawk.ide.benchmark.baselineDir";
+	public static final String PERCENT_PROPERTY = "gov.redhawk.ide.benchmark.regressionPercent";
+	public static final String MIN_DELTA_PROPERTY = "gov.redhawk.ide.benchmark.regressionMinDelta";
+	public static final String UPDATE_PROPERTY = "gov.redhawk.ide.benchmark.updateBaseline";
+	public static final String RECORD_PROPERTY = "gov.redhawk.ide.benchmark.recordBaseline";
+	public static final String HOST_PROPERTY = "gov.redhawk.ide.benchmark.host";
+	private static final String DEFAULT_PERCENT = "20";
+	private static final String DEFAULT_MIN_DELTA = "250";
+
+	private BenchmarkBaseline() {
+	}
+
+	/**
+	 * @return The baseline file for a benchmark on this machine
+	 * @throws AssertionError if {@value #DIR_PROPERTY} isn't set
+	 */
+	public static File getFile(String benchmark) {
+		String dir = System.getProperty(DIR_PROPERTY);
+		Assert.assertNotNull("No baseline directory; set " + DIR_PROPERTY, dir);
+		return new File(dir, benchmark + "." + getHost() + ".baseline.properties");
+	}
+
+	/**
+	 * @return The name baselines are recorded under for this machine
+	 */
+	public static String getHost() {
+		String host = System.getProperty(HOST_PROPERTY);
+		if (host == null) {
+			try {
+				host = InetAddress.getLocalHost().getHostName();
+			} catch (UnknownHostException e) {
+				host = "localhost";
+			}
+		}
+		return host;
+	}
+
+	/**
+	 * Compare a result against the baseline, recording it if this machine has no baseline yet. Negative measurements
+	 * (not measured) are ignored.
+	 * @throws IOException
+	 * @throws AssertionError if any measurement has regressed, or isn't in an existing baseline and
+	 * {@value #RECORD_PROPERTY} isn't set
+	 */
+	public static synchronized void check(BenchmarkTrend result) throws IOException {
+		double percent = Double.parseDouble(System.getProperty(PERCENT_PROPERTY, DEFAULT_PERCENT));
+		double minDelta = Double.parseDouble(System.getProperty(MIN_DELTA_PROPERTY, DEFAULT_MIN_DELTA));
+		boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+		File file = getFile(result.getBenchmark());
+		boolean record = update || Boolean.getBoolean(RECORD_PROPERTY) || !file.exists();
+		Properties baseline = load(file);
+		String prefix = key(result);
+		boolean changed = false;
+		List<String> regressions = new ArrayList<String>();
+		List<String> missing = new ArrayList<String>();
+		for (Map.Entry<String, Number> metric : result.getMetrics().entrySet()) {
+			double value = metric.getValue().doubleValue();
+			if (value < 0) {
+				continue;
+			}
+			String key = prefix + metric.getKey();
+			String expected = baseline.getProperty(key);
+			if (expected == null || update) {
+				if (record) {
+					baseline.setProperty(key, String.valueOf(metric.getValue()));
+					changed = true;
+				} else {
+					missing.add(key);
+				}
+				continue;
+			}
+			double limit = Double.parseDouble(expected);
+			double delta = value - limit;
+			if (delta > limit * percent / 100 && delta > minDelta) {
+				regressions.add(String.format("%s: %s, baseline %s (+%.0f%%)", key, metric.getValue(), expected, (limit > 0) ? delta * 100 / limit : 100));
+			}
+		}
+		if (changed) {
+			save(file, baseline, result.getBenchmark());
+		}
+
+		if (!missing.isEmpty()) {
+			StringBuilder sb = new StringBuilder(String.format("No baseline in %s (set %s=true to record one):", file, RECORD_PROPERTY));
+			for (String key : missing) {
+				sb.append("\n  ").append(key);
+			}
+			Assert.fail(sb.toString());
+		}
+		if (!regressions.isEmpty()) {
+			StringBuilder sb = new StringBuilder(String.format("Regressed by more than %s%% against %s:", percent, file));
+			for (String regression : regressions) {
+				sb.append("\n  ").append(regression);
+			}
+			Assert.fail(sb.toString());
+		}
+	}
+
+	/**
+	 * @return The parameter values, each followed by a dot
+	 */
+	private static String key(BenchmarkTrend result) {
+		StringBuilder sb = new StringBuilder();
+		for (Object value : result.getParams().values()) {
+			sb.append(value).append('.');
+		}
+		return sb.toString();
+	}
+
+	private static Properties load(File file) throws IOException {
+		Properties properties = new Properties();
+		if (file.exists()) {
+			InputStream in = new FileInputStream(file);
+			try {
+				properties.load(in);
+			} finally {
+				in.close();
+			}
+		}
+		return properties;
+	}
+
+	private static void save(File file, Properties properties, String benchmark) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create " + dir);
+		}
+		OutputStream out = new FileOutputStream(file);
+		try {
+			properties.store(out, "Baseline for " + benchmark);
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Creates workspace projects holding generated files for benchmarks.
+ */
+public class BenchmarkProjects {
+
+	private BenchmarkProjects() {
+	}
+
+	/**
+	 * Create a waveform project named after the generator, containing the generated SAD file.
+	 * @return The SAD file
+	 * @throws CoreException
+	 */
+	public static IFile createWaveformProject(SadGenerator generator) throws CoreException {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(generator.getName());
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+		IProjectDescription description = project.getDescription();
+		description.setNatureIds(new String[] { "gov.redhawk.ide.natures.scaproject", "gov.redhawk.ide.natures.sca.waveform" });
+		project.setDescription(description, new NullProgressMonitor());
+
+		IFile sad = project.getFile(generator.getName() + ".sad.xml");
+		sad.create(new ByteArrayInputStream(generator.generate().getBytes(StandardCharsets.UTF_8)), true, new NullProgressMonitor());
+		return sad;
+	}
+
+	/**
+	 * Create a component project named after the generator, containing the generated component (ready to export to
+	 * the SDR). The name must not be namespaced.
+	 * @return The project
+	 * @throws CoreException
+	 * @throws IOException
+	 */
+	public static IProject createComponentProject(PropertiesComponentGenerator generator) throws CoreException, IOException {
+		// Generate into the project's default location, then create the project over it
+		generator.write(ResourcesPlugin.getWorkspace().getRoot().getLocation().toFile());
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(generator.getName());
+		project.create(new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+		IProjectDescription description = project.getDescription();
+		description.setNatureIds(new String[] { "gov.redhawk.ide.natures.scaproject", "gov.redhawk.ide.natures.sca.component" });
+		project.setDescription(description, new NullProgressMonitor());
+		project.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor());
+		return project;
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Appends benchmark results to a trend file, one JSON object per line, so results from many runs can be compared.
+ * Each benchmark has its own file, <code>&lt;benchmark&gt;.jsonl</code>, in the directory given by the system property
+ * {@value #DIR_PROPERTY} (default <code>target/benchmarks</code>).
+ * <p/>
+ * Each line has the benchmark name, a UTC timestamp, the host, the commit being tested (from the GIT_COMMIT
+ * environment variable, if set), the parameters of the run (e.g. the number of components) and the measurements.
+ * <pre>
+ * new BenchmarkTrend("diagramOpen").param("n", 100).metric("firstPaintMs", 850).append();
+ * </pre>
+ */
+public class BenchmarkTrend {
+
+	public static final String DIR_PROPERTY = "gov.redhawk.ide.benchmark.dir";
+
+	private final String benchmark;
+	private final Map<String, Object> params = new LinkedHashMap<String, Object>();
+	private final Map<String, Number> metrics = new LinkedHashMap<String, Number>();
+
+	public BenchmarkTrend(String benchmark) {
+		this.benchmark = benchmark;
+	}
+
+	/**
+	 * @return The directory trend files are written to
+	 */
+	public static File getDirectory() {
+		return new File(System.getProperty(DIR_PROPERTY, "target/benchmarks"));
+	}
+
+	/**
+	 * Add a parameter describing the run (e.g. the size of the input)
+	 */
+	public BenchmarkTrend param(String name, Object value) {
+		params.put(name, value);
+		return this;
+	}
+
+	/**
+	 * Add a measurement
+	 */
+	public BenchmarkTrend metric(String name, Number value) {
+		metrics.put(name, value);
+		return this;
+	}
+
+	/**
+	 * @return The name of the benchmark
+	 */
+	public String getBenchmark() {
+		return benchmark;
+	}
+
+	/**
+	 * @return The parameters added so far
+	 */
+	public Map<String, Object> getParams() {
+		return params;
+	}
+
+	/**
+	 * @return The measurements added so far
+	 */
+	public Map<String, Number> getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Append the result to the benchmark's trend file, and echo it to stdout.
+	 * @throws IOException
+	 */
+	public void append() throws IOException {
+		File dir = getDirectory();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create " + dir);
+		}
+
+		SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+		format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		StringBuilder line = new StringBuilder("{");
+		line.append("\"benchmark\": ").append(json(benchmark));
+		line.append(", \"timestamp\": ").append(json(format.format(new Date())));
+		line.append(", \"host\": ").append(json(getHost()));
+		line.append(", \"commit\": ").append(json(System.getenv("GIT_COMMIT")));
+		line.append(", \"params\": {");
+		boolean first = true;
+		for (Map.Entry<String, Object> param : params.entrySet()) {
+			line.append(first ? "" : ", ").append(json(param.getKey())).append(": ");
+			line.append((param.getValue() instanceof Number) ? param.getValue() : json(String.valueOf(param.getValue())));
+			first = false;
+		}
+		line.append("}, \"metrics\": {");
+		first = true;
+		for (Map.Entry<String, Number> metric : metrics.entrySet()) {
+			line.append(first ? "" : ", ").append(json(metric.getKey())).append(": ").append(metric.getValue());
+			first = false;
+		}
+		line.append("}}");
+
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, benchmark + ".jsonl"), true), StandardCharsets.UTF_8));
+		try {
+			out.println(line);
+		} finally {
+			out.close();
+		}
+		System.out.println(line); // SUPPRESS CHECKSTYLE SystemPrintln
+	}
+
+	private static String getHost() {
+		try {
+			return InetAddress.getLocalHost().getHostName();
+		} catch (UnknownHostException e) {
+			return null;
+		}
+	}
+
+	private static String json(String value) {
+		if (value == null) {
+			return "null";
+		}
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
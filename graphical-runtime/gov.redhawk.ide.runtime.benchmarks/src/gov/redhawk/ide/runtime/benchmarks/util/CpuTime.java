@@ -0,0 +1,107 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Measures CPU time used by the JVM's threads between two points, both in total and by the UI thread alone (which is
+ * how long the UI thread was busy rather than waiting for events).
+ * <pre>
+ * CpuTime cpu = CpuTime.start();
+ * ...
+ * cpu.stop();
+ * cpu.getTotalMs(); cpu.getUiThreadMs();
+ * </pre>
+ * Threads which exit between the two points aren't counted. {@link #getThreadsMs(Collection)} gives the part of the
+ * total used by particular threads, e.g. those serving in-process stubs, so it can be left out.
+ */
+public class CpuTime {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final long uiThreadId;
+	private final Map<Long, Long> startNanos;
+	private final Map<Long, Long> threadNanos = new HashMap<Long, Long>();
+	private long totalNanos = -1;
+	private long uiThreadNanos = -1;
+
+	private CpuTime() {
+		if (!THREADS.isThreadCpuTimeEnabled()) {
+			THREADS.setThreadCpuTimeEnabled(true);
+		}
+		uiThreadId = Display.getDefault().getThread().getId();
+		startNanos = threadCpuNanos();
+	}
+
+	public static CpuTime start() {
+		return new CpuTime();
+	}
+
+	public CpuTime stop() {
+		totalNanos = 0;
+		for (Map.Entry<Long, Long> thread : threadCpuNanos().entrySet()) {
+			Long start = startNanos.get(thread.getKey());
+			long used = thread.getValue() - ((start != null) ? start : 0);
+			threadNanos.put(thread.getKey(), used);
+			totalNanos += used;
+		}
+		Long ui = threadNanos.get(uiThreadId);
+		uiThreadNanos = (ui != null) ? ui : 0;
+		return this;
+	}
+
+	/**
+	 * @return CPU time used by all threads, in milliseconds
+	 */
+	public long getTotalMs() {
+		return totalNanos / 1000000;
+	}
+
+	/**
+	 * @return CPU time used by the UI thread, in milliseconds
+	 */
+	public long getUiThreadMs() {
+		return uiThreadNanos / 1000000;
+	}
+
+	/**
+	 * @param threadIds IDs of the threads to count (see {@link Thread#getId()})
+	 * @return CPU time used by those of the threads which were running when stopped, in milliseconds
+	 */
+	public long getThreadsMs(Collection<Long> threadIds) {
+		long nanos = 0;
+		for (Long id : threadIds) {
+			Long used = threadNanos.get(id);
+			if (used != null) {
+				nanos += used;
+			}
+		}
+		return nanos / 1000000;
+	}
+
+	private static Map<Long, Long> threadCpuNanos() {
+		Map<Long, Long> nanos = new HashMap<Long, Long>();
+		for (long id : THREADS.getAllThreadIds()) {
+			long time = THREADS.getThreadCpuTime(id);
+			if (time != -1) {
+				nanos.put(id, time);
+			}
+		}
+		return nanos;
+	}
+}
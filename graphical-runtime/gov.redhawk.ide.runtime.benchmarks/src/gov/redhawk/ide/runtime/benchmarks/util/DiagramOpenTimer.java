@@ -0,0 +1,156 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.draw2d.FigureCanvas;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.eclipse.graphiti.services.Graphiti;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefEditor;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.IntResult;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import mil.jpeojtrs.sca.sad.SadComponentInstantiation;
+import mil.jpeojtrs.sca.sad.SadConnectInterface;
+
+/**
+ * Times how long a diagram takes to open: until the diagram canvas is first painted, and until an edit part exists
+ * for every component instantiation (and connection) in the diagram.
+ */
+public class DiagramOpenTimer {
+
+	private final RHSWTGefBot gefBot;
+	private long firstPaintMs = -1;
+	private long allEditPartsMs = -1;
+
+	public DiagramOpenTimer(RHSWTGefBot gefBot) {
+		this.gefBot = gefBot;
+	}
+
+	/**
+	 * @param opener Opens the diagram; called from the test thread
+	 * @param title The title of the editor which will be opened
+	 * @param components The number of component instantiations the diagram should end up with
+	 * @param connections The number of connections the diagram should end up with
+	 * @param timeout
+	 * @return The editor
+	 */
+	public SWTBotGefEditor open(Runnable opener, String title, final int components, final int connections, long timeout) {
+		final long[] firstPaint = { -1 };
+		final Listener paintFilter = new Listener() {
+			@Override
+			public void handleEvent(Event event) {
+				if (firstPaint[0] == -1 && event.widget instanceof FigureCanvas) {
+					firstPaint[0] = System.nanoTime();
+				}
+			}
+		};
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				Display.getCurrent().addFilter(SWT.Paint, paintFilter);
+			}
+		});
+
+		long start = System.nanoTime();
+		try {
+			opener.run();
+			SWTBotGefEditor editor = gefBot.gefEditor(title);
+			final EditPartViewer viewer = editor.rootEditPart().part().getViewer();
+			gefBot.waitUntil(new DefaultCondition() {
+				private int componentCount;
+				private int connectionCount;
+
+				@Override
+				public boolean test() throws Exception {
+					componentCount = countBusinessObjects(viewer, SadComponentInstantiation.class);
+					connectionCount = countBusinessObjects(viewer, SadConnectInterface.class);
+					return componentCount >= components && connectionCount >= connections;
+				}
+
+				@Override
+				public String getFailureMessage() {
+					return String.format("Diagram has %d/%d component and %d/%d connection edit parts", componentCount, components, connectionCount,
+						connections);
+				}
+			}, timeout, 50);
+			allEditPartsMs = (System.nanoTime() - start) / 1000000;
+
+			gefBot.waitUntil(new DefaultCondition() {
+				@Override
+				public boolean test() throws Exception {
+					return firstPaint[0] != -1;
+				}
+
+				@Override
+				public String getFailureMessage() {
+					return "The diagram was never painted";
+				}
+			}, timeout, 50);
+			firstPaintMs = (firstPaint[0] - start) / 1000000;
+			return editor;
+		} finally {
+			UIThreadRunnable.syncExec(new VoidResult() {
+				@Override
+				public void run() {
+					Display.getCurrent().removeFilter(SWT.Paint, paintFilter);
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return Time from starting to open the diagram until the diagram canvas was first painted
+	 */
+	public long getFirstPaintMs() {
+		return firstPaintMs;
+	}
+
+	/**
+	 * @return Time from starting to open the diagram until all of the expected edit parts existed
+	 */
+	public long getAllEditPartsMs() {
+		return allEditPartsMs;
+	}
+
+	/**
+	 * Count the distinct business objects of a type which have an edit part in the viewer.
+	 */
+	public static int countBusinessObjects(final EditPartViewer viewer, final Class< ? > type) {
+		return UIThreadRunnable.syncExec(new IntResult() {
+			@Override
+			public Integer run() {
+				Set<Object> found = new HashSet<Object>();
+				for (Object part : viewer.getEditPartRegistry().values()) {
+					Object model = ((EditPart) part).getModel();
+					if (model instanceof PictogramElement) {
+						Object bo = Graphiti.getLinkService().getBusinessObjectForLinkedPictogramElement((PictogramElement) model);
+						if (type.isInstance(bo)) {
+							found.add(bo);
+						}
+					}
+				}
+				return found.size();
+			}
+		});
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Samples heap usage over a period to see whether it grows. {@link #sample()} forces a full GC first, so it's the
+ * live heap rather than garbage waiting to be collected; use it outside the measured window. Within the window,
+ * {@link #sampleCollected()} reads what was left after the JVM's own most recent collection, so sampling doesn't
+ * add GC pauses to the measurements. Growth is the least-squares slope through the samples.
+ * <pre>
+ * HeapSampler heap = new HeapSampler();
+ * heap.sample();
+ * ... (heap.sampleCollected() while the workload runs)
+ * heap.sample();
+ * heap.getGrowthMbPerMinute();
+ * </pre>
+ */
+public class HeapSampler {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+	private static final double MB = 1024 * 1024;
+
+	private final List<long[]> samples = new ArrayList<long[]>();
+
+	/**
+	 * Collect garbage and record the heap in use.
+	 * @return The heap in use, in MB
+	 */
+	public double sample() {
+		MEMORY.gc();
+		long used = MEMORY.getHeapMemoryUsage().getUsed();
+		samples.add(new long[] { System.nanoTime(), used });
+		return used / MB;
+	}
+
+	/**
+	 * Record the heap in use after the most recent garbage collection, without forcing one. Falls back to the heap
+	 * currently in use if the JVM doesn't report usage after collection.
+	 * @return The heap in use, in MB
+	 */
+	public double sampleCollected() {
+		long used = 0;
+		boolean reported = false;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			MemoryUsage usage = (pool.getType() == MemoryType.HEAP) ? pool.getCollectionUsage() : null;
+			if (usage != null) {
+				used += usage.getUsed();
+				reported = true;
+			}
+		}
+		if (!reported) {
+			used = MEMORY.getHeapMemoryUsage().getUsed();
+		}
+		samples.add(new long[] { System.nanoTime(), used });
+		return used / MB;
+	}
+
+	public int getSampleCount() {
+		return samples.size();
+	}
+
+	/**
+	 * @return The heap in use at the first sample, in MB
+	 */
+	public double getStartMb() {
+		return samples.isEmpty() ? -1 : samples.get(0)[1] / MB;
+	}
+
+	/**
+	 * @return The heap in use at the last sample, in MB
+	 */
+	public double getEndMb() {
+		return samples.isEmpty() ? -1 : samples.get(samples.size() - 1)[1] / MB;
+	}
+
+	/**
+	 * @return The trend in heap usage, in MB per minute (0 with fewer than two samples)
+	 */
+	public double getGrowthMbPerMinute() {
+		int n = samples.size();
+		if (n < 2) {
+			return 0;
+		}
+		long t0 = samples.get(0)[0];
+		double sumX = 0;
+		double sumY = 0;
+		for (long[] sample : samples) {
+			sumX += (sample[0] - t0) / 60e9;
+			sumY += sample[1] / MB;
+		}
+		double meanX = sumX / n;
+		double meanY = sumY / n;
+		double covariance = 0;
+		double variance = 0;
+		for (long[] sample : samples) {
+			double dx = (sample[0] - t0) / 60e9 - meanX;
+			covariance += dx * (sample[1] / MB - meanY);
+			variance += dx * dx;
+		}
+		return (variance == 0) ? 0 : covariance / variance;
+	}
+}
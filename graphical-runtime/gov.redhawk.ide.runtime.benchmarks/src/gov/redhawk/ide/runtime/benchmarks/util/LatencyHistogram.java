@@ -0,0 +1,72 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+/**
+ * Counts latencies in 1 ms buckets, for percentiles over far more samples than are worth keeping individually (e.g.
+ * one per console line). Latencies over the range go in the last bucket, and negative ones (clock skew) in the first.
+ * <pre>
+ * LatencyHistogram latency = new LatencyHistogram(60000);
+ * latency.record(ms);
+ * ...
+ * latency.getPercentileMs(99);
+ * </pre>
+ */
+public class LatencyHistogram {
+
+	private final long[] buckets;
+	private long count;
+	private long maxMs;
+
+	/**
+	 * @param rangeMs The largest latency counted exactly, in milliseconds
+	 */
+	public LatencyHistogram(int rangeMs) {
+		buckets = new long[rangeMs + 1];
+	}
+
+	public synchronized void record(long ms) {
+		int bucket = (int) Math.max(0, Math.min(ms, buckets.length - 1));
+		buckets[bucket]++;
+		count++;
+		maxMs = Math.max(maxMs, ms);
+	}
+
+	public synchronized long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return The largest latency recorded, in milliseconds (even if it's over the range)
+	 */
+	public synchronized long getMaxMs() {
+		return maxMs;
+	}
+
+	/**
+	 * @param percentile 0 - 100
+	 * @return The nearest-rank percentile, in milliseconds (-1 if nothing has been recorded)
+	 */
+	public synchronized long getPercentileMs(double percentile) {
+		if (count == 0) {
+			return -1;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return i;
+			}
+		}
+		return buckets.length - 1;
+	}
+}
@@ -0,0 +1,149 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Frame;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.awt.SWT_AWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+
+/**
+ * Counts repaints inside each of a set of SWT controls (e.g. views). Controls which embed AWT content (an
+ * {@link SWT#EMBEDDED} composite, as the NeXtMidas plots do) are counted by the AWT paint events in their embedded
+ * frames, since that content doesn't generate SWT paint events; other controls by the SWT paint events of the control
+ * and its descendants.
+ * <pre>
+ * PaintCounter counter = new PaintCounter(view1.getWidget(), view2.getWidget());
+ * counter.start();
+ * ...
+ * counter.stop();
+ * counter.getCount(0);
+ * </pre>
+ */
+public class PaintCounter {
+
+	private final Control[] roots;
+	private final AtomicIntegerArray counts;
+	private final List<List<Frame>> frames = new ArrayList<List<Frame>>();
+
+	private final Listener swtListener = new Listener() {
+		@Override
+		public void handleEvent(Event event) {
+			if (!(event.widget instanceof Control)) {
+				return;
+			}
+			for (Control control = (Control) event.widget; control != null; control = control.getParent()) {
+				for (int i = 0; i < roots.length; i++) {
+					if (control == roots[i]) {
+						if (frames.get(i).isEmpty()) {
+							counts.incrementAndGet(i);
+						}
+						return;
+					}
+				}
+			}
+		}
+	};
+
+	private final AWTEventListener awtListener = new AWTEventListener() {
+		@Override
+		public void eventDispatched(AWTEvent event) {
+			if (!(event.getSource() instanceof Component)) {
+				return;
+			}
+			for (Component component = (Component) event.getSource(); component != null; component = component.getParent()) {
+				for (int i = 0; i < roots.length; i++) {
+					if (frames.get(i).contains(component)) {
+						counts.incrementAndGet(i);
+						return;
+					}
+				}
+			}
+		}
+	};
+
+	public PaintCounter(Control... roots) {
+		this.roots = roots;
+		this.counts = new AtomicIntegerArray(roots.length);
+	}
+
+	/**
+	 * Start counting. Call from any thread.
+	 */
+	public void start() {
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				frames.clear();
+				for (Control root : roots) {
+					List<Frame> rootFrames = new ArrayList<Frame>();
+					findFrames(root, rootFrames);
+					frames.add(rootFrames);
+				}
+				Display.getCurrent().addFilter(SWT.Paint, swtListener);
+			}
+		});
+		Toolkit.getDefaultToolkit().addAWTEventListener(awtListener, AWTEvent.PAINT_EVENT_MASK);
+	}
+
+	/**
+	 * Stop counting. Call from any thread.
+	 */
+	public void stop() {
+		Toolkit.getDefaultToolkit().removeAWTEventListener(awtListener);
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				Display.getCurrent().removeFilter(SWT.Paint, swtListener);
+			}
+		});
+	}
+
+	/**
+	 * @param index The index of the control, in the order passed to the constructor
+	 * @return The number of repaints counted inside the control
+	 */
+	public int getCount(int index) {
+		return counts.get(index);
+	}
+
+	public int size() {
+		return roots.length;
+	}
+
+	private static void findFrames(Control control, List<Frame> found) {
+		if (control instanceof Composite) {
+			if ((control.getStyle() & SWT.EMBEDDED) != 0) {
+				Frame frame = SWT_AWT.getFrame((Composite) control);
+				if (frame != null) {
+					found.add(frame);
+				}
+			}
+			for (Control child : ((Composite) control).getChildren()) {
+				findFrames(child, found);
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Records the most heap in use between two points, by polling from a background thread. Unlike {@link HeapSampler}
+ * this doesn't collect garbage, so it's the peak the JVM actually had to hold (live objects and garbage). Spikes
+ * shorter than the polling interval can be missed.
+ * <pre>
+ * PeakHeap heap = PeakHeap.start();
+ * ...
+ * heap.stop();
+ * heap.getPeakMb();
+ * </pre>
+ */
+public class PeakHeap {
+
+	private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+	private static final double MB = 1024 * 1024;
+	private static final long INTERVAL = 10;
+
+	private final long startUsed;
+	private volatile long peakUsed;
+	private volatile boolean running = true;
+	private final Thread poller;
+
+	private PeakHeap() {
+		startUsed = MEMORY.getHeapMemoryUsage().getUsed();
+		peakUsed = startUsed;
+		poller = new Thread("Peak heap poller") {
+			@Override
+			public void run() {
+				while (running) {
+					poll();
+					try {
+						Thread.sleep(INTERVAL);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}
+		};
+		poller.setDaemon(true);
+		poller.start();
+	}
+
+	public static PeakHeap start() {
+		return new PeakHeap();
+	}
+
+	private void poll() {
+		long used = MEMORY.getHeapMemoryUsage().getUsed();
+		if (used > peakUsed) {
+			peakUsed = used;
+		}
+	}
+
+	public void stop() throws InterruptedException {
+		running = false;
+		poller.interrupt();
+		poller.join();
+		poll();
+	}
+
+	/**
+	 * @return The heap in use at the start, in MB
+	 */
+	public double getStartMb() {
+		return startUsed / MB;
+	}
+
+	/**
+	 * @return The most heap in use until {@link #stop()}, in MB
+	 */
+	public double getPeakMb() {
+		return peakUsed / MB;
+	}
+}
@@ -0,0 +1,433 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Generates a Python component with an arbitrarily large PRF for benchmarks: N simples (alternating string and
+ * double), simple sequences of L doubles, and struct sequences of S structs (each a string and a double), and optionally
+ * P uses ports. The Python implementation declares every property the way the code generators would, and does no
+ * processing other than (optionally) logging at a fixed rate.
+ * <pre>
+ * new PropertiesComponentGenerator("LargeProps").simples(2000).simpleSequences(10, 5000).structSequences(5, 500)
+ * 	.write(componentsDir);
+ * </pre>
+ * It can also be run from the command line:
+ * <code>PropertiesComponentGenerator &lt;componentsDir&gt; &lt;simples&gt; [sequenceLength] [structs]</code>.
+ */
+public class PropertiesComponentGenerator {
+
+	public static final String IMPLEMENTATION = "python";
+
+	/**
+	 * The start of each line logged by a component with a {@link #logRate(int)}, which is followed by a sequence number
+	 * and the time it was logged (milliseconds since the epoch): <code>BENCHMARK_LOG 42 1476712345678</code>.
+	 */
+	public static final String LOG_LINE_PREFIX = "BENCHMARK_LOG";
+
+	private static final String INDENT = "        ";
+
+	private final String name;
+	private final String baseName;
+	private int simples = 10;
+	private int simpleSequences = 0;
+	private int sequenceLength = 0;
+	private int structSequences = 0;
+	private int structs = 0;
+	private int usesPorts = 0;
+	private String componentType = "resource";
+	private int logRate = 0;
+
+	/**
+	 * @param name The component name, optionally namespaced (e.g. <code>ns.Name</code>); the last segment must also be a
+	 * valid Python identifier
+	 */
+	public PropertiesComponentGenerator(String name) {
+		this.name = name;
+		this.baseName = name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	public PropertiesComponentGenerator simples(int count) {
+		this.simples = count;
+		return this;
+	}
+
+	public PropertiesComponentGenerator simpleSequences(int count, int length) {
+		this.simpleSequences = count;
+		this.sequenceLength = length;
+		return this;
+	}
+
+	public PropertiesComponentGenerator structSequences(int count, int structsEach) {
+		this.structSequences = count;
+		this.structs = structsEach;
+		return this;
+	}
+
+	/**
+	 * Only the SCD declares the ports; the Python implementation doesn't provide them.
+	 */
+	public PropertiesComponentGenerator usesPorts(int count) {
+		this.usesPorts = count;
+		return this;
+	}
+
+	/**
+	 * @param type The SCD component type: <code>resource</code> (the default), <code>device</code> or
+	 * <code>service</code>. Only the descriptors change; the Python implementation is always a component's, so devices
+	 * and services are for loading into an SDRROOT rather than launching.
+	 */
+	public PropertiesComponentGenerator componentType(String type) {
+		this.componentType = type;
+		return this;
+	}
+
+	/**
+	 * @param linesPerSecond Once started, the component logs this many lines per second at TRACE level (see
+	 * {@link #LOG_LINE_PREFIX}), so they're only output once its log level is set to TRACE. 0 (the default) logs
+	 * nothing.
+	 */
+	public PropertiesComponentGenerator logRate(int linesPerSecond) {
+		this.logRate = linesPerSecond;
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The number of top-level properties
+	 */
+	public int getPropertyCount() {
+		return simples + simpleSequences + structSequences;
+	}
+
+	public static String simpleId(int index) {
+		return "simple_" + (index + 1);
+	}
+
+	public static String simpleSequenceId(int index) {
+		return "simpleSeq_" + (index + 1);
+	}
+
+	public static String structSequenceId(int index) {
+		return "structSeq_" + (index + 1);
+	}
+
+	public static String portName(int index) {
+		return "dataFloat_out_" + (index + 1);
+	}
+
+	/**
+	 * @return The names of the component's ports
+	 */
+	public String[] getPortNames() {
+		String[] names = new String[usesPorts];
+		for (int i = 0; i < usesPorts; i++) {
+			names[i] = portName(i);
+		}
+		return names;
+	}
+
+	/**
+	 * Write the component to <code>&lt;dir&gt;/&lt;name&gt;</code>, with a directory per namespace segment (as the
+	 * SDRROOT lays out namespaced components: <code>ns.Name</code> is written to <code>&lt;dir&gt;/ns/Name</code>).
+	 * @param dir Usually the components directory of an SDRROOT
+	 * @return The SPD file written
+	 * @throws IOException
+	 */
+	public File write(File dir) throws IOException {
+		File componentDir = new File(dir, name.replace('.', File.separatorChar));
+		File pythonDir = new File(componentDir, IMPLEMENTATION);
+		if (!pythonDir.isDirectory() && !pythonDir.mkdirs()) {
+			throw new IOException("Unable to create " + pythonDir);
+		}
+		File spd = new File(componentDir, baseName + ".spd.xml");
+		write(spd, generateSpd());
+		write(new File(componentDir, baseName + ".scd.xml"), generateScd());
+		write(new File(componentDir, baseName + ".prf.xml"), generatePrf());
+		File python = new File(pythonDir, baseName + ".py");
+		write(python, generatePython());
+		if (!python.setExecutable(true)) {
+			throw new IOException("Unable to make " + python + " executable");
+		}
+		return spd;
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		try {
+			out.write(contents);
+		} finally {
+			out.close();
+		}
+	}
+
+	public String generateSpd() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE softpkg PUBLIC \"-//JTRS//DTD SCA V2.2.2 SPD//EN\" \"softpkg.dtd\">\n");
+		sb.append(String.format("<softpkg id=\"DCE:%s\" name=\"%s\" type=\"2.0.0\">%n", UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)), name));
+		sb.append("  <propertyfile type=\"PRF\">\n");
+		sb.append(String.format("    <localfile name=\"%s.prf.xml\"/>%n", baseName));
+		sb.append("  </propertyfile>\n");
+		sb.append("  <descriptor>\n");
+		sb.append(String.format("    <localfile name=\"%s.scd.xml\"/>%n", baseName));
+		sb.append("  </descriptor>\n");
+		sb.append(String.format("  <implementation id=\"%s\">%n", IMPLEMENTATION));
+		sb.append("    <code type=\"Executable\">\n");
+		sb.append(String.format("      <localfile name=\"%s\"/>%n", IMPLEMENTATION));
+		sb.append(String.format("      <entrypoint>%s/%s.py</entrypoint>%n", IMPLEMENTATION, baseName));
+		sb.append("    </code>\n");
+		sb.append("    <programminglanguage name=\"Python\"/>\n");
+		sb.append("    <humanlanguage name=\"EN\"/>\n");
+		sb.append("    <runtime name=\"python\" version=\"2.6.6\"/>\n");
+		sb.append("    <os name=\"Linux\"/>\n");
+		sb.append("  </implementation>\n");
+		sb.append("</softpkg>\n");
+		return sb.toString();
+	}
+
+	public String generateScd() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE softwarecomponent PUBLIC \"-//JTRS//DTD SCA V2.2.2 SCD//EN\" \"softwarecomponent.dtd\">\n");
+		sb.append("<softwarecomponent>\n");
+		sb.append("  <corbaversion>2.2</corbaversion>\n");
+		boolean device = "device".equals(componentType);
+		sb.append(String.format("  <componentrepid repid=\"IDL:CF/%s:1.0\"/>%n", device ? "Device" : "Resource"));
+		sb.append(String.format("  <componenttype>%s</componenttype>%n", componentType));
+		sb.append("  <componentfeatures>\n");
+		if (device) {
+			sb.append("    <supportsinterface repid=\"IDL:CF/Device:1.0\" supportsname=\"Device\"/>\n");
+		}
+		String[] supported = { "Resource", "LifeCycle", "TestableObject", "PropertyEmitter", "PropertySet", "PortSet", "PortSupplier", "Logging",
+			"LogEventConsumer", "LogConfiguration" };
+		for (String iface : supported) {
+			sb.append(String.format("    <supportsinterface repid=\"IDL:CF/%s:1.0\" supportsname=\"%s\"/>%n", iface, iface));
+		}
+		if (usesPorts == 0) {
+			sb.append("    <ports/>\n");
+		} else {
+			sb.append("    <ports>\n");
+			for (String port : getPortNames()) {
+				sb.append(String.format("      <uses repid=\"IDL:BULKIO/dataFloat:1.0\" usesname=\"%s\">%n", port));
+				sb.append("        <porttype type=\"data\"/>\n");
+				sb.append("      </uses>\n");
+			}
+			sb.append("    </ports>\n");
+		}
+		sb.append("  </componentfeatures>\n");
+		sb.append("  <interfaces>\n");
+		if (device) {
+			sb.append("    <interface name=\"Device\" repid=\"IDL:CF/Device:1.0\">\n");
+			sb.append("      <inheritsinterface repid=\"IDL:CF/Resource:1.0\"/>\n");
+			sb.append("    </interface>\n");
+		}
+		String[][] interfaces = { { "Resource", "LifeCycle", "TestableObject", "PropertyEmitter", "PortSet", "Logging" }, { "LifeCycle" },
+			{ "TestableObject" }, { "PropertyEmitter", "PropertySet" }, { "PropertySet" }, { "PortSet", "PortSupplier" }, { "PortSupplier" },
+			{ "Logging", "LogEventConsumer", "LogConfiguration" }, { "LogEventConsumer" }, { "LogConfiguration" } };
+		for (String[] iface : interfaces) {
+			if (iface.length == 1) {
+				sb.append(String.format("    <interface name=\"%s\" repid=\"IDL:CF/%s:1.0\"/>%n", iface[0], iface[0]));
+				continue;
+			}
+			sb.append(String.format("    <interface name=\"%s\" repid=\"IDL:CF/%s:1.0\">%n", iface[0], iface[0]));
+			for (int i = 1; i < iface.length; i++) {
+				sb.append(String.format("      <inheritsinterface repid=\"IDL:CF/%s:1.0\"/>%n", iface[i]));
+			}
+			sb.append("    </interface>\n");
+		}
+		if (usesPorts > 0) {
+			sb.append("    <interface name=\"dataFloat\" repid=\"IDL:BULKIO/dataFloat:1.0\">\n");
+			sb.append("      <inheritsinterface repid=\"IDL:BULKIO/ProvidesPortStatisticsProvider:1.0\"/>\n");
+			sb.append("      <inheritsinterface repid=\"IDL:BULKIO/updateSRI:1.0\"/>\n");
+			sb.append("    </interface>\n");
+		}
+		sb.append("  </interfaces>\n");
+		sb.append("</softwarecomponent>\n");
+		return sb.toString();
+	}
+
+	public String generatePrf() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE properties PUBLIC \"-//JTRS//DTD SCA V2.2.2 PRF//EN\" \"properties.dtd\">\n");
+		sb.append("<properties>\n");
+		for (int i = 0; i < simples; i++) {
+			String id = simpleId(i);
+			sb.append(String.format("  <simple id=\"%s\" mode=\"readwrite\" name=\"%s\" type=\"%s\">%n", id, id, simpleType(i)));
+			sb.append(String.format("    <value>%s</value>%n", simpleValue(i)));
+			sb.append("    <kind kindtype=\"property\"/>\n");
+			sb.append("    <action type=\"external\"/>\n");
+			sb.append("  </simple>\n");
+		}
+		for (int i = 0; i < simpleSequences; i++) {
+			String id = simpleSequenceId(i);
+			sb.append(String.format("  <simplesequence id=\"%s\" mode=\"readwrite\" name=\"%s\" type=\"double\">%n", id, id));
+			sb.append("    <values>\n");
+			for (int j = 0; j < sequenceLength; j++) {
+				sb.append(String.format("      <value>%d.5</value>%n", j));
+			}
+			sb.append("    </values>\n");
+			sb.append("    <kind kindtype=\"property\"/>\n");
+			sb.append("    <action type=\"external\"/>\n");
+			sb.append("  </simplesequence>\n");
+		}
+		for (int i = 0; i < structSequences; i++) {
+			String id = structSequenceId(i);
+			sb.append(String.format("  <structsequence id=\"%s\" mode=\"readwrite\" name=\"%s\">%n", id, id));
+			sb.append(String.format("    <struct id=\"%sStruct\" name=\"%sStruct\">%n", id, id));
+			sb.append(String.format("      <simple id=\"%s_name\" name=\"%s_name\" type=\"string\"/>%n", id, id));
+			sb.append(String.format("      <simple id=\"%s_value\" name=\"%s_value\" type=\"double\"/>%n", id, id));
+			sb.append("    </struct>\n");
+			for (int j = 0; j < structs; j++) {
+				sb.append("    <structvalue>\n");
+				sb.append(String.format("      <simpleref refid=\"%s_name\" value=\"struct_%d\"/>%n", id, j + 1));
+				sb.append(String.format("      <simpleref refid=\"%s_value\" value=\"%d.5\"/>%n", id, j));
+				sb.append("    </structvalue>\n");
+			}
+			sb.append("    <configurationkind kindtype=\"property\"/>\n");
+			sb.append("  </structsequence>\n");
+		}
+		sb.append("</properties>\n");
+		return sb.toString();
+	}
+
+	public String generatePython() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("#!/usr/bin/env python\n");
+		sb.append("#\n");
+		sb.append("# AUTO-GENERATED CODE.  DO NOT MODIFY!\n");
+		sb.append("#\n");
+		sb.append(String.format("# Source: %s.spd.xml%n", baseName));
+		sb.append("from ossie.cf import CF__POA\n");
+		sb.append("from ossie.resource import start_component\n");
+		sb.append("from ossie.component import Component\n");
+		sb.append("from ossie.threadedcomponent import *\n");
+		sb.append("from ossie.properties import simple_property\n");
+		sb.append("from ossie.properties import simpleseq_property\n");
+		sb.append("from ossie.properties import structseq_property\n");
+		if (logRate > 0) {
+			sb.append("import time\n");
+		}
+		sb.append("\n");
+		sb.append(String.format("class %s_i(CF__POA.Resource, Component, ThreadedComponent):%n", baseName));
+		sb.append(INDENT).append("def __init__(self, identifier, execparams):\n");
+		sb.append(INDENT).append("    loggerName = (execparams['NAME_BINDING'].replace('/', '.')).rsplit(\"_\", 1)[0]\n");
+		sb.append(INDENT).append("    Component.__init__(self, identifier, execparams, loggerName=loggerName)\n");
+		sb.append(INDENT).append("    ThreadedComponent.__init__(self)\n");
+		if (logRate > 0) {
+			sb.append(INDENT).append("    self.logStart = None\n");
+			sb.append(INDENT).append("    self.logCount = 0\n");
+		}
+		sb.append("\n");
+		sb.append(INDENT).append("def process(self):\n");
+		if (logRate > 0) {
+			sb.append(INDENT).append("    if self.logStart is None:\n");
+			sb.append(INDENT).append("        self.logStart = time.time()\n");
+			sb.append(INDENT).append(String.format("    due = int((time.time() - self.logStart) * %d)%n", logRate));
+			sb.append(INDENT).append("    if self.logCount >= due:\n");
+			sb.append(INDENT).append("        time.sleep(0.001)\n");
+			sb.append(INDENT).append("    while self.logCount < due:\n");
+			sb.append(INDENT).append(String.format("        self._log.trace(\"%s %%d %%d\" %% (self.logCount, int(time.time() * 1000)))%n", LOG_LINE_PREFIX));
+			sb.append(INDENT).append("        self.logCount += 1\n");
+			sb.append(INDENT).append("    return NORMAL\n");
+		} else {
+			sb.append(INDENT).append("    return NOOP\n");
+		}
+		sb.append("\n");
+		for (int i = 0; i < simples; i++) {
+			String id = simpleId(i);
+			sb.append(INDENT).append(String.format("%s = simple_property(id_=\"%s\", name=\"%s\", type_=\"%s\", defvalue=%s, mode=\"readwrite\", "
+				+ "action=\"external\", kinds=(\"property\",))%n", id, id, id, simpleType(i), pythonValue(i)));
+		}
+		for (int i = 0; i < simpleSequences; i++) {
+			String id = simpleSequenceId(i);
+			sb.append(INDENT).append(String.format("%s = simpleseq_property(id_=\"%s\", name=\"%s\", type_=\"double\", defvalue=[", id, id, id));
+			for (int j = 0; j < sequenceLength; j++) {
+				sb.append(j == 0 ? "" : ", ").append(j).append(".5");
+			}
+			sb.append("], mode=\"readwrite\", action=\"external\", kinds=(\"property\",))\n");
+		}
+		for (int i = 0; i < structSequences; i++) {
+			String id = structSequenceId(i);
+			String structClass = "Struct" + (i + 1);
+			sb.append("\n");
+			sb.append(INDENT).append(String.format("class %s(object):%n", structClass));
+			sb.append(INDENT).append(String.format("    name = simple_property(id_=\"%s_name\", name=\"%s_name\", type_=\"string\")%n", id, id));
+			sb.append(INDENT).append(String.format("    value = simple_property(id_=\"%s_value\", name=\"%s_value\", type_=\"double\")%n", id, id));
+			sb.append("\n");
+			sb.append(INDENT).append("    def __init__(self, name=\"\", value=0.0):\n");
+			sb.append(INDENT).append("        self.name = name\n");
+			sb.append(INDENT).append("        self.value = value\n");
+			sb.append("\n");
+			sb.append(INDENT).append("    @classmethod\n");
+			sb.append(INDENT).append("    def getId(cls):\n");
+			sb.append(INDENT).append(String.format("        return \"%sStruct\"%n", id));
+			sb.append("\n");
+			sb.append(INDENT).append("    @classmethod\n");
+			sb.append(INDENT).append("    def isStruct(cls):\n");
+			sb.append(INDENT).append("        return True\n");
+			sb.append("\n");
+			sb.append(INDENT).append("    def getMembers(self):\n");
+			sb.append(INDENT).append(String.format("        return [(\"%s_name\", self.name), (\"%s_value\", self.value)]%n", id, id));
+			sb.append("\n");
+			sb.append(INDENT).append(String.format("%s = structseq_property(id_=\"%s\", name=\"%s\", structdef=%s, defvalue=[", id, id, id, structClass));
+			for (int j = 0; j < structs; j++) {
+				sb.append(j == 0 ? "" : ", ").append(String.format("%s(\"struct_%d\", %d.5)", structClass, j + 1, j));
+			}
+			sb.append("], configurationkind=(\"property\",), mode=\"readwrite\")\n");
+		}
+		sb.append("\n");
+		sb.append("if __name__ == '__main__':\n");
+		sb.append(String.format("    start_component(%s_i)%n", baseName));
+		return sb.toString();
+	}
+
+	private static String simpleType(int index) {
+		return (index % 2 == 0) ? "string" : "double";
+	}
+
+	private static String simpleValue(int index) {
+		return (index % 2 == 0) ? "value_" + (index + 1) : (index + 1) + ".5";
+	}
+
+	private static String pythonValue(int index) {
+		return (index % 2 == 0) ? "\"" + simpleValue(index) + "\"" : simpleValue(index);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: PropertiesComponentGenerator <componentsDir> <simples> [sequenceLength] [structs]"); // SUPPRESS CHECKSTYLE SystemPrintln
+			System.exit(1);
+		}
+		int simples = Integer.parseInt(args[1]);
+		int length = (args.length > 2) ? Integer.parseInt(args[2]) : 0;
+		int structs = (args.length > 3) ? Integer.parseInt(args[3]) : 0;
+		PropertiesComponentGenerator generator = new PropertiesComponentGenerator("LargeProps_" + simples).simples(simples);
+		if (length > 0) {
+			generator.simpleSequences(10, length);
+		}
+		if (structs > 0) {
+			generator.structSequences(5, structs);
+		}
+		System.out.println(generator.write(new File(args[0]))); // SUPPRESS CHECKSTYLE SystemPrintln
+	}
+}
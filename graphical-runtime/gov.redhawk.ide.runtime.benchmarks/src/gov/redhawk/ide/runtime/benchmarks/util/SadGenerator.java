@@ -0,0 +1,273 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Generates SAD files of arbitrary size for benchmarks: N instances of rh.HardLimit, M connections between them
+ * (dataFloat_out to dataFloat_in, spread around the waveform so there are no self-connections), and optionally host
+ * collocations grouping every K instances. With {@link #signalSource(boolean)}, an rh.SigGen instance feeds the first
+ * instance so data flows through the connections once the waveform is started. With
+ * {@link #component(String, String)}, the instances are of another component instead.
+ * <pre>
+ * String sad = new SadGenerator("Large_500").components(500).connections(750).collocationSize(10).generate();
+ * </pre>
+ * It can also be run from the command line:
+ * <code>SadGenerator &lt;outputDir&gt; &lt;components&gt; [connections] [collocationSize]</code>, which writes
+ * <code>&lt;outputDir&gt;/&lt;name&gt;/&lt;name&gt;.sad.xml</code> in the SDRROOT waveform layout.
+ */
+public class SadGenerator {
+
+	public static final String COMPONENT_SPD = "/components/rh/HardLimit/HardLimit.spd.xml";
+	public static final String INSTANCE_PREFIX = "HardLimit_";
+	public static final String USES_PORT = "dataFloat_out";
+	public static final String PROVIDES_PORT = "dataFloat_in";
+
+	public static final String SOURCE_SPD = "/components/rh/SigGen/SigGen.spd.xml";
+	public static final String SOURCE_INSTANCE = "SigGen_1";
+	public static final String SOURCE_CONNECTION = "connection_source";
+
+	private static final String SOURCE_FILE_ID = "SigGen_" + UUID.nameUUIDFromBytes(SOURCE_SPD.getBytes(StandardCharsets.UTF_8));
+
+	private final String name;
+	private int components = 10;
+	private int connections = 0;
+	private int collocationSize = 0;
+	private boolean signalSource = false;
+	private String componentSpd = COMPONENT_SPD;
+	private String instancePrefix = INSTANCE_PREFIX;
+
+	public SadGenerator(String name) {
+		this.name = name;
+	}
+
+	public SadGenerator components(int count) {
+		this.components = count;
+		return this;
+	}
+
+	public SadGenerator connections(int count) {
+		this.connections = count;
+		return this;
+	}
+
+	/**
+	 * @param size Put every <code>size</code> instances into a host collocation (0 for none)
+	 */
+	public SadGenerator collocationSize(int size) {
+		this.collocationSize = size;
+		return this;
+	}
+
+	/**
+	 * @param source Add an rh.SigGen instance ({@value #SOURCE_INSTANCE}) connected to the first instance
+	 */
+	public SadGenerator signalSource(boolean source) {
+		this.signalSource = source;
+		return this;
+	}
+
+	/**
+	 * @param spd The path of the component's SPD in the domain file system, e.g.
+	 * <code>/components/Name/Name.spd.xml</code>. Connections need the component to have the same ports as
+	 * rh.HardLimit.
+	 * @param prefix The prefix of the instance names, e.g. <code>Name_</code>
+	 */
+	public SadGenerator component(String spd, String prefix) {
+		this.componentSpd = spd;
+		this.instancePrefix = prefix;
+		return this;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param index 0-based
+	 * @return The usage name / instantiation ID of an rh.HardLimit instance (the default component)
+	 */
+	public static String instanceName(int index) {
+		return INSTANCE_PREFIX + (index + 1);
+	}
+
+	/**
+	 * @param index 0-based
+	 * @return The usage name / instantiation ID of an instance
+	 */
+	public String getInstanceName(int index) {
+		return instancePrefix + (index + 1);
+	}
+
+	public String generate() {
+		if (components < 1) {
+			throw new IllegalArgumentException("A waveform needs at least one component");
+		}
+		if (components == 1 && connections > 0) {
+			throw new IllegalArgumentException("Connections need at least two components");
+		}
+
+		String componentFileId = instancePrefix + UUID.nameUUIDFromBytes(componentSpd.getBytes(StandardCharsets.UTF_8));
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE softwareassembly PUBLIC \"-//JTRS//DTD SCA V2.2.2 SAD//EN\" \"softwareassembly.dtd\">\n");
+		sb.append(String.format("<softwareassembly id=\"DCE:%s\" name=\"%s\" version=\"1.0.0\">%n", UUID.randomUUID(), name));
+		sb.append("  <componentfiles>\n");
+		sb.append(String.format("    <componentfile id=\"%s\" type=\"SPD\">%n", componentFileId));
+		sb.append(String.format("      <localfile name=\"%s\"/>%n", componentSpd));
+		sb.append("    </componentfile>\n");
+		if (signalSource) {
+			sb.append(String.format("    <componentfile id=\"%s\" type=\"SPD\">%n", SOURCE_FILE_ID));
+			sb.append(String.format("      <localfile name=\"%s\"/>%n", SOURCE_SPD));
+			sb.append("    </componentfile>\n");
+		}
+		sb.append("  </componentfiles>\n");
+
+		sb.append("  <partitioning>\n");
+		for (int i = 0; i < components; i++) {
+			boolean collocated = collocationSize > 0;
+			if (collocated && i % collocationSize == 0) {
+				int collocation = i / collocationSize + 1;
+				sb.append(String.format("    <hostcollocation id=\"collocation_%d\" name=\"collocation_%d\">%n", collocation, collocation));
+			}
+			appendPlacement(sb, componentFileId, getInstanceName(i), i, collocated ? "      " : "    ");
+			if (collocated && (i % collocationSize == collocationSize - 1 || i == components - 1)) {
+				sb.append("    </hostcollocation>\n");
+			}
+		}
+		if (signalSource) {
+			appendPlacement(sb, SOURCE_FILE_ID, SOURCE_INSTANCE, components, "    ");
+		}
+		sb.append("  </partitioning>\n");
+
+		sb.append("  <assemblycontroller>\n");
+		sb.append(String.format("    <componentinstantiationref refid=\"%s\"/>%n", getInstanceName(0)));
+		sb.append("  </assemblycontroller>\n");
+
+		if (connections > 0 || signalSource) {
+			sb.append("  <connections>\n");
+			for (int j = 0; j < connections; j++) {
+				sb.append(connectInterface(j));
+			}
+			if (signalSource) {
+				sb.append(connectInterface(SOURCE_CONNECTION, SOURCE_INSTANCE, getInstanceName(0)));
+			}
+			sb.append("  </connections>\n");
+		}
+		sb.append("</softwareassembly>\n");
+		return sb.toString();
+	}
+
+	/**
+	 * @param index 0-based. Indexes at or past {@link #connections(int)} give connections which aren't in the generated
+	 * SAD, for adding to it later.
+	 * @return The <code>connectinterface</code> element for a connection
+	 */
+	public String connectInterface(int index) {
+		return connectInterface(connectionId(index), getInstanceName(connectionUses(index)), getInstanceName(connectionProvides(index)));
+	}
+
+	private static String connectInterface(String id, String usesInstance, String providesInstance) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("    <connectinterface id=\"%s\">%n", id));
+		sb.append("      <usesport>\n");
+		sb.append(String.format("        <usesidentifier>%s</usesidentifier>%n", USES_PORT));
+		sb.append(String.format("        <componentinstantiationref refid=\"%s\"/>%n", usesInstance));
+		sb.append("      </usesport>\n");
+		sb.append("      <providesport>\n");
+		sb.append(String.format("        <providesidentifier>%s</providesidentifier>%n", PROVIDES_PORT));
+		sb.append(String.format("        <componentinstantiationref refid=\"%s\"/>%n", providesInstance));
+		sb.append("      </providesport>\n");
+		sb.append("    </connectinterface>\n");
+		return sb.toString();
+	}
+
+	/**
+	 * @param index 0-based
+	 * @return The ID of a connection
+	 */
+	public static String connectionId(int index) {
+		return "connection_" + (index + 1);
+	}
+
+	/**
+	 * @param index 0-based
+	 * @return The index of the instance a connection's uses port belongs to
+	 */
+	public int connectionUses(int index) {
+		return index % components;
+	}
+
+	/**
+	 * @param index 0-based
+	 * @return The index of the instance a connection's provides port belongs to
+	 */
+	public int connectionProvides(int index) {
+		// Each pass over the instances connects to a neighbor one further away, so every pair is distinct
+		return (connectionUses(index) + 1 + (index / components) % (components - 1)) % components;
+	}
+
+	private void appendPlacement(StringBuilder sb, String fileId, String instance, int startOrder, String indent) {
+		sb.append(indent).append("<componentplacement>\n");
+		sb.append(indent).append(String.format("  <componentfileref refid=\"%s\"/>%n", fileId));
+		sb.append(indent).append(String.format("  <componentinstantiation id=\"%s\" startorder=\"%d\">%n", instance, startOrder));
+		sb.append(indent).append(String.format("    <usagename>%s</usagename>%n", instance));
+		sb.append(indent).append("    <findcomponent>\n");
+		sb.append(indent).append(String.format("      <namingservice name=\"%s\"/>%n", instance));
+		sb.append(indent).append("    </findcomponent>\n");
+		sb.append(indent).append("  </componentinstantiation>\n");
+		sb.append(indent).append("</componentplacement>\n");
+	}
+
+	/**
+	 * Write the SAD to <code>&lt;dir&gt;/&lt;name&gt;/&lt;name&gt;.sad.xml</code>. A namespaced name gets a directory per
+	 * segment: <code>ns.Name</code> is written to <code>&lt;dir&gt;/ns/Name/Name.sad.xml</code>.
+	 * @return The file written
+	 * @throws IOException
+	 */
+	public File write(File dir) throws IOException {
+		File waveformDir = new File(dir, name.replace('.', File.separatorChar));
+		if (!waveformDir.isDirectory() && !waveformDir.mkdirs()) {
+			throw new IOException("Unable to create " + waveformDir);
+		}
+		File file = new File(waveformDir, name.substring(name.lastIndexOf('.') + 1) + ".sad.xml");
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		try {
+			out.write(generate());
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: SadGenerator <outputDir> <components> [connections] [collocationSize]"); // SUPPRESS CHECKSTYLE SystemPrintln
+			System.exit(1);
+		}
+		int components = Integer.parseInt(args[1]);
+		SadGenerator generator = new SadGenerator("Generated_" + components).components(components);
+		if (args.length > 2) {
+			generator.connections(Integer.parseInt(args[2]));
+		}
+		if (args.length > 3) {
+			generator.collocationSize(Integer.parseInt(args[3]));
+		}
+		System.out.println(generator.write(new File(args[0]))); // SUPPRESS CHECKSTYLE SystemPrintln
+	}
+}
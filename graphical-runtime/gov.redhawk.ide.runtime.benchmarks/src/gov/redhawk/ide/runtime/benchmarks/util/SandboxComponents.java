@@ -0,0 +1,56 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import org.junit.Assert;
+import org.omg.CORBA.TCKind;
+
+import CF.DataType;
+import CF.PropertySetPackage.InvalidConfiguration;
+import CF.PropertySetPackage.PartialConfiguration;
+import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.model.sca.ScaComponent;
+import mil.jpeojtrs.sca.util.AnyUtils;
+
+/**
+ * Access to components in the sandbox chalkboard, for setting up benchmark workloads directly rather than through
+ * the UI.
+ */
+public final class SandboxComponents {
+
+	private SandboxComponents() {
+	}
+
+	/**
+	 * @param name The component's instance name, e.g. SigGen_1
+	 * @return The component in the chalkboard
+	 */
+	public static ScaComponent get(String name) {
+		for (ScaComponent component : ScaDebugPlugin.getInstance().getLocalSca().getSandboxWaveform().getComponents()) {
+			if (name.equals(component.getName())) {
+				return component;
+			}
+		}
+		Assert.fail(name + " is not in the sandbox");
+		return null;
+	}
+
+	/**
+	 * Configure a simple property on a component in the chalkboard.
+	 * @param name The component's instance name, e.g. SigGen_1
+	 * @param id The property ID
+	 * @param value The value
+	 * @param type The property's type
+	 */
+	public static void configure(String name, String id, Object value, TCKind type) throws InvalidConfiguration, PartialConfiguration {
+		get(name).getObj().configure(new DataType[] { new DataType(id, AnyUtils.toAny(value, type)) });
+	}
+}
@@ -0,0 +1,319 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.benchmarks.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates SDRROOT content for benchmarks, spread over K namespaces under a common root namespace (e.g.
+ * <code>bench.ns3.Comp_42</code>):
+ * <ul>
+ * <li>components, devices and services - small Python resources (see {@link PropertiesComponentGenerator})</li>
+ * <li>shared libraries - SPDs with a single <code>SharedLibrary</code> implementation</li>
+ * <li>waveforms - small chains of rh.HardLimit (see {@link SadGenerator})</li>
+ * <li>nodes - device managers each placing a few of the generated devices</li>
+ * </ul>
+ * Everything is written beneath the root namespace's directory in each part of the SDRROOT
+ * (<code>dom/components/&lt;root&gt;</code>, <code>dev/nodes/&lt;root&gt;</code>, ...), so it can be cleaned up in one go.
+ * Devices and services are for loading only; their implementations can't be launched.
+ * <pre>
+ * new SdrRootGenerator("bench").components(5000).namespaces(50).writeComponents(componentsDir);
+ * new SdrRootGenerator("bench").components(2000).devices(200).waveforms(500, 5).nodes(50, 4).write(sdrRoot);
+ * </pre>
+ * It can also be run from the command line:
+ * <code>SdrRootGenerator &lt;sdrRoot&gt; &lt;components&gt; [devices] [services] [waveforms] [nodes] [sharedLibraries]</code>.
+ */
+public class SdrRootGenerator {
+
+	private static final String DEVICE_MANAGER_SPD = "/mgr/DeviceManager.spd.xml";
+
+	private final String root;
+	private int components = 100;
+	private int devices = 0;
+	private int services = 0;
+	private int waveforms = 0;
+	private int waveformComponents = 5;
+	private int nodes = 0;
+	private int devicesPerNode = 2;
+	private int sharedLibraries = 0;
+	private int namespaces = 10;
+
+	/**
+	 * @param root The root namespace; must be a valid directory name
+	 */
+	public SdrRootGenerator(String root) {
+		this.root = root;
+	}
+
+	public SdrRootGenerator components(int count) {
+		this.components = count;
+		return this;
+	}
+
+	public SdrRootGenerator devices(int count) {
+		this.devices = count;
+		return this;
+	}
+
+	public SdrRootGenerator services(int count) {
+		this.services = count;
+		return this;
+	}
+
+	/**
+	 * @param count The number of waveforms
+	 * @param componentsEach The number of components in each, connected in a chain
+	 */
+	public SdrRootGenerator waveforms(int count, int componentsEach) {
+		this.waveforms = count;
+		this.waveformComponents = componentsEach;
+		return this;
+	}
+
+	/**
+	 * @param count The number of nodes
+	 * @param devicesEach The number of the generated devices each node places (none if no devices are generated)
+	 */
+	public SdrRootGenerator nodes(int count, int devicesEach) {
+		this.nodes = count;
+		this.devicesPerNode = devicesEach;
+		return this;
+	}
+
+	public SdrRootGenerator sharedLibraries(int count) {
+		this.sharedLibraries = count;
+		return this;
+	}
+
+	public SdrRootGenerator namespaces(int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("Need at least one namespace");
+		}
+		this.namespaces = count;
+		return this;
+	}
+
+	public String getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return The total number of SDRROOT entries (components, devices, services, shared libraries, waveforms and
+	 * nodes) generated
+	 */
+	public int getEntryCount() {
+		return components + devices + services + sharedLibraries + waveforms + nodes;
+	}
+
+	/**
+	 * @param index 0 to components - 1
+	 * @return The full (namespaced) name of a generated component
+	 */
+	public String getComponentName(int index) {
+		return name("Comp", index);
+	}
+
+	public List<String> getComponentNames() {
+		List<String> names = new ArrayList<String>(components);
+		for (int i = 0; i < components; i++) {
+			names.add(getComponentName(i));
+		}
+		return names;
+	}
+
+	public String getDeviceName(int index) {
+		return name("Dev", index);
+	}
+
+	public String getServiceName(int index) {
+		return name("Svc", index);
+	}
+
+	public String getSharedLibraryName(int index) {
+		return name("Lib", index);
+	}
+
+	public String getWaveformName(int index) {
+		return name("Wave", index);
+	}
+
+	public String getNodeName(int index) {
+		return name("Node", index);
+	}
+
+	private String name(String type, int index) {
+		return String.format("%s.ns%d.%s_%d", root, index % namespaces, type, index);
+	}
+
+	private static String path(String name) {
+		return name.replace('.', '/');
+	}
+
+	private static String baseName(String name) {
+		return name.substring(name.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Write everything to <code>&lt;sdrRoot&gt;/dom</code> and <code>&lt;sdrRoot&gt;/dev</code>.
+	 * @throws IOException
+	 */
+	public void write(File sdrRoot) throws IOException {
+		writeDom(new File(sdrRoot, "dom"));
+		writeDev(new File(sdrRoot, "dev"));
+	}
+
+	/**
+	 * Write the components, shared libraries and waveforms.
+	 * @param domDir Usually the <code>dom</code> directory of an SDRROOT
+	 * @throws IOException
+	 */
+	public void writeDom(File domDir) throws IOException {
+		writeComponents(new File(domDir, "components"));
+		File depsDir = new File(domDir, "deps");
+		for (int i = 0; i < sharedLibraries; i++) {
+			String name = getSharedLibraryName(i);
+			write(new File(new File(depsDir, path(name)), baseName(name) + ".spd.xml"), generateSharedLibrarySpd(name));
+		}
+		File waveformsDir = new File(domDir, "waveforms");
+		for (int i = 0; i < waveforms; i++) {
+			SadGenerator generator = new SadGenerator(getWaveformName(i)).components(waveformComponents);
+			generator.connections(waveformComponents - 1);
+			generator.write(waveformsDir);
+		}
+	}
+
+	/**
+	 * Write the components to <code>&lt;dir&gt;/&lt;root&gt;/...</code>.
+	 * @param dir Usually the components directory of an SDRROOT
+	 * @throws IOException
+	 */
+	public void writeComponents(File dir) throws IOException {
+		for (String name : getComponentNames()) {
+			new PropertiesComponentGenerator(name).simples(1).write(dir);
+		}
+	}
+
+	/**
+	 * Write the devices, services and nodes.
+	 * @param devDir Usually the <code>dev</code> directory of an SDRROOT
+	 * @throws IOException
+	 */
+	public void writeDev(File devDir) throws IOException {
+		File devicesDir = new File(devDir, "devices");
+		for (int i = 0; i < devices; i++) {
+			new PropertiesComponentGenerator(getDeviceName(i)).simples(1).componentType("device").write(devicesDir);
+		}
+		File servicesDir = new File(devDir, "services");
+		for (int i = 0; i < services; i++) {
+			new PropertiesComponentGenerator(getServiceName(i)).simples(1).componentType("service").write(servicesDir);
+		}
+		File nodesDir = new File(devDir, "nodes");
+		for (int i = 0; i < nodes; i++) {
+			write(new File(new File(nodesDir, path(getNodeName(i))), "DeviceManager.dcd.xml"), generateDcd(i));
+		}
+	}
+
+	public String generateSharedLibrarySpd(String name) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE softpkg PUBLIC \"-//JTRS//DTD SCA V2.2.2 SPD//EN\" \"softpkg.dtd\">\n");
+		sb.append(String.format("<softpkg id=\"%s\" name=\"%s\" type=\"sca_compliant\">%n", name, name));
+		sb.append("  <implementation id=\"cpp\">\n");
+		sb.append("    <code type=\"SharedLibrary\">\n");
+		sb.append(String.format("      <localfile name=\"cpp/lib%s.so\"/>%n", baseName(name)));
+		sb.append("    </code>\n");
+		sb.append("    <programminglanguage name=\"C++\"/>\n");
+		sb.append("    <processor name=\"x86_64\"/>\n");
+		sb.append("    <os name=\"Linux\"/>\n");
+		sb.append("  </implementation>\n");
+		sb.append("</softpkg>\n");
+		return sb.toString();
+	}
+
+	/**
+	 * @param index 0 to nodes - 1
+	 * @return The DCD of a generated node
+	 */
+	public String generateDcd(int index) {
+		String name = getNodeName(index);
+		int placements = (devices == 0) ? 0 : devicesPerNode;
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		sb.append("<!DOCTYPE deviceconfiguration PUBLIC \"-//JTRS//DTD SCA V2.2.2 DCD//EN\" \"deviceconfiguration.dtd\">\n");
+		sb.append(String.format("<deviceconfiguration id=\"DCE:%s\" name=\"%s\">%n", UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)), name));
+		sb.append("  <devicemanagersoftpkg>\n");
+		sb.append(String.format("    <localfile name=\"%s\"/>%n", DEVICE_MANAGER_SPD));
+		sb.append("  </devicemanagersoftpkg>\n");
+		if (placements > 0) {
+			sb.append("  <componentfiles>\n");
+			for (int j = 0; j < placements; j++) {
+				String device = getDeviceName((index * devicesPerNode + j) % devices);
+				sb.append(String.format("    <componentfile id=\"%s_%d\" type=\"SPD\">%n", baseName(device), j));
+				sb.append(String.format("      <localfile name=\"/devices/%s/%s.spd.xml\"/>%n", path(device), baseName(device)));
+				sb.append("    </componentfile>\n");
+			}
+			sb.append("  </componentfiles>\n");
+			sb.append("  <partitioning>\n");
+			for (int j = 0; j < placements; j++) {
+				String device = getDeviceName((index * devicesPerNode + j) % devices);
+				String usageName = String.format("%s_%d", baseName(device), j + 1);
+				sb.append("    <componentplacement>\n");
+				sb.append(String.format("      <componentfileref refid=\"%s_%d\"/>%n", baseName(device), j));
+				sb.append(String.format("      <componentinstantiation id=\"%s:%s\">%n", name, usageName));
+				sb.append(String.format("        <usagename>%s</usagename>%n", usageName));
+				sb.append("      </componentinstantiation>\n");
+				sb.append("    </componentplacement>\n");
+			}
+			sb.append("  </partitioning>\n");
+		}
+		sb.append("  <domainmanager>\n");
+		sb.append("    <namingservice name=\"REDHAWK_DEV/REDHAWK_DEV\"/>\n");
+		sb.append("  </domainmanager>\n");
+		sb.append("</deviceconfiguration>\n");
+		return sb.toString();
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		File dir = file.getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create " + dir);
+		}
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		try {
+			out.write(contents);
+		} finally {
+			out.close();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: SdrRootGenerator <sdrRoot> <components> [devices] [services] [waveforms] [nodes] [sharedLibraries]"); // SUPPRESS CHECKSTYLE SystemPrintln
+			System.exit(1);
+		}
+		SdrRootGenerator generator = new SdrRootGenerator("generated").components(Integer.parseInt(args[1]));
+		generator.devices((args.length > 2) ? Integer.parseInt(args[2]) : 0);
+		generator.services((args.length > 3) ? Integer.parseInt(args[3]) : 0);
+		generator.waveforms((args.length > 4) ? Integer.parseInt(args[4]) : 0, 5);
+		generator.nodes((args.length > 5) ? Integer.parseInt(args[5]) : 0, 2);
+		generator.sharedLibraries((args.length > 6) ? Integer.parseInt(args[6]) : 0);
+		generator.write(new File(args[0]));
+		System.out.println(generator.getEntryCount() + " entries written to " + args[0]); // SUPPRESS CHECKSTYLE SystemPrintln
+	}
+}
@@ -0,0 +1,21 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.tests.suite;
+
+import org.junit.runner.RunWith;
+
+/**
+ * Every graphical-runtime test plugin, run in a single workbench (see the <code>aggregate</code> profile in
+ * graphical-runtime/pom.xml).
+ */
+@RunWith(TestPluginSuite.class)
+public class AllRuntimeTests {
+}
@@ -0,0 +1,149 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.tests.suite;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
+import org.junit.runner.Runner;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.TestClass;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.namespace.BundleNamespace;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * Runs the tests of several test plugins in one workbench. The suite class's own bundle is expected to require each
+ * test plugin (see this bundle's MANIFEST.MF); every concrete <code>*Test</code> class in those bundles is run,
+ * grouped by bundle in the order the bundles are required.
+ * <p/>
+ * Before each test plugin's tests run, the workbench is put back into the state a fresh launch would have been in
+ * (see {@link WorkbenchReset}), so the plugins don't need to be written with each other in mind.
+ * <p/>
+ * The bundles can be narrowed with the system property {@value #BUNDLES_PROPERTY}, a regular expression matched
+ * against the bundle symbolic names.
+ */
+public class TestPluginSuite extends Suite {
+
+	public static final String BUNDLES_PROPERTY = "gov.redhawk.ide.tests.bundles";
+
+	private static final String DEFAULT_BUNDLES = "gov\\.redhawk\\.ide\\..*";
+
+	/**
+	 * The tests of one test plugin
+	 */
+	private static class PluginRunner extends Suite {
+
+		private final String name;
+
+		PluginRunner(String name, List<Runner> runners) throws InitializationError {
+			super((Class< ? >) null, runners);
+			this.name = name;
+		}
+
+		@Override
+		protected String getName() {
+			return name;
+		}
+
+		@Override
+		public void run(RunNotifier notifier) {
+			try {
+				WorkbenchReset.reset();
+			} catch (Exception e) { // SUPPRESS CHECKSTYLE IllegalCatch
+				notifier.fireTestFailure(new Failure(getDescription(), e));
+				return;
+			}
+			super.run(notifier);
+		}
+	}
+
+	public TestPluginSuite(Class< ? > klass) throws InitializationError {
+		super(klass, createRunners(klass));
+	}
+
+	private static List<Runner> createRunners(Class< ? > klass) throws InitializationError {
+		Bundle suiteBundle = FrameworkUtil.getBundle(klass);
+		if (suiteBundle == null) {
+			throw new InitializationError("The suite " + klass.getName() + " must be run in an OSGi framework");
+		}
+		Pattern filter = Pattern.compile(System.getProperty(BUNDLES_PROPERTY, DEFAULT_BUNDLES));
+
+		List<Runner> runners = new ArrayList<Runner>();
+		for (BundleWire wire : suiteBundle.adapt(BundleWiring.class).getRequiredWires(BundleNamespace.BUNDLE_NAMESPACE)) {
+			Bundle bundle = wire.getProvider().getBundle();
+			if (!filter.matcher(bundle.getSymbolicName()).matches()) {
+				continue;
+			}
+			List<Runner> classRunners = createClassRunners(bundle);
+			if (!classRunners.isEmpty()) {
+				runners.add(new PluginRunner(bundle.getSymbolicName(), classRunners));
+			}
+		}
+		return runners;
+	}
+
+	private static List<Runner> createClassRunners(Bundle bundle) throws InitializationError {
+		BundleWiring wiring = bundle.adapt(BundleWiring.class);
+		List<String> resources = new ArrayList<String>(wiring.listResources("/", "*Test.class",
+			BundleWiring.LISTRESOURCES_RECURSE | BundleWiring.LISTRESOURCES_LOCAL));
+		Collections.sort(resources);
+
+		List<Class< ? >> classes = new ArrayList<Class< ? >>();
+		for (String resource : resources) {
+			if (resource.contains("$")) {
+				continue;
+			}
+			String className = resource.substring(0, resource.length() - ".class".length()).replace('/', '.');
+			Class< ? > testClass;
+			try {
+				testClass = bundle.loadClass(className);
+			} catch (ClassNotFoundException e) {
+				throw new InitializationError(e);
+			}
+			if (isTestClass(testClass)) {
+				classes.add(testClass);
+			}
+		}
+		return buildRunners(classes);
+	}
+
+	private static List<Runner> buildRunners(Collection<Class< ? >> classes) throws InitializationError {
+		AllDefaultPossibilitiesBuilder builder = new AllDefaultPossibilitiesBuilder(true);
+		List<Runner> runners = new ArrayList<Runner>();
+		for (Class< ? > testClass : classes) {
+			try {
+				runners.add(builder.runnerForClass(testClass));
+			} catch (Throwable e) { // SUPPRESS CHECKSTYLE IllegalCatch
+				throw new InitializationError(e);
+			}
+		}
+		return runners;
+	}
+
+	private static boolean isTestClass(Class< ? > testClass) {
+		if (testClass.isInterface() || Modifier.isAbstract(testClass.getModifiers()) || !Modifier.isPublic(testClass.getModifiers())) {
+			return false;
+		}
+		return !new TestClass(testClass).getAnnotatedMethods(Test.class).isEmpty();
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.runtime.tests.suite;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.swtbot.eclipse.finder.SWTWorkbenchBot;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.swtbot.swt.finder.waits.DefaultCondition;
+import org.eclipse.ui.IPerspectiveRegistry;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.DomainPool;
+
+/**
+ * Puts the workbench back into the state a newly launched test workbench would be in, without restarting it:
+ * <ul>
+ * <li>all editors are closed (without saving)</li>
+ * <li>waveforms left in the pooled domain are released; the domain itself is kept running</li>
+ * <li>every other launch (sandbox components, devices, waveforms, domains launched by the tests) is terminated and
+ * removed</li>
+ * <li>all workspace projects are deleted</li>
+ * <li>the default perspective is shown and reset</li>
+ * </ul>
+ */
+public final class WorkbenchReset {
+
+	private static final long TERMINATE_TIMEOUT = 60000;
+
+	private WorkbenchReset() {
+	}
+
+	public static void reset() throws CoreException {
+		SWTWorkbenchBot bot = new SWTWorkbenchBot();
+
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+					for (IWorkbenchPage page : window.getPages()) {
+						page.closeAllEditors(false);
+					}
+				}
+			}
+		});
+
+		DomainPool.getInstance().release(bot);
+		terminateLaunches(bot);
+		deleteProjects();
+
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				IWorkbench workbench = PlatformUI.getWorkbench();
+				IPerspectiveRegistry registry = workbench.getPerspectiveRegistry();
+				IWorkbenchWindow window = workbench.getActiveWorkbenchWindow();
+				if (window == null) {
+					window = workbench.getWorkbenchWindows()[0];
+				}
+				IWorkbenchPage page = window.getActivePage();
+				page.closeAllPerspectives(false, false);
+				page.setPerspective(registry.findPerspectiveWithId(registry.getDefaultPerspective()));
+				page.resetPerspective();
+			}
+		});
+	}
+
+	private static void terminateLaunches(SWTWorkbenchBot bot) throws DebugException {
+		final ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		final List<ILaunch> launches = new ArrayList<ILaunch>();
+		for (ILaunch launch : launchManager.getLaunches()) {
+			if (!DomainPool.getInstance().isPooled(launch)) {
+				launches.add(launch);
+			}
+		}
+		for (ILaunch launch : launches) {
+			if (launch.canTerminate()) {
+				launch.terminate();
+			}
+		}
+		bot.waitUntil(new DefaultCondition() {
+			@Override
+			public boolean test() throws Exception {
+				for (ILaunch launch : launches) {
+					if (!launch.isTerminated()) {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public String getFailureMessage() {
+				return "Launches left by the previous test plugin did not terminate";
+			}
+		}, TERMINATE_TIMEOUT);
+		launchManager.removeLaunches(launches.toArray(new ILaunch[launches.size()]));
+	}
+
+	private static void deleteProjects() throws CoreException {
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		workspace.run(new IWorkspaceRunnable() {
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				for (IProject project : workspace.getRoot().getProjects()) {
+					project.delete(true, true, monitor);
+				}
+			}
+		}, new NullProgressMonitor());
+
+		// Let any builds triggered by the previous plugin's tests finish before the next plugin starts
+		try {
+			Job.getJobManager().join(ResourcesPlugin.FAMILY_AUTO_BUILD, null);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
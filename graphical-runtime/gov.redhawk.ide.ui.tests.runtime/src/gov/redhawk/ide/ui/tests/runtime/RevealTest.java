@@ -19,7 +19,9 @@ import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
 
 import CF.ExecutableDevice;
 import CF.ExecutableDeviceHelper;
@@ -28,6 +30,7 @@ import CF.InvalidObjectReference;
 import gov.redhawk.ide.debug.LocalSca;
 import gov.redhawk.ide.debug.LocalScaDeviceManager;
 import gov.redhawk.ide.debug.ScaDebugPlugin;
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
 import gov.redhawk.ide.swtbot.UITest;
 import gov.redhawk.ide.swtbot.ViewUtils;
 import gov.redhawk.ide.ui.tests.runtime.stubs.AnalogDevice;
@@ -39,24 +42,30 @@ public class RevealTest extends UITest {
 
 	@BeforeClass
 	public static void createSession() throws Exception {
-		session = OrbSession.createSession(RevealTest.class.getCanonicalName());
+		lease = OrbSessionPool.getInstance().borrow(RevealTest.class.getSimpleName());
+		session = lease.getSession();
 		session.getPOA();
 	}
 
 	@AfterClass
 	public static void disposeSession() throws Exception {
-		if (session != null) {
-			session.dispose();
+		if (lease != null) {
+			lease.close();
+			lease = null;
 			session = null;
 		}
 	}
 
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
+
 	private ExecutableDevice ref;
 	private SWTBotView explorerView;
 	private SWTBot viewBot;
 	private SWTBotTree explorerTree;
 	private LocalSca localSca;
 	private LocalScaDeviceManager devMgr;
+	private static OrbSessionPool.Lease lease;
 	private static OrbSession session;
 
 	/**
@@ -12,9 +12,9 @@ package gov.redhawk.ide.ui.tests.runtime;
 
 import org.eclipse.swtbot.eclipse.finder.widgets.SWTBotView;
 import org.eclipse.swtbot.swt.finder.widgets.SWTBotTreeItem;
-import org.junit.Assert;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.ConsoleWatcher;
 import gov.redhawk.ide.swtbot.ConsoleUtils;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
@@ -37,9 +37,13 @@ public class TerminateTest extends UIRuntimeTest {
 
 		// Check the console output
 		SWTBotView consoleView = ConsoleUtils.showConsole(bot, SIG_GEN_1 + " [Sandbox Component]");
-		String consoleText = consoleView.bot().styledText().getText();
-		Assert.assertTrue("Couldn't find text about process exit", consoleText.contains("The IDE detected"));
-		Assert.assertTrue("Couldn't find text about process exit", consoleText.contains("SIGTERM"));
+		ConsoleWatcher watcher = ConsoleWatcher.watch(consoleView);
+		try {
+			bot.waitUntil(watcher.contains("The IDE detected"));
+			bot.waitUntil(watcher.contains("SIGTERM"));
+		} finally {
+			watcher.dispose();
+		}
 	}
 
 }
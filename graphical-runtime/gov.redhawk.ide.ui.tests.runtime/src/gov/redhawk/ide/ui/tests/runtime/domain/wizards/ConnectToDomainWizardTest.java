@@ -24,15 +24,18 @@ import org.eclipse.swtbot.swt.finder.widgets.TimeoutException;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
 
+import gov.redhawk.ide.graphiti.ui.runtime.tests.util.OrbSessionPool;
 import gov.redhawk.ide.sdr.nodebooter.DebugLevel;
 import gov.redhawk.ide.sdr.nodebooter.DomainManagerLaunchConfiguration;
 import gov.redhawk.ide.sdr.nodebooter.DomainManagerLauncherUtil;
-import gov.redhawk.ide.swtbot.ConsoleUtils;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UIRuntimeTest;
 import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
+import gov.redhawk.ide.ui.tests.runtime.stubs.StubDomain;
 
 /**
  * Tests for the connec to domain wizard (i.e. the new button in the explorer view).
@@ -40,6 +43,11 @@ import gov.redhawk.ide.swtbot.scaExplorer.ScaExplorerTestUtils;
 public class ConnectToDomainWizardTest extends UIRuntimeTest {
 
 	private SWTBotView explorerView;
+	private OrbSessionPool.Lease lease;
+	private StubDomain stubDomain;
+
+	@Rule
+	public TestRule orbLeakCheck = OrbSessionPool.getInstance().leakCheck();
 
 	@Before
 	public void before() throws Exception {
@@ -51,6 +59,14 @@ public class ConnectToDomainWizardTest extends UIRuntimeTest {
 	public void cleanup() throws Exception {
 		StandardTestActions.cleanUpLaunches();
 		StandardTestActions.cleanUpConnections();
+		if (stubDomain != null) {
+			stubDomain.dispose();
+			stubDomain = null;
+		}
+		if (lease != null) {
+			lease.close();
+			lease = null;
+		}
 	}
 
 	/**
@@ -76,7 +92,10 @@ public class ConnectToDomainWizardTest extends UIRuntimeTest {
 		final String DOMAIN_NAME_1 = "displayName_first_instance";
 		final String DOMAIN_NAME_2 = "displayName_second_instance";
 
-		launchViaNewDomainWizard(DOMAIN_NAME_1, new String[0]);
+		// Nothing here depends on the domain's processes, so an in-process domain will do
+		lease = OrbSessionPool.getInstance().borrow(ConnectToDomainWizardTest.class.getSimpleName());
+		stubDomain = new StubDomain(lease.getSession(), DOMAIN_NAME_1).start();
+		connectViaNewDomainWizard(DOMAIN_NAME_1, DOMAIN_NAME_1);
 
 		StandardTestActions.viewToolbarWithToolTip(explorerView, "New Domain Connection").click();
 		SWTBotShell shell = bot.shell("New Domain Manager");
@@ -143,16 +162,6 @@ public class ConnectToDomainWizardTest extends UIRuntimeTest {
 		}
 	}
 
-	private void launchViaNewDomainWizard(String domainName, String[] deviceManagers) {
-		ScaExplorerTestUtils.launchDomainViaWizard(bot, domainName, deviceManagers);
-		ScaExplorerTestUtils.waitUntilScaExplorerDomainConnects(bot, domainName);
-		ConsoleUtils.assertConsoleTitleExists(bot, "Domain Manager " + domainName + " .*"); // IDE-1372
-		for (String deviceManager : deviceManagers) {
-			ScaExplorerTestUtils.waitUntilNodeAppearsInScaExplorer(bot, new String[] { domainName, "Device Managers" }, deviceManager);
-			ConsoleUtils.assertConsoleTitleExists(bot, "Device Manager " + deviceManager + " .*");
-		}
-	}
-
 	private void connectViaNewDomainWizard(String domainName, String displayName) {
 		explorerView.toolbarPushButton("New Domain Connection").click();
 		SWTBotShell shell = bot.shell("New Domain Manager");
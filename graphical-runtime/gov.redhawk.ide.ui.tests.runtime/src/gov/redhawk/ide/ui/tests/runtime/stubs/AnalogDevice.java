@@ -29,6 +29,19 @@ import CF.LoadableDevicePackage.LoadType;
 
 public class AnalogDevice extends Device implements ExecutableDeviceOperations {
 
+	private final String label;
+
+	public AnalogDevice() {
+		this("analogDevice");
+	}
+
+	/**
+	 * @param label The device's identifier and label
+	 */
+	public AnalogDevice(String label) {
+		this.label = label;
+	}
+
 	@Override
 	public void load(FileSystem fs, String fileName, LoadType loadKind) throws InvalidState, InvalidLoadKind, InvalidFileName, LoadFail {
 	}
@@ -65,12 +78,12 @@ public class AnalogDevice extends Device implements ExecutableDeviceOperations {
 
 	@Override
 	public String identifier() {
-		return "analogDevice";
+		return label;
 	}
 
 	@Override
 	public String label() {
-		return "analogDevice";
+		return label;
 	}
 
 }
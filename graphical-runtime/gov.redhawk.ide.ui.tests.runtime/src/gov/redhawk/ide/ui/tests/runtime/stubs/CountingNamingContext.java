@@ -0,0 +1,233 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.omg.CosNaming.BindingIteratorHolder;
+import org.omg.CosNaming.BindingListHolder;
+import org.omg.CosNaming.NameComponent;
+import org.omg.CosNaming.NamingContext;
+import org.omg.CosNaming.NamingContextExt;
+import org.omg.CosNaming.NamingContextExtHelper;
+import org.omg.CosNaming.NamingContextExtPOA;
+import org.omg.CosNaming.NamingContextHelper;
+import org.omg.CosNaming.NamingContextExtPackage.InvalidAddress;
+import org.omg.CosNaming.NamingContextPackage.AlreadyBound;
+import org.omg.CosNaming.NamingContextPackage.CannotProceed;
+import org.omg.CosNaming.NamingContextPackage.InvalidName;
+import org.omg.CosNaming.NamingContextPackage.NotEmpty;
+import org.omg.CosNaming.NamingContextPackage.NotFound;
+import org.omg.PortableServer.POAPackage.ObjectNotActive;
+import org.omg.PortableServer.POAPackage.ServantNotActive;
+import org.omg.PortableServer.POAPackage.WrongAdapter;
+import org.omg.PortableServer.POAPackage.WrongPolicy;
+
+import gov.redhawk.sca.util.OrbSession;
+
+/**
+ * Wraps a naming context in the naming service with an in-process servant which forwards every operation to it. Naming
+ * contexts resolved through the wrapper are wrapped in turn, so a client browsing from the wrapper stays within the
+ * wrappers however deep it goes.
+ * <p/>
+ * Every call to <code>list</code> on any of the wrappers is counted (see {@link #getListCount()}), so tests can check
+ * how many contexts the IDE re-lists (the same approach as {@link StubFileManager}).
+ * <pre>
+ * CountingNamingContext counting = new CountingNamingContext(session);
+ * nameService.bind_context(name, counting.wrap(context));
+ * ...
+ * counting.getListCount();
+ * ...
+ * counting.dispose();
+ * </pre>
+ */
+public class CountingNamingContext {
+
+	private final OrbSession session;
+	private final AtomicInteger listCount = new AtomicInteger();
+	private final Map<String, NamingContextExt> wrappers = new HashMap<String, NamingContextExt>();
+	private final List<byte[]> objectIds = new ArrayList<byte[]>();
+
+	/**
+	 * @param session The ORB session the wrappers will be activated in
+	 */
+	public CountingNamingContext(OrbSession session) {
+		this.session = session;
+	}
+
+	/**
+	 * @param context The naming context to forward to
+	 * @return A reference to the wrapper, to be bound in place of the context
+	 */
+	public NamingContext wrap(NamingContext context) {
+		return wrap(context, "");
+	}
+
+	/**
+	 * @return The number of calls to <code>list</code> so far, on any of the wrappers
+	 */
+	public int getListCount() {
+		return listCount.get();
+	}
+
+	/**
+	 * Deactivate all of the wrappers. The contexts they forward to are left as they are.
+	 */
+	public void dispose() {
+		synchronized (wrappers) {
+			for (byte[] id : objectIds) {
+				try {
+					session.getPOA().deactivate_object(id);
+				} catch (CoreException | ObjectNotActive | WrongPolicy e) {
+					// PASS
+				}
+			}
+			objectIds.clear();
+			wrappers.clear();
+		}
+	}
+
+	/**
+	 * @param path Identifies the context, so resolving the same context twice returns the same wrapper
+	 */
+	private NamingContextExt wrap(NamingContext context, String path) {
+		synchronized (wrappers) {
+			NamingContextExt wrapper = wrappers.get(path);
+			if (wrapper == null) {
+				try {
+					org.omg.CORBA.Object obj = session.getPOA().servant_to_reference(new Forwarder(context, path));
+					objectIds.add(session.getPOA().reference_to_id(obj));
+					wrapper = NamingContextExtHelper.narrow(obj);
+				} catch (CoreException | ServantNotActive | WrongPolicy | WrongAdapter e) {
+					throw new IllegalStateException("Unable to activate naming context wrapper", e);
+				}
+				wrappers.put(path, wrapper);
+			}
+			return wrapper;
+		}
+	}
+
+	private static String path(String parent, NameComponent[] n) {
+		StringBuilder sb = new StringBuilder(parent);
+		for (NameComponent component : n) {
+			sb.append('/').append(component.id).append('.').append(component.kind);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Forwards to one naming context.
+	 */
+	private class Forwarder extends NamingContextExtPOA {
+
+		private final NamingContext target;
+		private final String path;
+		private NamingContextExt targetExt;
+
+		Forwarder(NamingContext target, String path) {
+			this.target = target;
+			this.path = path;
+		}
+
+		private synchronized NamingContextExt ext() {
+			if (targetExt == null) {
+				targetExt = NamingContextExtHelper.narrow(target);
+			}
+			return targetExt;
+		}
+
+		/**
+		 * Wrap the result of a resolve if it's a naming context.
+		 */
+		private org.omg.CORBA.Object resolved(org.omg.CORBA.Object obj, String objPath) {
+			if (obj != null && obj._is_a(NamingContextHelper.id())) {
+				return wrap(NamingContextHelper.narrow(obj), objPath);
+			}
+			return obj;
+		}
+
+		@Override
+		public void list(int howMany, BindingListHolder bl, BindingIteratorHolder bi) {
+			listCount.incrementAndGet();
+			target.list(howMany, bl, bi);
+		}
+
+		@Override
+		public org.omg.CORBA.Object resolve(NameComponent[] n) throws NotFound, CannotProceed, InvalidName {
+			return resolved(target.resolve(n), path(path, n));
+		}
+
+		@Override
+		public org.omg.CORBA.Object resolve_str(String sn) throws NotFound, CannotProceed, InvalidName {
+			return resolved(ext().resolve_str(sn), path(path, ext().to_name(sn)));
+		}
+
+		@Override
+		public void bind(NameComponent[] n, org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
+			target.bind(n, obj);
+		}
+
+		@Override
+		public void rebind(NameComponent[] n, org.omg.CORBA.Object obj) throws NotFound, CannotProceed, InvalidName {
+			target.rebind(n, obj);
+		}
+
+		@Override
+		public void bind_context(NameComponent[] n, NamingContext nc) throws NotFound, CannotProceed, InvalidName, AlreadyBound {
+			target.bind_context(n, nc);
+		}
+
+		@Override
+		public void rebind_context(NameComponent[] n, NamingContext nc) throws NotFound, CannotProceed, InvalidName {
+			target.rebind_context(n, nc);
+		}
+
+		@Override
+		public void unbind(NameComponent[] n) throws NotFound, CannotProceed, InvalidName {
+			target.unbind(n);
+		}
+
+		@Override
+		public NamingContext new_context() {
+			return target.new_context();
+		}
+
+		@Override
+		public NamingContext bind_new_context(NameComponent[] n) throws NotFound, AlreadyBound, CannotProceed, InvalidName {
+			return target.bind_new_context(n);
+		}
+
+		@Override
+		public void destroy() throws NotEmpty {
+			target.destroy();
+		}
+
+		@Override
+		public String to_string(NameComponent[] n) throws InvalidName {
+			return ext().to_string(n);
+		}
+
+		@Override
+		public NameComponent[] to_name(String sn) throws InvalidName {
+			return ext().to_name(sn);
+		}
+
+		@Override
+		public String to_url(String addr, String sn) throws InvalidAddress, InvalidName {
+			return ext().to_url(addr, sn);
+		}
+	}
+}
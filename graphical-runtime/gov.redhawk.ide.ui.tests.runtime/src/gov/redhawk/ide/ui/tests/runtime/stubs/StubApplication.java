@@ -0,0 +1,118 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import CF.Application;
+import CF.ComponentElementType;
+import CF.ComponentEnumType;
+import CF.ComponentType;
+import CF.ResourceHelper;
+import CF.ResourceOperations;
+import CF.ResourcePOATie;
+
+/**
+ * An in-process waveform, registered with a {@link StubDomain}. Components are {@link StubComponent} servants
+ * activated in the domain's ORB session; nothing is launched.
+ * <p/>
+ * Only the operations the IDE uses to display a waveform are implemented (see {@link StubOperations}).
+ */
+public class StubApplication {
+
+	private final StubDomain domain;
+	private final String name;
+	private final String identifier;
+	private final String profile;
+	private final List<StubComponent> components = new ArrayList<StubComponent>();
+	private Application ref;
+
+	StubApplication(StubDomain domain, String name, String profile) {
+		this.domain = domain;
+		this.name = name;
+		this.identifier = "DCE:" + UUID.randomUUID() + ":" + name;
+		this.profile = profile;
+	}
+
+	void setReference(Application ref) {
+		this.ref = ref;
+	}
+
+	/**
+	 * @return The CORBA reference for the application
+	 */
+	public Application getReference() {
+		return ref;
+	}
+
+	/**
+	 * Activate a {@link StubComponent} and register it with this application.
+	 * @param label The component's usage name, e.g. SigGen_1
+	 * @param softwareProfile The URI of the component's SPD file
+	 * @param portNames The ports the component provides an object for
+	 * @return The component
+	 */
+	public StubComponent addComponent(String label, String softwareProfile, String... portNames) {
+		StubComponent component = new StubComponent(domain, label, softwareProfile, portNames);
+		component.setReference(ResourceHelper.narrow(domain.activate(new ResourcePOATie(StubOperations.create(ResourceOperations.class, component)))));
+		synchronized (components) {
+			components.add(component);
+		}
+		return component;
+	}
+
+	// CF.ApplicationOperations
+
+	public String identifier() {
+		return identifier;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public String profile() {
+		return profile;
+	}
+
+	public boolean started() {
+		return true;
+	}
+
+	public ComponentType[] registeredComponents() {
+		synchronized (components) {
+			ComponentType[] types = new ComponentType[components.size()];
+			for (int i = 0; i < types.length; i++) {
+				StubComponent component = components.get(i);
+				types[i] = new ComponentType(component.identifier(), component.softwareProfile(), ComponentEnumType.APPLICATION_COMPONENT,
+					component.getReference());
+			}
+			return types;
+		}
+	}
+
+	public ComponentElementType[] componentNamingContexts() {
+		synchronized (components) {
+			ComponentElementType[] elements = new ComponentElementType[components.size()];
+			for (int i = 0; i < elements.length; i++) {
+				String id = components.get(i).identifier();
+				elements[i] = new ComponentElementType(id, domain.name() + "/" + name + "/" + id.substring(0, id.indexOf(':')));
+			}
+			return elements;
+		}
+	}
+
+	public void releaseObject() {
+		domain.removeApplication(this);
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import CF.PortOperations;
+import CF.PortPOATie;
+import CF.Resource;
+import CF.PortSupplierPackage.UnknownPort;
+
+/**
+ * An in-process component, registered with a {@link StubApplication}. Each of its ports is an object which accepts
+ * (and ignores) connections; which ports are shown is decided by the component's SCD, so the port names should match
+ * the profile.
+ * <p/>
+ * Only the operations the IDE uses to display a component are implemented (see {@link StubOperations}).
+ */
+public class StubComponent {
+
+	private final String identifier;
+	private final String softwareProfile;
+	private final Map<String, org.omg.CORBA.Object> ports = new LinkedHashMap<String, org.omg.CORBA.Object>();
+	private Resource ref;
+
+	StubComponent(StubDomain domain, String label, String softwareProfile, String... portNames) {
+		this.identifier = label + ":" + UUID.randomUUID();
+		this.softwareProfile = softwareProfile;
+		for (String portName : portNames) {
+			ports.put(portName, domain.activate(new PortPOATie(StubOperations.create(PortOperations.class, new Object()))));
+		}
+	}
+
+	void setReference(Resource ref) {
+		this.ref = ref;
+	}
+
+	/**
+	 * @return The CORBA reference for the component
+	 */
+	public Resource getReference() {
+		return ref;
+	}
+
+	// CF.ResourceOperations
+
+	public String identifier() {
+		return identifier;
+	}
+
+	public String softwareProfile() {
+		return softwareProfile;
+	}
+
+	public boolean started() {
+		return true;
+	}
+
+	public org.omg.CORBA.Object getPort(String name) throws UnknownPort {
+		org.omg.CORBA.Object port = ports.get(name);
+		if (port == null) {
+			throw new UnknownPort();
+		}
+		return port;
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import CF.Device;
+import CF.DeviceManager;
+import CF.DomainManager;
+import CF.ExecutableDeviceHelper;
+import CF.ExecutableDevicePOATie;
+import CF.InvalidObjectReference;
+
+/**
+ * An in-process device manager, registered with a {@link StubDomain}. Devices are {@link AnalogDevice} servants
+ * activated in the domain's ORB session; nothing is launched.
+ * <p/>
+ * Only the operations the IDE uses to display a device manager are implemented (see {@link StubOperations}).
+ */
+public class StubDeviceManager {
+
+	private final StubDomain domain;
+	private final String identifier = "DCE:" + UUID.randomUUID();
+	private final String label;
+	private final List<Device> devices = new ArrayList<Device>();
+	private DeviceManager ref;
+
+	StubDeviceManager(StubDomain domain, String label) {
+		this.domain = domain;
+		this.label = label;
+	}
+
+	void setReference(DeviceManager ref) {
+		this.ref = ref;
+	}
+
+	/**
+	 * @return The CORBA reference for the device manager
+	 */
+	public DeviceManager getReference() {
+		return ref;
+	}
+
+	/**
+	 * Activate an {@link AnalogDevice} with the specified label and register it with this device manager.
+	 * @param deviceLabel
+	 * @return The CORBA reference for the device
+	 */
+	public Device addDevice(String deviceLabel) {
+		AnalogDevice device = new AnalogDevice(deviceLabel);
+		Device deviceRef = ExecutableDeviceHelper.narrow(domain.activate(new ExecutableDevicePOATie(device)));
+		registerDevice(deviceRef);
+		return deviceRef;
+	}
+
+	// CF.DeviceManagerOperations
+
+	public String identifier() {
+		return identifier;
+	}
+
+	public String label() {
+		return label;
+	}
+
+	public String deviceConfigurationProfile() {
+		return "/nodes/" + label + "/DeviceManager.dcd.xml";
+	}
+
+	public DomainManager domMgr() {
+		return domain.getReference();
+	}
+
+	public Device[] registeredDevices() {
+		synchronized (devices) {
+			return devices.toArray(new Device[devices.size()]);
+		}
+	}
+
+	public void registerDevice(Device registeringDevice) {
+		synchronized (devices) {
+			devices.add(registeringDevice);
+		}
+	}
+
+	public void unregisterDevice(Device registeredDevice) throws InvalidObjectReference {
+		synchronized (devices) {
+			for (Device device : devices) {
+				if (device._is_equivalent(registeredDevice)) {
+					devices.remove(device);
+					return;
+				}
+			}
+		}
+		throw new InvalidObjectReference("Device is not registered");
+	}
+
+	public void shutdown() {
+		domain.removeDeviceManager(this);
+	}
+}
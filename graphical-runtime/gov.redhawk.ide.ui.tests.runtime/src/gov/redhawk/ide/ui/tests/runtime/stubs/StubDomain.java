@@ -0,0 +1,300 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.omg.CosNaming.NameComponent;
+import org.omg.CosNaming.NamingContext;
+import org.omg.CosNaming.NamingContextHelper;
+import org.omg.CosNaming.NamingContextPackage.AlreadyBound;
+import org.omg.CosNaming.NamingContextPackage.CannotProceed;
+import org.omg.CosNaming.NamingContextPackage.InvalidName;
+import org.omg.CosNaming.NamingContextPackage.NotEmpty;
+import org.omg.CosNaming.NamingContextPackage.NotFound;
+import org.omg.PortableServer.POAPackage.ObjectNotActive;
+import org.omg.PortableServer.POAPackage.ServantNotActive;
+import org.omg.PortableServer.POAPackage.WrongPolicy;
+import org.omg.PortableServer.Servant;
+
+import CF.Application;
+import CF.ApplicationHelper;
+import CF.ApplicationOperations;
+import CF.ApplicationPOATie;
+import CF.DeviceManager;
+import CF.DeviceManagerHelper;
+import CF.DeviceManagerOperations;
+import CF.DeviceManagerPOATie;
+import CF.DomainManager;
+import CF.DomainManagerHelper;
+import CF.DomainManagerOperations;
+import CF.DomainManagerPOATie;
+import CF.FileManager;
+import CF.FileManagerHelper;
+import CF.FileManagerOperations;
+import CF.FileManagerPOATie;
+import CF.InvalidObjectReference;
+import gov.redhawk.sca.util.OrbSession;
+
+/**
+ * An in-process stand-in for a domain, for tests which only need a domain to be displayed in the explorer. The domain
+ * manager, device managers, devices, applications and components are servants in the test's {@link OrbSession} (the same approach as
+ * {@link AnalogDevice}); the domain manager is bound in the naming service under the usual
+ * <code>&lt;domain&gt;/&lt;domain&gt;</code> name, so the IDE can connect to it like any other domain.
+ * <p/>
+ * Nothing is launched, so starting and disposing of a stub domain is nearly instant. Tests which exercise launching
+ * (consoles, terminate, nodeBooter arguments) or need more of the domain's file system than browsing (see
+ * {@link StubFileManager}) must still use a real domain.
+ * <pre>
+ * StubDomain domain = new StubDomain(session, "MyDomain").start();
+ * domain.addDeviceManager("DevMgr_stub").addDevice("device_1");
+ * domain.addApplication("Waveform_1", sadUri).addComponent("SigGen_1", spdUri, "dataFloat_out");
+ * ...
+ * domain.dispose();
+ * </pre>
+ */
+public class StubDomain {
+
+	private static final String PLUGIN_ID = "gov.redhawk.ide.ui.tests.runtime";
+
+	private final OrbSession session;
+	private final String name;
+	private final String identifier = "DCE:" + UUID.randomUUID();
+	private final List<StubDeviceManager> deviceManagers = new ArrayList<StubDeviceManager>();
+	private final List<StubApplication> applications = new ArrayList<StubApplication>();
+	private final List<byte[]> objectIds = new ArrayList<byte[]>();
+	private volatile StubFileManager fileManager;
+	private DomainManager ref;
+	private NamingContext domainContext;
+
+	/**
+	 * @param session The ORB session the servants will be activated in
+	 * @param name The domain name
+	 */
+	public StubDomain(OrbSession session, String name) {
+		this.session = session;
+		this.name = name;
+	}
+
+	/**
+	 * Activate the domain manager and bind it in the naming service.
+	 * @return this
+	 * @throws CoreException
+	 */
+	public StubDomain start() throws CoreException {
+		ref = DomainManagerHelper.narrow(activate(new DomainManagerPOATie(StubOperations.create(DomainManagerOperations.class, this))));
+		NamingContext root = getNameService();
+		NameComponent[] contextName = new NameComponent[] { new NameComponent(name, "") };
+		try {
+			try {
+				domainContext = root.bind_new_context(contextName);
+			} catch (AlreadyBound e) {
+				domainContext = NamingContextHelper.narrow(root.resolve(contextName));
+			}
+			domainContext.rebind(contextName, ref);
+		} catch (NotFound | CannotProceed | InvalidName e) {
+			throw new CoreException(new Status(IStatus.ERROR, PLUGIN_ID, "Unable to bind stub domain " + name + " in the naming service", e));
+		}
+		return this;
+	}
+
+	/**
+	 * @return The CORBA reference for the domain manager
+	 */
+	public DomainManager getReference() {
+		return ref;
+	}
+
+	/**
+	 * Create a device manager and register it with the domain.
+	 * @param label The device manager's label, e.g. DevMgr_stub
+	 * @return The device manager
+	 */
+	public StubDeviceManager addDeviceManager(String label) {
+		StubDeviceManager devMgr = new StubDeviceManager(this, label);
+		devMgr.setReference(DeviceManagerHelper.narrow(activate(new DeviceManagerPOATie(StubOperations.create(DeviceManagerOperations.class, devMgr)))));
+		synchronized (deviceManagers) {
+			deviceManagers.add(devMgr);
+		}
+		return devMgr;
+	}
+
+	void removeDeviceManager(StubDeviceManager devMgr) {
+		synchronized (deviceManagers) {
+			deviceManagers.remove(devMgr);
+		}
+	}
+
+	/**
+	 * Give the domain a file manager which serves a local directory. Without one, the domain has no file manager.
+	 * @param fileSystemRoot The directory to serve as the root of the domain's file system
+	 * @return The file manager
+	 */
+	public StubFileManager setFileManager(File fileSystemRoot) {
+		StubFileManager newFileManager = new StubFileManager(session.getOrb(), fileSystemRoot);
+		newFileManager.setReference(FileManagerHelper.narrow(activate(new FileManagerPOATie(StubOperations.create(FileManagerOperations.class,
+			newFileManager)))));
+		fileManager = newFileManager;
+		return newFileManager;
+	}
+
+	/**
+	 * Create an application (a running waveform) and register it with the domain.
+	 * @param applicationName The waveform's name, e.g. MyWaveform_1
+	 * @param profile The URI of the waveform's SAD file
+	 * @return The application
+	 */
+	public StubApplication addApplication(String applicationName, String profile) {
+		StubApplication application = new StubApplication(this, applicationName, profile);
+		application.setReference(ApplicationHelper.narrow(activate(new ApplicationPOATie(StubOperations.create(ApplicationOperations.class, application)))));
+		synchronized (applications) {
+			applications.add(application);
+		}
+		return application;
+	}
+
+	void removeApplication(StubApplication application) {
+		synchronized (applications) {
+			applications.remove(application);
+		}
+	}
+
+	/**
+	 * The stubs' servants run in the test's ORB session, so their operations are dispatched on that ORB's request
+	 * threads rather than the IDE's. Benchmarks can use this to leave the stub domain's work out of the CPU time they
+	 * attribute to the IDE.
+	 * @return IDs of the threads which have dispatched an operation to a stub (in any stub domain)
+	 */
+	public static Set<Long> getServantThreadIds() {
+		return Collections.unmodifiableSet(StubOperations.DISPATCH_THREAD_IDS);
+	}
+
+	/**
+	 * Activate a servant in the domain's ORB session. It's deactivated when the domain is disposed.
+	 */
+	org.omg.CORBA.Object activate(Servant servant) {
+		try {
+			org.omg.CORBA.Object obj = session.getPOA().servant_to_reference(servant);
+			synchronized (objectIds) {
+				objectIds.add(session.getPOA().reference_to_id(obj));
+			}
+			return obj;
+		} catch (CoreException | ServantNotActive | WrongPolicy | org.omg.PortableServer.POAPackage.WrongAdapter e) {
+			throw new IllegalStateException("Unable to activate stub servant", e);
+		}
+	}
+
+	/**
+	 * @return The root context of the naming service the session's ORB was initialized with
+	 * @throws CoreException
+	 */
+	private NamingContext getNameService() throws CoreException {
+		try {
+			return NamingContextHelper.narrow(session.getOrb().resolve_initial_references("NameService"));
+		} catch (org.omg.CORBA.ORBPackage.InvalidName e) {
+			throw new CoreException(new Status(IStatus.ERROR, PLUGIN_ID, "The ORB has no initial reference for the naming service", e));
+		}
+	}
+
+	/**
+	 * Unbind the domain from the naming service and deactivate all of its servants.
+	 */
+	public void dispose() {
+		if (domainContext != null) {
+			NameComponent[] contextName = new NameComponent[] { new NameComponent(name, "") };
+			try {
+				domainContext.unbind(contextName);
+				domainContext.destroy();
+				getNameService().unbind(contextName);
+			} catch (CoreException | NotFound | CannotProceed | InvalidName | NotEmpty e) {
+				// PASS - leave whatever is left for the naming service to clean up
+			}
+			domainContext = null;
+		}
+		synchronized (objectIds) {
+			for (byte[] id : objectIds) {
+				try {
+					session.getPOA().deactivate_object(id);
+				} catch (CoreException | ObjectNotActive | WrongPolicy e) {
+					// PASS
+				}
+			}
+			objectIds.clear();
+		}
+		synchronized (deviceManagers) {
+			deviceManagers.clear();
+		}
+		synchronized (applications) {
+			applications.clear();
+		}
+		fileManager = null;
+		ref = null;
+	}
+
+	// CF.DomainManagerOperations
+
+	public String identifier() {
+		return identifier;
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public String domainManagerProfile() {
+		return "/mgr/DomainManager.dmd.xml";
+	}
+
+	public FileManager fileMgr() {
+		StubFileManager currentFileManager = fileManager;
+		return (currentFileManager == null) ? null : currentFileManager.getReference();
+	}
+
+	public DeviceManager[] deviceManagers() {
+		synchronized (deviceManagers) {
+			DeviceManager[] refs = new DeviceManager[deviceManagers.size()];
+			for (int i = 0; i < refs.length; i++) {
+				refs[i] = deviceManagers.get(i).getReference();
+			}
+			return refs;
+		}
+	}
+
+	public void unregisterDeviceManager(DeviceManager deviceMgr) throws InvalidObjectReference {
+		synchronized (deviceManagers) {
+			for (StubDeviceManager devMgr : deviceManagers) {
+				if (devMgr.getReference()._is_equivalent(deviceMgr)) {
+					deviceManagers.remove(devMgr);
+					return;
+				}
+			}
+		}
+		throw new InvalidObjectReference("Device manager is not registered");
+	}
+
+	public Application[] applications() {
+		synchronized (applications) {
+			Application[] refs = new Application[applications.size()];
+			for (int i = 0; i < refs.length; i++) {
+				refs[i] = applications.get(i).getReference();
+			}
+			return refs;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.omg.CORBA.Any;
+import org.omg.CORBA.ORB;
+
+import CF.DataType;
+import CF.ErrorNumberType;
+import CF.FileManager;
+import CF.InvalidFileName;
+import CF.FileSystemPackage.FileInformationType;
+import CF.FileSystemPackage.FileType;
+
+/**
+ * An in-process domain file manager for a {@link StubDomain}, serving a local directory (e.g. the directory behind
+ * <code>sdrdom:</code>, as a domain launched from the Target SDR would). Only browsing is supported: files can be listed
+ * but not opened, copied or removed.
+ * <p/>
+ * Every call to <code>list</code> is counted (see {@link #getListCount()}), so tests can check how many remote calls
+ * the IDE makes to display a directory.
+ */
+public class StubFileManager {
+
+	private final ORB orb;
+	private final File root;
+	private final AtomicInteger listCount = new AtomicInteger();
+	private FileManager ref;
+
+	StubFileManager(ORB orb, File root) {
+		this.orb = orb;
+		this.root = root;
+	}
+
+	void setReference(FileManager ref) {
+		this.ref = ref;
+	}
+
+	/**
+	 * @return The CORBA reference for the file manager
+	 */
+	public FileManager getReference() {
+		return ref;
+	}
+
+	/**
+	 * @return The number of calls to <code>list</code> so far
+	 */
+	public int getListCount() {
+		return listCount.get();
+	}
+
+	private File resolve(String path) throws InvalidFileName {
+		if (!path.isEmpty() && path.charAt(0) != '/') {
+			throw new InvalidFileName(ErrorNumberType.CF_EINVAL, "Path is not absolute: " + path);
+		}
+		for (String segment : path.split("/")) {
+			if ("..".equals(segment)) {
+				throw new InvalidFileName(ErrorNumberType.CF_EINVAL, "Path is outside the file system: " + path);
+			}
+		}
+		return new File(root, path);
+	}
+
+	private FileInformationType info(File file) {
+		Any modified = orb.create_any();
+		modified.insert_ulonglong(file.lastModified() / 1000);
+		Any readOnly = orb.create_any();
+		readOnly.insert_boolean(!file.canWrite());
+		DataType[] properties = new DataType[] { new DataType("MODIFIED_TIME", modified), new DataType("READ_ONLY", readOnly) };
+		FileType kind = file.isDirectory() ? FileType.DIRECTORY : FileType.PLAIN;
+		return new FileInformationType(file.getName(), kind, file.isDirectory() ? 0 : file.length(), properties);
+	}
+
+	// CF.FileManagerOperations
+
+	/**
+	 * @param pattern A path, optionally with <code>*</code> / <code>?</code> wildcards in the last segment. A trailing
+	 * <code>/</code> lists a directory's contents; otherwise the matching entries themselves are returned.
+	 */
+	public FileInformationType[] list(String pattern) throws InvalidFileName {
+		listCount.incrementAndGet();
+		String path = pattern.isEmpty() ? "/" : pattern;
+		int slash = path.lastIndexOf('/');
+		File dir = resolve(path.substring(0, slash));
+		String namePattern = path.substring(slash + 1);
+		if (namePattern.isEmpty()) {
+			namePattern = "*";
+		}
+		if (!dir.isDirectory()) {
+			return new FileInformationType[0];
+		}
+		if (namePattern.indexOf('*') == -1 && namePattern.indexOf('?') == -1) {
+			File file = new File(dir, namePattern);
+			return file.exists() ? new FileInformationType[] { info(file) } : new FileInformationType[0];
+		}
+
+		Pattern regex = Pattern.compile(Pattern.quote(namePattern).replace("*", "\\E.*\\Q").replace("?", "\\E.\\Q"));
+		List<FileInformationType> infos = new ArrayList<FileInformationType>();
+		File[] children = dir.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (regex.matcher(child.getName()).matches()) {
+					infos.add(info(child));
+				}
+			}
+		}
+		return infos.toArray(new FileInformationType[infos.size()]);
+	}
+
+	public boolean exists(String fileName) throws InvalidFileName {
+		return resolve(fileName).exists();
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html.
+ */
+package gov.redhawk.ide.ui.tests.runtime.stubs;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implements a CORBA operations interface (e.g. CF.DomainManagerOperations) by forwarding each operation to the
+ * public method with the same signature on a plain object. Operations the object doesn't provide return an empty
+ * value (empty array / string, zero, false or null) rather than failing.
+ * <p/>
+ * This lets a stub implement just the operations the IDE actually uses, without having to follow every operation
+ * added to the CF interfaces from one REDHAWK release to the next.
+ */
+final class StubOperations implements InvocationHandler {
+
+	/**
+	 * IDs of the threads which have dispatched an operation to a stub
+	 */
+	static final Set<Long> DISPATCH_THREAD_IDS = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+	private final Object target;
+
+	private StubOperations(Object target) {
+		this.target = target;
+	}
+
+	/**
+	 * @param operations The operations interface to implement
+	 * @param target The object providing the operations
+	 * @return An implementation of the operations interface, suitable for use with the interface's POATie
+	 */
+	static < T > T create(Class<T> operations, Object target) {
+		Object proxy = Proxy.newProxyInstance(operations.getClassLoader(), new Class< ? >[] { operations }, new StubOperations(target));
+		return operations.cast(proxy);
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		DISPATCH_THREAD_IDS.add(Thread.currentThread().getId());
+		if (method.getDeclaringClass() == Object.class) {
+			return method.invoke(target, args);
+		}
+
+		Method implementation;
+		try {
+			implementation = target.getClass().getMethod(method.getName(), method.getParameterTypes());
+		} catch (NoSuchMethodException e) {
+			return emptyValue(method.getReturnType());
+		}
+		try {
+			return implementation.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static Object emptyValue(Class< ? > type) {
+		if (type.isArray()) {
+			return Array.newInstance(type.getComponentType(), 0);
+		} else if (type == String.class) {
+			return "";
+		} else if (type == boolean.class) {
+			return false;
+		} else if (type == char.class) {
+			return '\0';
+		} else if (type == byte.class) {
+			return (byte) 0;
+		} else if (type == short.class) {
+			return (short) 0;
+		} else if (type == int.class) {
+			return 0;
+		} else if (type == long.class) {
+			return 0L;
+		} else if (type == float.class) {
+			return 0f;
+		} else if (type == double.class) {
+			return 0d;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,188 @@
+#!/usr/bin/env python
+#
+# This file is protected by Copyright.
+# Please refer to the COPYRIGHT file distributed with this source distribution.
+#
+# This file is part of REDHAWK IDE.
+#
+# All rights reserved.  This program and the accompanying materials are made available under
+# the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+# http://www.eclipse.org/legal/epl-v10.html
+#
+"""
+Runs graphical-runtime test plugins with an OSGi configuration area that is kept between runs.
+
+Normally every test run starts from an empty configuration area, so Equinox re-resolves every bundle and the
+extension registry re-parses every plugin.xml. With the 'config-cache' profile (see pom.xml) each module's test
+runtime is instead created in a cache directory outside of target/, and the framework state and registry cache
+written by the previous run are reused.
+
+The cache for a module is keyed by a checksum of everything that decides its bundle set: the module's
+MANIFEST.MF, this reactor's pom.xml (target platform repositories) and the bundles in the local p2 artifact cache.
+When the checksum changes the old configuration area is thrown away and the next run starts cold. Changes to the
+reactor's own bundles (which get a new qualifier on every build) don't change the key; Equinox picks those up
+itself, since the profile turns on osgi.checkConfiguration.
+
+The startup time of each run is recorded per module, and the time saved against the last cold run is reported. It is
+measured from the build output, as the time from tycho-surefire launching the test runtime until the first test class
+starts running, so dependency resolution, compilation and packaging aren't included.
+
+Usage: ./run-cached-config-tests.py [--clear] [module ...]
+"""
+
+import glob
+import hashlib
+import json
+import optparse
+import os
+import re
+import shutil
+import subprocess
+import sys
+import time
+
+BASEDIR = os.path.dirname(os.path.abspath(__file__))
+KEY_FILE = 'key'
+TIMINGS_FILE = 'startup.json'
+
+# tycho-surefire logs these just before it forks the test runtime
+LAUNCH_RE = re.compile(r'Expected eclipse log file:|Command line:')
+# ...and the surefire provider logs this as each test class starts, once the runtime (and workbench) is up
+FIRST_TEST_RE = re.compile(r'^Running \S+')
+
+
+def find_modules():
+    """Test plugin modules are the subdirectories with an eclipse-test-plugin pom (except the aggregated suite and the
+    benchmarks)."""
+    modules = []
+    for pom in sorted(glob.glob(os.path.join(BASEDIR, '*', 'pom.xml'))):
+        if os.path.basename(os.path.dirname(pom)) in ('gov.redhawk.ide.runtime.tests.suite', 'gov.redhawk.ide.runtime.benchmarks'):
+            continue
+        if '<packaging>eclipse-test-plugin</packaging>' in open(pom).read():
+            modules.append(os.path.basename(os.path.dirname(pom)))
+    return modules
+
+
+def cache_key(module, p2_cache):
+    """Checksum of the inputs which decide which bundles end up in the module's test runtime."""
+    digest = hashlib.sha1()
+    for path in [os.path.join(BASEDIR, module, 'META-INF', 'MANIFEST.MF'), os.path.join(BASEDIR, 'pom.xml')]:
+        digest.update(open(path, 'rb').read())
+    for root, dirs, files in os.walk(p2_cache):
+        dirs.sort()
+        for name in sorted(files):
+            path = os.path.join(root, name)
+            digest.update(('%s %d\n' % (os.path.relpath(path, p2_cache), os.path.getsize(path))).encode('utf-8'))
+    return digest.hexdigest()
+
+
+def prepare(cache_dir, key):
+    """Returns True if the cached configuration area can be reused, otherwise empties it."""
+    key_file = os.path.join(cache_dir, KEY_FILE)
+    if os.path.exists(key_file) and open(key_file).read().strip() == key:
+        return True
+    work = os.path.join(cache_dir, 'work')
+    if os.path.exists(work):
+        shutil.rmtree(work)
+    if not os.path.isdir(cache_dir):
+        os.makedirs(cache_dir)
+    return False
+
+
+def run_build(args):
+    """
+    Runs the build, echoing its output, and returns (exit code, startup time). The startup time is from the launch of
+    the test runtime to the first test class starting, timed as the lines arrive (None if either line isn't seen).
+    """
+    process = subprocess.Popen(args, stdout=subprocess.PIPE, stderr=subprocess.STDOUT, universal_newlines=True)
+    launched = None
+    first_test = None
+    for line in iter(process.stdout.readline, ''):
+        now = time.time()
+        sys.stdout.write(line)
+        if launched is None and LAUNCH_RE.search(line):
+            launched = now
+        elif launched is not None and first_test is None and FIRST_TEST_RE.search(line):
+            first_test = now
+    sys.stdout.flush()
+    returncode = process.wait()
+    startup = first_test - launched if launched is not None and first_test is not None else None
+    return returncode, startup
+
+
+def load_timings(cache_dir):
+    path = os.path.join(cache_dir, TIMINGS_FILE)
+    if not os.path.exists(path):
+        return {}
+    return json.load(open(path))
+
+
+def save_timings(cache_dir, timings):
+    out = open(os.path.join(cache_dir, TIMINGS_FILE), 'w')
+    json.dump(timings, out, indent=2, sort_keys=True)
+    out.close()
+
+
+def main():
+    parser = optparse.OptionParser(usage='%prog [options] [module ...]')
+    parser.add_option('--cache-dir', default=os.path.join(os.path.expanduser('~'), '.redhawk-ide-uitests', 'config-cache'),
+                      help='where the configuration areas are kept [default: %default]')
+    parser.add_option('--p2-cache', default=os.path.join(os.path.expanduser('~'), '.m2', 'repository', 'p2'),
+                      help='local p2 artifact cache used to compute the cache key [default: %default]')
+    parser.add_option('--clear', action='store_true', default=False, help='discard the cached configuration areas first')
+    parser.add_option('--mvn', default='mvn')
+    parser.add_option('-D', dest='properties', action='append', default=[], help='extra maven property')
+    options, modules = parser.parse_args()
+
+    if options.clear and os.path.exists(options.cache_dir):
+        shutil.rmtree(options.cache_dir)
+
+    results = []
+    failures = []
+    for module in modules or find_modules():
+        cache_dir = os.path.join(options.cache_dir, module)
+        key = cache_key(module, options.p2_cache)
+        warm = prepare(cache_dir, key)
+        print('%s: %s configuration area' % (module, warm and 'cached' or 'new'))
+        sys.stdout.flush()
+
+        args = [options.mvn, '-B', '-f', os.path.join(BASEDIR, module, 'pom.xml'), 'verify',
+                '-Dconfig.cache.dir=' + cache_dir] + ['-D' + prop for prop in options.properties]
+        returncode, overhead = run_build(args)
+        if returncode != 0:
+            failures.append(module)
+            results.append((module, warm, None, None))
+            continue
+
+        # Only mark the area valid once a run has completed with it
+        out = open(os.path.join(cache_dir, KEY_FILE), 'w')
+        out.write(key)
+        out.close()
+
+        if overhead is None:
+            print('%s: no test runtime launch / first test found in the build output' % module)
+            results.append((module, warm, None, None))
+            continue
+        timings = load_timings(cache_dir)
+        if warm:
+            timings['warm'] = overhead
+        else:
+            timings = {'cold': overhead}
+        save_timings(cache_dir, timings)
+        saved = timings['cold'] - overhead if warm and 'cold' in timings else None
+        results.append((module, warm, overhead, saved))
+
+    print('')
+    print('%-60s %-6s %10s %10s' % ('Module', 'Cache', 'Startup', 'Saved'))
+    for module, warm, overhead, saved in results:
+        if module in failures:
+            startup = 'FAILED'
+        else:
+            startup = '%.1fs' % overhead if overhead is not None else '?'
+        print('%-60s %-6s %10s %10s' % (module, warm and 'warm' or 'cold', startup,
+                                        '%.1fs' % saved if saved is not None else '-'))
+    return failures and 1 or 0
+
+
+if __name__ == '__main__':
+    sys.exit(main())
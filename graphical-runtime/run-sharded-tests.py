@@ -0,0 +1,293 @@
+#!/usr/bin/env python
+#
+# This file is protected by Copyright.
+# Please refer to the COPYRIGHT file distributed with this source distribution.
+#
+# This file is part of REDHAWK IDE.
+#
+# All rights reserved.  This program and the accompanying materials are made available under
+# the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+# http://www.eclipse.org/legal/epl-v10.html
+#
+"""
+Runs the graphical-runtime test plugins across several isolated workers on one host.
+
+Each worker gets its own Xvfb display, omniNames (and omniEvents, if installed) on its own port, a copy-on-write copy
+of the SDRROOT, and its own build/work directory (via the 'shard' profile in pom.xml). Test classes are spread across
+the workers by their duration in previous runs (longest first onto the least loaded worker). Durations are read back
+from the surefire reports after the run and saved for the next one.
+
+Usage: ./run-sharded-tests.py -n 8 [module ...]
+"""
+
+import glob
+import json
+import optparse
+import os
+import re
+import shutil
+import signal
+import socket
+import subprocess
+import sys
+import threading
+import time
+import xml.dom.minidom
+
+BASEDIR = os.path.dirname(os.path.abspath(__file__))
+DEFAULT_DURATION = 60.0
+
+PACKAGE_RE = re.compile(r'^\s*package\s+([\w.]+)\s*;', re.MULTILINE)
+CLASS_RE = re.compile(r'^public\s+(abstract\s+)?class\s+(\w+)', re.MULTILINE)
+
+
+def find_modules():
+    """Test plugin modules are the subdirectories with an eclipse-test-plugin pom (except the aggregated suite, which
+    only re-runs the tests of the others)."""
+    modules = []
+    for pom in sorted(glob.glob(os.path.join(BASEDIR, '*', 'pom.xml'))):
+        if os.path.basename(os.path.dirname(pom)) == 'gov.redhawk.ide.runtime.tests.suite':
+            continue
+        if '<packaging>eclipse-test-plugin</packaging>' in open(pom).read():
+            modules.append(os.path.basename(os.path.dirname(pom)))
+    return modules
+
+
+def find_test_classes(module):
+    """Returns the fully-qualified names of the concrete *Test classes in a module."""
+    classes = []
+    for root, dirs, files in os.walk(os.path.join(BASEDIR, module, 'src')):
+        for name in files:
+            if not name.endswith('Test.java'):
+                continue
+            source = open(os.path.join(root, name)).read()
+            package = PACKAGE_RE.search(source)
+            decl = CLASS_RE.search(source)
+            if package is None or decl is None or decl.group(1):
+                continue
+            classes.append(package.group(1) + '.' + decl.group(2))
+    return sorted(classes)
+
+
+def load_durations(path):
+    if not os.path.exists(path):
+        return {}
+    return json.load(open(path))
+
+
+def save_durations(path, durations):
+    out = open(path, 'w')
+    json.dump(durations, out, indent=2, sort_keys=True)
+    out.close()
+
+
+def distribute(tests, durations, workers):
+    """
+    Longest-processing-time-first: sort by expected duration, always hand the next test to the least loaded worker.
+    Tests without history are assumed to take the average of the known ones.
+    """
+    known = [durations[key] for key in tests if key in durations]
+    default = known and sum(known) / len(known) or DEFAULT_DURATION
+    expected = dict((key, durations.get(key, default)) for key in tests)
+
+    loads = [0.0] * workers
+    shards = [[] for i in range(workers)]
+    for key in sorted(tests, key=lambda k: -expected[k]):
+        index = loads.index(min(loads))
+        shards[index].append(key)
+        loads[index] += expected[key]
+    return shards, loads
+
+
+class Worker(threading.Thread):
+
+    def __init__(self, index, tests, options):
+        threading.Thread.__init__(self)
+        self.index = index
+        self.tests = tests
+        self.options = options
+        self.display = ':%d' % (options.base_display + index)
+        self.port = options.base_port + index
+        self.dir = os.path.join(options.work_dir, 'shard-%d' % index)
+        self.processes = []
+        self.logfile = None
+        self.failures = []
+
+    def log(self, message):
+        sys.stdout.write('[shard-%d] %s\n' % (self.index, message))
+        sys.stdout.flush()
+
+    def setup(self):
+        if os.path.exists(self.dir):
+            shutil.rmtree(self.dir)
+        os.makedirs(os.path.join(self.dir, 'naming'))
+        os.makedirs(os.path.join(self.dir, 'events'))
+        self.logfile = open(os.path.join(self.dir, 'worker.log'), 'w')
+
+        # Copy-on-write where the filesystem supports it (btrfs, xfs), plain copy otherwise
+        self.sdrroot = os.path.join(self.dir, 'sdr')
+        subprocess.check_call(['cp', '-a', '--reflink=auto', self.options.sdrroot, self.sdrroot])
+
+        self.omniorb_config = os.path.join(self.dir, 'omniORB.cfg')
+        cfg = open(self.omniorb_config, 'w')
+        cfg.write('InitRef = NameService=corbaname::127.0.0.1:%d\n' % self.port)
+        cfg.write('supportBootstrapAgent = 1\n')
+        cfg.close()
+
+        env = dict(os.environ)
+        env['OMNIORB_CONFIG'] = self.omniorb_config
+        xvfb = self.spawn(['Xvfb', self.display, '-screen', '0', '1280x1024x24', '-nolisten', 'tcp'], env)
+        naming = self.spawn(['omniNames', '-start', str(self.port), '-logdir', os.path.join(self.dir, 'naming')], env)
+        self.wait_until(xvfb, 'X display ' + self.display, self.display_ready)
+        self.wait_until(naming, 'naming service port %d' % self.port, self.port_ready)
+        if self.options.omni_events:
+            self.spawn(['omniEvents', '-p', str(self.port + self.options.workers), '-l', os.path.join(self.dir, 'events')], env)
+
+    def spawn(self, args, env):
+        process = subprocess.Popen(args, env=env, stdout=self.logfile, stderr=subprocess.STDOUT)
+        self.processes.append(process)
+        return process
+
+    def wait_until(self, process, what, ready):
+        """Polls until ready() is true, failing if the process serving it exits or it takes too long."""
+        deadline = time.time() + self.options.startup_timeout
+        while not ready():
+            if process.poll() is not None:
+                raise RuntimeError('%s: process exited with %d' % (what, process.returncode))
+            if time.time() > deadline:
+                raise RuntimeError('%s: not ready after %ds' % (what, self.options.startup_timeout))
+            time.sleep(0.1)
+
+    def display_ready(self):
+        devnull = open(os.devnull, 'w')
+        try:
+            return subprocess.call(['xdpyinfo', '-display', self.display], stdout=devnull, stderr=subprocess.STDOUT) == 0
+        finally:
+            devnull.close()
+
+    def port_ready(self):
+        sock = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        try:
+            sock.settimeout(1)
+            sock.connect(('127.0.0.1', self.port))
+            return True
+        except socket.error:
+            return False
+        finally:
+            sock.close()
+
+    def teardown(self):
+        for process in reversed(self.processes):
+            if process.poll() is None:
+                process.send_signal(signal.SIGTERM)
+                process.wait()
+        if self.logfile is not None:
+            self.logfile.close()
+
+    def run(self):
+        modules = {}
+        for key in self.tests:
+            module, fqcn = key.split('/', 1)
+            modules.setdefault(module, []).append(fqcn.rsplit('.', 1)[1])
+
+        try:
+            try:
+                self.setup()
+            except Exception:
+                self.failures.append('(worker setup)')
+                raise
+            for module in sorted(modules):
+                self.log('%s: %s' % (module, ', '.join(modules[module])))
+                reports = os.path.join(BASEDIR, module, 'target', 'shard-%d' % self.index, 'surefire-reports')
+                if os.path.exists(reports):
+                    shutil.rmtree(reports)
+                args = [self.options.mvn, '-B', '-f', os.path.join(BASEDIR, module, 'pom.xml'), 'verify',
+                        '-Dshard.id=%d' % self.index,
+                        '-Dshard.display=' + self.display,
+                        '-Dshard.orbPort=%d' % self.port,
+                        '-Dshard.sdrroot=' + self.sdrroot,
+                        '-Dshard.omniorbConfig=' + self.omniorb_config,
+                        '-Dtest=' + ','.join(modules[module]),
+                        '-DfailIfNoTests=false'] + self.options.mvn_args
+                env = dict(os.environ)
+                env['DISPLAY'] = self.display
+                env['SDRROOT'] = self.sdrroot
+                env['OMNIORB_CONFIG'] = self.omniorb_config
+                self.logfile.flush()
+                if subprocess.call(args, env=env, stdout=self.logfile, stderr=subprocess.STDOUT) != 0:
+                    self.failures.append(module)
+        finally:
+            self.teardown()
+
+
+def collect_durations(modules, workers, durations, start):
+    # A worker that didn't run a module this time still has the module's reports from an earlier run
+    for module in modules:
+        for worker in range(workers):
+            pattern = os.path.join(BASEDIR, module, 'target', 'shard-%d' % worker, 'surefire-reports', 'TEST-*.xml')
+            for report in glob.glob(pattern):
+                if os.path.getmtime(report) < start:
+                    continue
+                suite = xml.dom.minidom.parse(report).documentElement
+                durations[module + '/' + suite.getAttribute('name')] = float(suite.getAttribute('time') or 0)
+
+
+def main():
+    parser = optparse.OptionParser(usage='%prog [options] [module ...]')
+    parser.add_option('-n', '--workers', type='int', default=4, help='number of workers [default: %default]')
+    parser.add_option('--base-display', type='int', default=10, help='first X display number [default: %default]')
+    parser.add_option('--base-port', type='int', default=12809, help='first naming service port [default: %default]')
+    parser.add_option('--sdrroot', default=os.path.join(BASEDIR, 'sdr'), help='SDRROOT to copy for each worker')
+    parser.add_option('--work-dir', default=os.path.join(BASEDIR, 'target', 'shards'), help='per-worker scratch space')
+    parser.add_option('--durations', default=os.path.join(BASEDIR, 'test-durations.json'),
+                      help='historical test class durations [default: %default]')
+    parser.add_option('--no-omni-events', dest='omni_events', action='store_false', default=True,
+                      help="don't start an omniEvents per worker")
+    parser.add_option('--skip-install', action='store_true', default=False,
+                      help="don't install the shared test bundles before running")
+    parser.add_option('--startup-timeout', type='int', default=30,
+                      help='seconds to wait for each worker\'s X display and naming service [default: %default]')
+    parser.add_option('--mvn', default='mvn')
+    parser.add_option('--dry-run', action='store_true', default=False, help='only print the test distribution')
+    parser.add_option('-D', dest='properties', action='append', default=[], help='extra maven property')
+    options, modules = parser.parse_args()
+    options.mvn_args = ['-D' + prop for prop in options.properties]
+
+    modules = modules or find_modules()
+    tests = []
+    for module in modules:
+        tests.extend([module + '/' + fqcn for fqcn in find_test_classes(module)])
+
+    durations = load_durations(options.durations)
+    shards, loads = distribute(tests, durations, options.workers)
+    for index, load in enumerate(loads):
+        print('shard-%d: %d test classes, ~%ds' % (index, len(shards[index]), load))
+    if options.dry_run:
+        return 0
+
+    # The test plugins resolve the shared test bundles from the local repository
+    if not options.skip_install:
+        subprocess.check_call([options.mvn, '-B', '-f', os.path.join(BASEDIR, 'pom.xml'), 'install', '-DskipTests']
+                              + options.mvn_args)
+
+    start = time.time()
+    workers = [Worker(index, shards[index], options) for index in range(options.workers) if shards[index]]
+    for worker in workers:
+        worker.start()
+    for worker in workers:
+        worker.join()
+    print('Wall-clock time: %ds' % (time.time() - start))
+
+    collect_durations(modules, options.workers, durations, start)
+    save_durations(options.durations, durations)
+
+    failed = False
+    for worker in workers:
+        for module in worker.failures:
+            print('FAILED: shard-%d %s (see %s)' % (worker.index, module, os.path.join(worker.dir, 'worker.log')))
+            failed = True
+    return failed and 1 or 0
+
+
+if __name__ == '__main__':
+    sys.exit(main())
@@ -12,6 +12,7 @@ package gov.redhawk.ide.graphiti.sad.ui.tests;
 
 import java.util.List;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.graphiti.mm.algorithms.Polyline;
 import org.eclipse.graphiti.mm.pictograms.Connection;
@@ -25,9 +26,8 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import gov.redhawk.ide.graphiti.ui.diagram.util.DUtil;
+import gov.redhawk.ide.graphiti.ui.tests.util.ProjectFixture;
 import gov.redhawk.ide.swtbot.MenuUtils;
-import gov.redhawk.ide.swtbot.WaveformUtils;
-import gov.redhawk.ide.swtbot.condition.WaitForEditorCondition;
 import gov.redhawk.ide.swtbot.diagram.AbstractGraphitiTest;
 import gov.redhawk.ide.swtbot.diagram.ConnectionUtils;
 import gov.redhawk.ide.swtbot.diagram.ConnectionUtils.ConnectionState;
@@ -54,18 +54,13 @@ public class ConnectionTest extends AbstractGraphitiTest {
 	 * Users should be able to create connections between components in the Graphiti diagram
 	 */
 	@Test
-	public void connectFeatureTest() {
+	public void connectFeatureTest() throws CoreException {
 		waveformName = "IDE-731-Test";
 		final String undoTooltip = "Undo connection creation (Ctrl+Z)";
 		final String redoTooltip = "Redo connection creation (Shift+Ctrl+Z)";
 
-		// Create an empty waveform project
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-
-		// Add components to diagram from palette
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 300, 0);
+		// Create a waveform with two components
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(HARD_LIMIT, 300, 0).open(gefBot);
 
 		// Get component edit parts and container shapes
 		SWTBotGefEditPart sourceComponentEditPart = editor.getEditPart(SIG_GEN_1);
@@ -148,17 +143,11 @@ public class ConnectionTest extends AbstractGraphitiTest {
 	 * When the redundant connection(s) are deleted the error decorators should be removed.
 	 */
 	@Test
-	public void redundantConnectionTest() {
+	public void redundantConnectionTest() throws CoreException {
 		waveformName = "IDE-679-Test";
 
-		// Create an empty waveform project
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-
-		// Add components to diagram from palette
-		gefBot.waitUntil(new WaitForEditorCondition());
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 300, 0);
+		// Create a waveform with two components
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(HARD_LIMIT, 300, 0).open(gefBot);
 
 		// Get port edit parts
 		SWTBotGefEditPart usesEditPart = DiagramTestUtils.getDiagramUsesPort(editor, SIG_GEN_1);
@@ -187,16 +176,11 @@ public class ConnectionTest extends AbstractGraphitiTest {
 	 * Test that connection decorators are drawn for incompatible connections
 	 */
 	@Test
-	public void incompatibleConnectionTest() {
+	public void incompatibleConnectionTest() throws CoreException {
 		waveformName = "IDE-657-Test";
 
-		// Create an empty waveform project
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-
-		// Add components to diagram from palette
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 300, 0);
+		// Create a waveform with two components
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(DATA_CONVERTER, 300, 0).open(gefBot);
 
 		// Get port edit parts
 		SWTBotGefEditPart usesEditPart = DiagramTestUtils.getDiagramUsesPort(editor, SIG_GEN_1);
@@ -226,18 +210,13 @@ public class ConnectionTest extends AbstractGraphitiTest {
 	 * Test the compatible port highlight behavior
 	 */
 	@Test
-	public void highlightTest() {
+	public void highlightTest() throws CoreException {
 		waveformName = "HighlightTestWF";
 		String sigGenPort = "dataFloat_out";
 		String dataConPort = "dataFloat";
 
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-
-		// Add components to diagram from palette
 		// We need the RHTestBotEditor so we can get the canvas and do direct mouse events
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 300, 0);
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(DATA_CONVERTER, 300, 0).open(gefBot);
 		SWTBotGefEditPart usesPort = DiagramTestUtils.getDiagramUsesPort(editor, SIG_GEN_1, sigGenPort).children().get(0);
 		usesPort.select();
 
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package gov.redhawk.ide.graphiti.sad.ui.tests;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
@@ -24,6 +25,7 @@ import org.junit.Test;
 
 import gov.redhawk.ide.graphiti.sad.ui.diagram.patterns.HostCollocationPattern;
 import gov.redhawk.ide.graphiti.ui.diagram.util.DUtil;
+import gov.redhawk.ide.graphiti.ui.tests.util.ProjectFixture;
 import gov.redhawk.ide.swtbot.MenuUtils;
 import gov.redhawk.ide.swtbot.WaveformUtils;
 import gov.redhawk.ide.swtbot.diagram.AbstractGraphitiTest;
@@ -52,18 +54,11 @@ public class HostCollocationTest extends AbstractGraphitiTest {
 	 * This includes the ContainerShape for the component a label for the object name.
 	 */
 	@Test
-	public void checkHostCollocationPictogramElements() {
+	public void checkHostCollocationPictogramElements() throws CoreException {
 		String waveformName = "HC_Pictogram";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add host collocation to the waveform
-		DiagramTestUtils.addHostCollocationToDiagram(editor);
-
-		// Add component to the host collocation
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 20, 20);
+		// Create a waveform with a component in a host collocation
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).hostCollocation(HOST_CO_NAME).add(HARD_LIMIT).open(gefBot);
 
 		// Check pictogram elements
 		SWTBotGefEditPart hostCoEditPart = editor.getEditPart(HOST_CO_NAME);
@@ -89,18 +84,11 @@ public class HostCollocationTest extends AbstractGraphitiTest {
 	 * parent container is moved.
 	 */
 	@Test
-	public void hostCollocationRelativePosition() {
+	public void hostCollocationRelativePosition() throws CoreException {
 		String waveformName = "HC_Component_Position";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add host collocation to the waveform
-		DiagramTestUtils.addHostCollocationToDiagram(editor);
-
-		// Add component to the host collocation
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 20, 20);
+		// Create a waveform with a component in a host collocation
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).hostCollocation(HOST_CO_NAME).add(HARD_LIMIT).open(gefBot);
 
 		// Store host collocation and component relative location
 		ContainerShape hostCoShape = DiagramTestUtils.getHostCollocationShape(editor, HOST_CO_NAME);
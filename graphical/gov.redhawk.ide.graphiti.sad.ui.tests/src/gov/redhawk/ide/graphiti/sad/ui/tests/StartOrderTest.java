@@ -12,9 +12,11 @@ package gov.redhawk.ide.graphiti.sad.ui.tests;
 
 import java.math.BigInteger;
 
+import org.eclipse.core.runtime.CoreException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.tests.util.ProjectFixture;
 import gov.redhawk.ide.swtbot.MenuUtils;
 import gov.redhawk.ide.swtbot.WaveformUtils;
 import gov.redhawk.ide.swtbot.diagram.AbstractGraphitiTest;
@@ -39,16 +41,11 @@ public class StartOrderTest extends AbstractGraphitiTest {
 	 * Assembly controller should always have a start order of zero.
 	 */
 	@Test
-	public void changeStartOrderTest() {
+	public void changeStartOrderTest() throws CoreException {
 		waveformName = "Change_Start_Order";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add components to the diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 100, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 100, 150);
+		// Create a waveform with two components
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(HARD_LIMIT, 100, 0).add(SIG_GEN, 100, 150).open(gefBot);
 
 		// Get component objects
 		SadComponentInstantiation componentOneObj = DiagramTestUtils.getComponentObject(editor, HARD_LIMIT_1);
@@ -105,18 +102,13 @@ public class StartOrderTest extends AbstractGraphitiTest {
 	 * Similar steps changeStartOrderTest(), but includes a component without a defined start order
 	 */
 	@Test
-	public void changeStartOrderWithNullTest() {
+	public void changeStartOrderWithNullTest() throws CoreException {
 		waveformName = "Null_Start_Order";
 
-		// Create a new waveform with an assembly controller
-		// ...when assembly controllers are added from the new project wizard they don't have a start order
-		// ...this is kind of a hack
-		WaveformUtils.createNewWaveform(gefBot, waveformName, SIG_GEN);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add additional components to the diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 10,  150);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 200, 10);
+		// Create a waveform whose assembly controller has no start order (as the new project wizard creates it),
+		// plus additional components
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN).withoutStartOrder()
+			.add(HARD_LIMIT, 10, 150).add(DATA_CONVERTER, 200, 10).open(gefBot);
 		// Get component objects
 		SadComponentInstantiation compNoStartOrderObj = DiagramTestUtils.getComponentObject(editor, SIG_GEN_1);
 		SadComponentInstantiation componentOneObj = DiagramTestUtils.getComponentObject(editor, HARD_LIMIT_1);
@@ -210,18 +202,13 @@ public class StartOrderTest extends AbstractGraphitiTest {
 	 * for all components should update the next time the diagram is viewed
 	 */
 	@Test
-	public void setAssemblyControllerFromOverview() {
+	public void setAssemblyControllerFromOverview() throws CoreException {
 		waveformName = "AC_From_Overview";
 		final String[] component = { DATA_CONVERTER, HARD_LIMIT, SIG_GEN };
 		final String[] componentInstance = { DATA_CONVERTER_1, HARD_LIMIT_1, SIG_GEN_1 };
 
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add components to diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[0], 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[1], 250, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[2], 300, 200);
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(component[0], 0, 0).add(component[1], 250, 0).add(component[2], 300, 200)
+			.open(gefBot);
 
 		// Check initial assembly controller
 		MenuUtils.save(editor);
@@ -251,17 +238,13 @@ public class StartOrderTest extends AbstractGraphitiTest {
 	 * the Graphiti diagram editor
 	 */
 	@Test
-	public void setAssemblyControllerFromDiagramChangesOverview() {
+	public void setAssemblyControllerFromDiagramChangesOverview() throws CoreException {
 		waveformName = "AC_From_Diagram";
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
 		final String[] component = { DATA_CONVERTER, HARD_LIMIT, SIG_GEN };
 		final String[] componentInstance = { DATA_CONVERTER_1, HARD_LIMIT_1, SIG_GEN_1 };
 
-		// Add components to diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[0], 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[1], 250, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, component[2], 300, 200);
+		RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(component[0], 0, 0).add(component[1], 250, 0).add(component[2], 300, 200)
+			.open(gefBot);
 
 		// Check initial assembly controller
 		MenuUtils.save(editor);
@@ -18,10 +18,9 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import gov.redhawk.ide.graphiti.ui.tests.util.ProjectFixture;
 import gov.redhawk.ide.swtbot.StandardTestActions;
 import gov.redhawk.ide.swtbot.UITest;
-import gov.redhawk.ide.swtbot.WaveformUtils;
-import gov.redhawk.ide.swtbot.diagram.DiagramTestUtils;
 import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
 import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
 
@@ -41,9 +40,8 @@ public abstract class SadAbstractPropertiesTabTest extends UITest {
 	public void before() throws Exception {
 		super.before();
 
-		WaveformUtils.createNewWaveform(bot, "SadAbstractPropertiesTabTest", SIG_GEN);
-		RHBotGefEditor editor = new RHSWTGefBot().rhGefEditor("SadAbstractPropertiesTabTest");
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 150, 0);
+		RHBotGefEditor editor = ProjectFixture.waveform("SadAbstractPropertiesTabTest").add(SIG_GEN).withoutStartOrder().add(DATA_CONVERTER, 150, 0)
+			.open(new RHSWTGefBot());
 
 		editorBot = editor.bot();
 		editorBot.cTabItem("Properties").activate();
@@ -13,6 +13,7 @@ package gov.redhawk.ide.graphiti.sad.ui.tests.xml;
 import java.math.BigInteger;
 import java.util.List;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.graphiti.mm.pictograms.Connection;
 import org.eclipse.graphiti.mm.pictograms.ContainerShape;
 import org.eclipse.swtbot.eclipse.gef.finder.widgets.SWTBotGefConnectionEditPart;
@@ -24,6 +25,7 @@ import org.junit.Test;
 import gov.redhawk.core.graphiti.sad.ui.ext.ComponentShape;
 import gov.redhawk.ide.graphiti.sad.ui.tests.SadTestUtils;
 import gov.redhawk.ide.graphiti.ui.diagram.util.DUtil;
+import gov.redhawk.ide.graphiti.ui.tests.util.ProjectFixture;
 import gov.redhawk.ide.swtbot.MenuUtils;
 import gov.redhawk.ide.swtbot.WaveformUtils;
 import gov.redhawk.ide.swtbot.diagram.AbstractGraphitiTest;
@@ -55,17 +57,12 @@ public class XmlToDiagramEditTest extends AbstractGraphitiTest {
 	 * Ensure that edits are reflected to the diagram upon save
 	 */
 	@Test
-	public void editComponentInXmlTest() {
+	public void editComponentInXmlTest() throws CoreException {
 		waveformName = "Edit_Component_Xml";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		final RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add component to the diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 200, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 0, 200);
+		// Create a waveform with components
+		final RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(HARD_LIMIT, 200, 0).add(DATA_CONVERTER, 0, 200)
+			.open(gefBot);
 
 		// Edit content of sad.xml
 		DiagramTestUtils.openTabInEditor(editor, waveformName + ".sad.xml");
@@ -92,17 +89,12 @@ public class XmlToDiagramEditTest extends AbstractGraphitiTest {
 	 * Ensure that edits are reflected to the diagram upon save
 	 */
 	@Test
-	public void editConnectionInXmlTest() {
+	public void editConnectionInXmlTest() throws CoreException {
 		waveformName = "Edit_Connection_Xml";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		final RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add components to the diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 10);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 200, 10);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, DATA_CONVERTER, 0, 150);
+		// Create a waveform with components
+		final RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 10).add(HARD_LIMIT, 200, 10).add(DATA_CONVERTER, 0, 150)
+			.open(gefBot);
 
 		// Get port edit parts
 		SWTBotGefEditPart sigGenUsesEditPart = DiagramTestUtils.getDiagramUsesPort(editor, SIG_GEN_1);
@@ -150,16 +142,11 @@ public class XmlToDiagramEditTest extends AbstractGraphitiTest {
 	 * Ensure that edits are reflected to the diagram upon save
 	 */
 	@Test
-	public void editAssemblyControllerInXmlTest() {
+	public void editAssemblyControllerInXmlTest() throws CoreException {
 		waveformName = "Edit_Assembly_Controller_Xml";
 
-		// Create a new empty waveform
-		WaveformUtils.createNewWaveform(gefBot, waveformName, null);
-		final RHBotGefEditor editor = gefBot.rhGefEditor(waveformName);
-
-		// Add component to the diagram
-		DiagramTestUtils.addFromPaletteToDiagram(editor, SIG_GEN, 0, 0);
-		DiagramTestUtils.addFromPaletteToDiagram(editor, HARD_LIMIT, 200, 0);
+		// Create a waveform with components
+		final RHBotGefEditor editor = ProjectFixture.waveform(waveformName).add(SIG_GEN, 0, 0).add(HARD_LIMIT, 200, 0).open(gefBot);
 
 		// Verify componentOne is set as assembly Controller
 		DiagramTestUtils.openTabInEditor(editor, "Diagram");
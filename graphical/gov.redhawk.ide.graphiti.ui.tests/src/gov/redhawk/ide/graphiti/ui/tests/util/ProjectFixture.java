@@ -0,0 +1,465 @@
+/**
+ * This file is protected by Copyright.
+ * Please refer to the COPYRIGHT file distributed with this source distribution.
+ *
+ * This file is part of REDHAWK IDE.
+ *
+ * All rights reserved.  This program and the accompanying materials are made available under
+ * the terms of the Eclipse Public License v1.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package gov.redhawk.ide.graphiti.ui.tests.util;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.core.resources.ICommand;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
+import org.eclipse.graphiti.mm.pictograms.ContainerShape;
+import org.eclipse.swtbot.swt.finder.finders.UIThreadRunnable;
+import org.eclipse.swtbot.swt.finder.results.VoidResult;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.ide.IDE;
+
+import gov.redhawk.ide.swtbot.MenuUtils;
+import gov.redhawk.ide.swtbot.diagram.RHBotGefEditor;
+import gov.redhawk.ide.swtbot.diagram.RHSWTGefBot;
+import mil.jpeojtrs.sca.dcd.DcdComponentInstantiation;
+import mil.jpeojtrs.sca.dcd.DcdComponentPlacement;
+import mil.jpeojtrs.sca.dcd.DcdConnections;
+import mil.jpeojtrs.sca.dcd.DcdFactory;
+import mil.jpeojtrs.sca.dcd.DcdPackage;
+import mil.jpeojtrs.sca.dcd.DcdPartitioning;
+import mil.jpeojtrs.sca.dcd.DeviceConfiguration;
+import mil.jpeojtrs.sca.dcd.DeviceManagerSoftPkg;
+import mil.jpeojtrs.sca.dcd.DomainManager;
+import mil.jpeojtrs.sca.partitioning.ComponentFile;
+import mil.jpeojtrs.sca.partitioning.ComponentFileRef;
+import mil.jpeojtrs.sca.partitioning.ComponentFiles;
+import mil.jpeojtrs.sca.partitioning.LocalFile;
+import mil.jpeojtrs.sca.partitioning.NamingService;
+import mil.jpeojtrs.sca.partitioning.PartitioningFactory;
+import mil.jpeojtrs.sca.sad.AssemblyController;
+import mil.jpeojtrs.sca.sad.HostCollocation;
+import mil.jpeojtrs.sca.sad.SadComponentInstantiation;
+import mil.jpeojtrs.sca.sad.SadComponentInstantiationRef;
+import mil.jpeojtrs.sca.sad.SadComponentPlacement;
+import mil.jpeojtrs.sca.sad.SadConnections;
+import mil.jpeojtrs.sca.sad.SadFactory;
+import mil.jpeojtrs.sca.sad.SadPackage;
+import mil.jpeojtrs.sca.sad.SadPartitioning;
+import mil.jpeojtrs.sca.sad.SoftwareAssembly;
+import mil.jpeojtrs.sca.util.ScaResourceFactoryUtil;
+
+/**
+ * Creates waveform (SAD) and node (DCD) projects directly in the workspace from a description of their contents,
+ * rather than going through the new project wizard and dragging each component from the palette.
+ * <p/>
+ * Components are named the same way the palette names them (e.g. rh.SigGen becomes SigGen_1), and by default receive
+ * the start orders the palette would give them, the first being the assembly controller.
+ * <pre>
+ * RHBotGefEditor editor = ProjectFixture.waveform("MyWaveform")
+ *     .add("rh.SigGen", 0, 0)
+ *     .add("rh.HardLimit", 300, 0)
+ *     .connect("SigGen_1", "dataFloat_out", "HardLimit_1", "dataFloat_in")
+ *     .open(gefBot);
+ * </pre>
+ */
+public final class ProjectFixture {
+
+	private static final String SCA_PROJECT_NATURE = "gov.redhawk.ide.natures.scaproject";
+	private static final String WAVEFORM_NATURE = "gov.redhawk.ide.natures.sca.waveform";
+	private static final String NODE_NATURE = "gov.redhawk.ide.natures.sca.node";
+	private static final String RPM_SPEC_BUILDER = "gov.redhawk.ide.codegen.builders.TopLevelRPMSpec";
+
+	private static class Instance {
+		private String spdId;
+		private String usageName;
+		private Integer startOrder;
+		private String hostCollocation;
+		private Integer x;
+		private Integer y;
+	}
+
+	private static class Connection {
+		private String usesInstance;
+		private String usesPort;
+		private String providesInstance;
+		private String providesPort;
+	}
+
+	private final String name;
+	private final boolean node;
+	private final String domainName;
+	private final List<Instance> instances = new ArrayList<Instance>();
+	private final List<Connection> connections = new ArrayList<Connection>();
+	private final Map<String, Integer> instanceCounts = new HashMap<String, Integer>();
+	private String assemblyController;
+	private String hostCollocation;
+	private int nextStartOrder = 0;
+
+	private ProjectFixture(String name, boolean node, String domainName) {
+		this.name = name;
+		this.node = node;
+		this.domainName = domainName;
+	}
+
+	/**
+	 * Describe a waveform project.
+	 * @param name the project and waveform name
+	 */
+	public static ProjectFixture waveform(String name) {
+		return new ProjectFixture(name, false, null);
+	}
+
+	/**
+	 * Describe a node project.
+	 * @param name the project and node name
+	 * @param domainName the domain the node registers with
+	 */
+	public static ProjectFixture node(String name, String domainName) {
+		return new ProjectFixture(name, true, domainName);
+	}
+
+	/**
+	 * Add a component (waveform) or device / service (node) from the Target SDR. It is laid out wherever the editor
+	 * decides.
+	 * @param id the ID shown in the palette, e.g. rh.SigGen
+	 */
+	public ProjectFixture add(String id) {
+		Instance instance = new Instance();
+		instance.spdId = id;
+		String baseName = id.substring(id.lastIndexOf('.') + 1);
+		Integer count = instanceCounts.get(baseName);
+		count = (count == null) ? 1 : count + 1;
+		instanceCounts.put(baseName, count);
+		instance.usageName = baseName + "_" + count;
+		instance.hostCollocation = hostCollocation;
+		if (!node) {
+			instance.startOrder = nextStartOrder++;
+			if (assemblyController == null) {
+				assemblyController = instance.usageName;
+			}
+		}
+		instances.add(instance);
+		return this;
+	}
+
+	/**
+	 * Add a component (waveform) or device / service (node) from the Target SDR at the specified position in the
+	 * diagram.
+	 * @see #add(String)
+	 */
+	public ProjectFixture add(String id, int x, int y) {
+		add(id);
+		Instance instance = instances.get(instances.size() - 1);
+		instance.x = x;
+		instance.y = y;
+		return this;
+	}
+
+	/**
+	 * Components added after this call are placed in a host collocation, until {@link #endHostCollocation()} is
+	 * called. Positions given for these components are relative to the host collocation.
+	 * @param name the host collocation's name, e.g. collocation_1
+	 */
+	public ProjectFixture hostCollocation(String name) {
+		this.hostCollocation = name;
+		return this;
+	}
+
+	/**
+	 * Components added after this call are no longer placed in a host collocation.
+	 */
+	public ProjectFixture endHostCollocation() {
+		this.hostCollocation = null;
+		return this;
+	}
+
+	/**
+	 * Removes the start order from the most recently added component, as the new waveform wizard does for the
+	 * assembly controller it adds.
+	 */
+	public ProjectFixture withoutStartOrder() {
+		instances.get(instances.size() - 1).startOrder = null;
+		return this;
+	}
+
+	/**
+	 * Set the assembly controller (by default the first component added).
+	 * @param usageName e.g. SigGen_1
+	 */
+	public ProjectFixture assemblyController(String usageName) {
+		this.assemblyController = usageName;
+		return this;
+	}
+
+	/**
+	 * Connect a uses port to a provides port.
+	 * @param usesInstance e.g. SigGen_1
+	 * @param usesPort e.g. dataFloat_out
+	 * @param providesInstance e.g. HardLimit_1
+	 * @param providesPort e.g. dataFloat_in
+	 */
+	public ProjectFixture connect(String usesInstance, String usesPort, String providesInstance, String providesPort) {
+		Connection connection = new Connection();
+		connection.usesInstance = usesInstance;
+		connection.usesPort = usesPort;
+		connection.providesInstance = providesInstance;
+		connection.providesPort = providesPort;
+		connections.add(connection);
+		return this;
+	}
+
+	/**
+	 * @return The name of the project's profile, e.g. MyWaveform.sad.xml or DeviceManager.dcd.xml
+	 */
+	public String getProfileName() {
+		return node ? "DeviceManager.dcd.xml" : name + ".sad.xml";
+	}
+
+	/**
+	 * Create the project in the workspace. The SAD / DCD is built with the SCA model factories and written through
+	 * EMF.
+	 * @return the new project
+	 * @throws CoreException
+	 */
+	public IProject create() throws CoreException {
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		final IProject project = workspace.getRoot().getProject(name);
+		workspace.run(new IWorkspaceRunnable() {
+			@Override
+			public void run(IProgressMonitor monitor) throws CoreException {
+				IProjectDescription description = workspace.newProjectDescription(name);
+				description.setNatureIds(new String[] { SCA_PROJECT_NATURE, node ? NODE_NATURE : WAVEFORM_NATURE });
+				ICommand command = description.newCommand();
+				command.setBuilderName(RPM_SPEC_BUILDER);
+				description.setBuildSpec(new ICommand[] { command });
+				project.create(description, monitor);
+				project.open(monitor);
+
+				URI uri = URI.createPlatformResourceURI(name + "/" + getProfileName(), true);
+				Resource resource = ScaResourceFactoryUtil.createResourceSet().createResource(uri,
+					node ? DcdPackage.eCONTENT_TYPE : SadPackage.eCONTENT_TYPE);
+				if (node) {
+					mil.jpeojtrs.sca.dcd.DocumentRoot root = DcdFactory.eINSTANCE.createDocumentRoot();
+					root.setDeviceconfiguration(createDcd());
+					resource.getContents().add(root);
+				} else {
+					mil.jpeojtrs.sca.sad.DocumentRoot root = SadFactory.eINSTANCE.createDocumentRoot();
+					root.setSoftwareassembly(createSad());
+					resource.getContents().add(root);
+				}
+				try {
+					resource.save(null);
+				} catch (IOException e) {
+					throw new CoreException(new Status(IStatus.ERROR, "gov.redhawk.ide.graphiti.ui.tests", "Unable to write " + uri, e));
+				}
+			}
+		}, null);
+		return project;
+	}
+
+	/**
+	 * Create the project, open it in the diagram editor, and move any components which were given a position.
+	 * @param gefBot
+	 * @return the editor
+	 * @throws CoreException
+	 */
+	public RHBotGefEditor open(RHSWTGefBot gefBot) throws CoreException {
+		final IProject project = create();
+		final PartInitException[] error = new PartInitException[1];
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+				try {
+					IDE.openEditor(page, project.getFile(getProfileName()), true);
+				} catch (PartInitException e) {
+					error[0] = e;
+				}
+			}
+		});
+		if (error[0] != null) {
+			throw error[0];
+		}
+
+		RHBotGefEditor editor = gefBot.rhGefEditor(name);
+		if (layout(editor)) {
+			MenuUtils.save(editor);
+		}
+		return editor;
+	}
+
+	/**
+	 * Move the shapes for instances with a position.
+	 * @return true if anything was moved
+	 */
+	private boolean layout(RHBotGefEditor editor) {
+		final Map<ContainerShape, int[]> moves = new LinkedHashMap<ContainerShape, int[]>();
+		for (Instance instance : instances) {
+			if (instance.x != null) {
+				ContainerShape shape = (ContainerShape) editor.getEditPart(instance.usageName).part().getModel();
+				moves.put(shape, new int[] { instance.x, instance.y });
+			}
+		}
+		if (moves.isEmpty()) {
+			return false;
+		}
+
+		UIThreadRunnable.syncExec(new VoidResult() {
+			@Override
+			public void run() {
+				TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(moves.keySet().iterator().next());
+				domain.getCommandStack().execute(new RecordingCommand(domain) {
+					@Override
+					protected void doExecute() {
+						for (Map.Entry<ContainerShape, int[]> move : moves.entrySet()) {
+							GraphicsAlgorithm ga = move.getKey().getGraphicsAlgorithm();
+							ga.setX(move.getValue()[0]);
+							ga.setY(move.getValue()[1]);
+						}
+					}
+				});
+			}
+		});
+		return true;
+	}
+
+	private SoftwareAssembly createSad() {
+		SoftwareAssembly sad = SadFactory.eINSTANCE.createSoftwareAssembly();
+		sad.setId("DCE:" + UUID.randomUUID());
+		sad.setName(name);
+		Map<String, ComponentFile> componentFiles = createComponentFiles("/components/");
+		sad.setComponentFiles(toComponentFiles(componentFiles));
+
+		SadPartitioning partitioning = SadFactory.eINSTANCE.createSadPartitioning();
+		Map<String, HostCollocation> collocations = new LinkedHashMap<String, HostCollocation>();
+		for (Instance instance : instances) {
+			ComponentFileRef fileRef = PartitioningFactory.eINSTANCE.createComponentFileRef(componentFiles.get(instance.spdId).getId());
+			BigInteger startOrder = (instance.startOrder == null) ? null : BigInteger.valueOf(instance.startOrder);
+			SadComponentInstantiation instantiation = SadFactory.eINSTANCE.createSadComponentInstantiation(instance.usageName, startOrder,
+				instance.usageName, instance.usageName);
+			SadComponentPlacement placement = SadFactory.eINSTANCE.createSadComponentPlacement(fileRef, Collections.singletonList(instantiation));
+			if (instance.hostCollocation == null) {
+				partitioning.getComponentPlacement().add(placement);
+			} else {
+				HostCollocation collocation = collocations.get(instance.hostCollocation);
+				if (collocation == null) {
+					collocation = SadFactory.eINSTANCE.createHostCollocation();
+					collocation.setName(instance.hostCollocation);
+					collocations.put(instance.hostCollocation, collocation);
+				}
+				collocation.getComponentPlacement().add(placement);
+			}
+		}
+		partitioning.getHostCollocation().addAll(collocations.values());
+		sad.setPartitioning(partitioning);
+
+		AssemblyController controller = SadFactory.eINSTANCE.createAssemblyController();
+		if (assemblyController != null) {
+			SadComponentInstantiationRef ref = SadFactory.eINSTANCE.createSadComponentInstantiationRef();
+			ref.setRefid(assemblyController);
+			controller.setComponentInstantiationRef(ref);
+		}
+		sad.setAssemblyController(controller);
+
+		if (!connections.isEmpty()) {
+			SadConnections sadConnections = SadFactory.eINSTANCE.createSadConnections();
+			int index = 1;
+			for (Connection connection : connections) {
+				sadConnections.getConnectInterface().add(SadFactory.eINSTANCE.createSadConnectInterface("connection_" + index++, connection.usesPort,
+					connection.usesInstance, connection.providesPort, connection.providesInstance));
+			}
+			sad.setConnections(sadConnections);
+		}
+		return sad;
+	}
+
+	private DeviceConfiguration createDcd() {
+		DeviceConfiguration dcd = DcdFactory.eINSTANCE.createDeviceConfiguration();
+		dcd.setId("DCE:" + UUID.randomUUID());
+		dcd.setName(name);
+		DeviceManagerSoftPkg softPkg = DcdFactory.eINSTANCE.createDeviceManagerSoftPkg();
+		LocalFile localFile = PartitioningFactory.eINSTANCE.createLocalFile();
+		localFile.setName("/mgr/DeviceManager.spd.xml");
+		softPkg.setLocalFile(localFile);
+		dcd.setDeviceManagerSoftPkg(softPkg);
+		Map<String, ComponentFile> componentFiles = createComponentFiles("/devices/");
+		dcd.setComponentFiles(toComponentFiles(componentFiles));
+
+		DcdPartitioning partitioning = DcdFactory.eINSTANCE.createDcdPartitioning();
+		for (Instance instance : instances) {
+			ComponentFileRef fileRef = PartitioningFactory.eINSTANCE.createComponentFileRef(componentFiles.get(instance.spdId).getId());
+			DcdComponentInstantiation instantiation = DcdFactory.eINSTANCE.createDcdComponentInstantiation(name + ":" + instance.usageName,
+				instance.usageName);
+			DcdComponentPlacement placement = DcdFactory.eINSTANCE.createDcdComponentPlacement(fileRef, Collections.singletonList(instantiation));
+			partitioning.getComponentPlacement().add(placement);
+		}
+		dcd.setPartitioning(partitioning);
+
+		if (!connections.isEmpty()) {
+			DcdConnections dcdConnections = DcdFactory.eINSTANCE.createDcdConnections();
+			int index = 1;
+			for (Connection connection : connections) {
+				dcdConnections.getConnectInterface().add(DcdFactory.eINSTANCE.createDcdConnectInterface("connection_" + index++, connection.usesPort,
+					name + ":" + connection.usesInstance, connection.providesPort, name + ":" + connection.providesInstance));
+			}
+			dcd.setConnections(dcdConnections);
+		}
+
+		DomainManager domainManager = DcdFactory.eINSTANCE.createDomainManager();
+		NamingService namingService = PartitioningFactory.eINSTANCE.createNamingService();
+		namingService.setName(domainName + "/" + domainName);
+		domainManager.setNamingService(namingService);
+		dcd.setDomainManager(domainManager);
+		return dcd;
+	}
+
+	/**
+	 * Create one componentfile for each SPD used.
+	 * @return componentfiles, keyed by SPD ID
+	 */
+	private Map<String, ComponentFile> createComponentFiles(String sdrDir) {
+		Map<String, ComponentFile> componentFiles = new LinkedHashMap<String, ComponentFile>();
+		for (Instance instance : instances) {
+			if (!componentFiles.containsKey(instance.spdId)) {
+				String baseName = instance.spdId.substring(instance.spdId.lastIndexOf('.') + 1);
+				String spdPath = sdrDir + instance.spdId.replace('.', '/') + "/" + baseName + ".spd.xml";
+				ComponentFile componentFile = node ? DcdFactory.eINSTANCE.createComponentFile(baseName, spdPath)
+					: SadFactory.eINSTANCE.createComponentFile(baseName, spdPath);
+				componentFiles.put(instance.spdId, componentFile);
+			}
+		}
+		return componentFiles;
+	}
+
+	private ComponentFiles toComponentFiles(Map<String, ComponentFile> componentFiles) {
+		ComponentFiles files = PartitioningFactory.eINSTANCE.createComponentFiles();
+		files.getComponentFile().addAll(componentFiles.values());
+		return files;
+	}
+}